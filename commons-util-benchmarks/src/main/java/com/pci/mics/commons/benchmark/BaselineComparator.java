@@ -0,0 +1,119 @@
+package com.pci.mics.commons.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 比较两次BenchmarkRunner输出的results.csv
+ * 平均耗时类指标变大、吞吐量类指标变小或每次操作分配的字节数变大超过阈值时视为退化，存在退化时以状态码1退出
+ * <p>
+ * 用法：BaselineComparator baseline.csv current.csv [阈值百分比，默认10]
+ */
+public final class BaselineComparator {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+    /**
+     * 分配量低于该字节数时不比较，避免逃逸分析带来的抖动
+     */
+    private static final double MIN_ALLOC_BYTES = 16.0;
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparator <baseline.csv> <current.csv> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, String[]> baseline = read(args[0]);
+        Map<String, String[]> current = read(args[1]);
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s %12s%n", "benchmark", "baseline", "current", "change%", "alloc B/op");
+        for (Map.Entry<String, String[]> entry : current.entrySet()) {
+            String[] now = entry.getValue();
+            String[] before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s %12s%n", entry.getKey(), "-", score(now), "new", now[7]);
+                continue;
+            }
+            double change = (score(now) - score(before)) / score(before) * 100;
+            boolean higherIsBetter = !"avgt".equals(now[2]) && !"sample".equals(now[2]) && !"ss".equals(now[2]);
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (!now[7].isEmpty() && !before[7].isEmpty()) {
+                double allocBefore = Math.max(Double.parseDouble(before[7]), MIN_ALLOC_BYTES);
+                double allocNow = Double.parseDouble(now[7]);
+                regressed |= allocNow > MIN_ALLOC_BYTES && (allocNow - allocBefore) / allocBefore * 100 > threshold;
+            }
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+9.1f %12s%s%n", entry.getKey(), score(before), score(now), change,
+                              now[7], regressed ? "  REGRESSION" : "");
+        }
+        System.out.println(regressions + " regression(s), threshold " + threshold + "%");
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 以"基准 参数 线程数"为键读取各行
+     */
+    private static Map<String, String[]> read(String file) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !BenchmarkRunner.CSV_HEADER.equals(lines.get(0))) {
+            throw new IOException("Not a benchmark result file: " + file);
+        }
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] row = split(line);
+            rows.put(row[0] + ' ' + row[1] + " x" + row[3], row);
+        }
+        return rows;
+    }
+
+    private static double score(String[] row) {
+        return Double.parseDouble(row[4]);
+    }
+
+    private static String[] split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        while (fields.size() < 8) {
+            fields.add("");
+        }
+        return fields.toArray(new String[0]);
+    }
+}
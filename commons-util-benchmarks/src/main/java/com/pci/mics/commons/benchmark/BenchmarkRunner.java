@@ -0,0 +1,122 @@
+package com.pci.mics.commons.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * 基准测试入口
+ * 默认运行全部基准并启用GC分析，JMH原始结果写入results.json，汇总写入results.csv供BaselineComparator与基线比较
+ * <p>
+ * 参数：
+ * --include 基准名正则，默认全部
+ * --out     输出目录，默认benchmark-results
+ * --quick   减少预热与测量轮次，用于快速验证
+ * --no-gc   不启用GC分析
+ */
+public final class BenchmarkRunner {
+
+    static final String CSV_HEADER = "benchmark,params,mode,threads,score,error,unit,allocBytesPerOp";
+
+    private static final String GC_ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = BenchmarkRunner.class.getPackage().getName() + ".*Benchmark";
+        Path out = Paths.get("benchmark-results");
+        boolean quick = false;
+        boolean gc = true;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--include":
+                    include = args[++i];
+                    break;
+                case "--out":
+                    out = Paths.get(args[++i]);
+                    break;
+                case "--quick":
+                    quick = true;
+                    break;
+                case "--no-gc":
+                    gc = false;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        Files.createDirectories(out);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .result(out.resolve("results.json").toString())
+                .resultFormat(ResultFormatType.JSON);
+        if (quick) {
+            options.warmupIterations(1).warmupTime(TimeValue.milliseconds(200))
+                   .measurementIterations(2).measurementTime(TimeValue.milliseconds(200));
+        }
+        if (gc) {
+            options.addProfiler(GCProfiler.class);
+        }
+        Collection<RunResult> results = new Runner(options.build()).run();
+        writeCsv(results, out.resolve("results.csv"));
+    }
+
+    /**
+     * 每个基准与参数组合一行
+     */
+    static void writeCsv(Collection<RunResult> results, Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            for (RunResult result : results) {
+                Result<?> primary = result.getPrimaryResult();
+                StringBuilder params = new StringBuilder();
+                for (String key : result.getParams().getParamsKeys()) {
+                    if (params.length() > 0) {
+                        params.append(';');
+                    }
+                    params.append(key).append('=').append(result.getParams().getParam(key));
+                }
+                writer.write(result.getParams().getBenchmark() + ',' + quote(params.toString()) + ','
+                                     + result.getParams().getMode().shortLabel() + ','
+                                     + result.getParams().getThreads() + ',' + primary.getScore() + ','
+                                     + primary.getScoreError() + ',' + primary.getScoreUnit() + ','
+                                     + allocBytesPerOp(result));
+                writer.write('\n');
+            }
+        }
+    }
+
+    private static String allocBytesPerOp(RunResult result) {
+        // getSecondaryResults()的值为原始类型Result，按键取值避免声明原始类型
+        for (String label : result.getSecondaryResults().keySet()) {
+            if (label.endsWith(GC_ALLOC_RATE_NORM)) {
+                Result<?> secondary = result.getSecondaryResults().get(label);
+                return String.valueOf(secondary.getScore());
+            }
+        }
+        return "";
+    }
+
+    private static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,91 @@
+package com.pci.mics.commons.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import com.pci.mics.commons.util.DateTimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 多线程竞争下的吞吐量，覆盖格式器缓存、当前时间缓存等共享状态
+ * 自定义模式的用例每次使用不同的模式串，以测试缓存未命中路径的竞争
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ContentionBenchmark {
+
+    /**
+     * 自定义模式的个数，超过格式器缓存的容量
+     */
+    private static final int CUSTOM_PATTERN_COUNT = 512;
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        LocalDateTime[] values;
+        String[] texts;
+        String[] customPatterns;
+
+        @Setup
+        public void setup() {
+            values = BenchmarkInputs.dateTimes();
+            texts = BenchmarkInputs.format(values, DateTimePattern.LONG_DATETIME_PATTERN);
+            customPatterns = new String[CUSTOM_PATTERN_COUNT];
+            for (int i = 0; i < CUSTOM_PATTERN_COUNT; i++) {
+                customPatterns[i] = "yyyy-MM-dd'T" + i + "'HH:mm";
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private static final AtomicInteger SEED = new AtomicInteger();
+
+        int index = SEED.getAndAdd(997);
+
+        int next() {
+            return index++ & BenchmarkInputs.MASK;
+        }
+    }
+
+    @Benchmark
+    public LocalDateTime parse(Shared shared, Cursor cursor) {
+        return DateTimeUtils.toLocalDateTime(shared.texts[cursor.next()], DateTimePattern.LONG_DATETIME_PATTERN);
+    }
+
+    @Benchmark
+    public String format(Shared shared, Cursor cursor) {
+        return DateTimeUtils.toString(shared.values[cursor.next()], DateTimePattern.LONG_DATETIME_PATTERN);
+    }
+
+    @Benchmark
+    public String formatCustomPattern(Shared shared, Cursor cursor) {
+        int i = cursor.next();
+        return DateTimeUtils.toString(shared.values[i], shared.customPatterns[i % CUSTOM_PATTERN_COUNT]);
+    }
+
+    @Benchmark
+    public String currentDateTime() {
+        return DateTimeUtils.getCurLocalDateTimeStr();
+    }
+
+    @Benchmark
+    public String currentDateTimeSecond() {
+        return DateTimeUtils.getCurLocalDateTimeStr(DateTimePattern.LONG_DATETIME_SECOND_PATTERN);
+    }
+}
@@ -0,0 +1,153 @@
+package com.pci.mics.commons.benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import com.pci.mics.commons.util.DateTimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DateTimeUtils转换、区间与判断方法的基准
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @State(Scope.Thread)
+    public static class Input {
+        LocalDateTime[] dateTimes;
+        LocalDate[] dates;
+        Date[] legacyDates;
+        Timestamp[] timestamps;
+        int index;
+
+        @Setup
+        public void setup() {
+            dateTimes = BenchmarkInputs.dateTimes();
+            dates = BenchmarkInputs.dates();
+            legacyDates = new Date[BenchmarkInputs.SIZE];
+            timestamps = new Timestamp[BenchmarkInputs.SIZE];
+            for (int i = 0; i < BenchmarkInputs.SIZE; i++) {
+                legacyDates[i] = DateTimeUtils.localDateTimeToDate(dateTimes[i]);
+                timestamps[i] = DateTimeUtils.localDateTimeToTimestamp(dateTimes[i]);
+            }
+        }
+
+        int next() {
+            return index++ & BenchmarkInputs.MASK;
+        }
+    }
+
+    @Benchmark
+    public Date localDateTimeToDate(Input input) {
+        return DateTimeUtils.localDateTimeToDate(input.dateTimes[input.next()]);
+    }
+
+    @Benchmark
+    public LocalDateTime dateToLocalDateTime(Input input) {
+        return DateTimeUtils.dateToLocalDateTime(input.legacyDates[input.next()]);
+    }
+
+    @Benchmark
+    public Timestamp localDateTimeToTimestamp(Input input) {
+        return DateTimeUtils.localDateTimeToTimestamp(input.dateTimes[input.next()]);
+    }
+
+    @Benchmark
+    public LocalDateTime timestampToLocalDateTime(Input input) {
+        return DateTimeUtils.timestampToLocalDateTime(input.timestamps[input.next()]);
+    }
+
+    @Benchmark
+    public long periodMillis(Input input) {
+        int i = input.next();
+        return DateTimeUtils.periodMillis(input.dateTimes[i], input.dateTimes[(i + 1) & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public long periodSeconds(Input input) {
+        int i = input.next();
+        return DateTimeUtils.periodSeconds(input.dateTimes[i], input.dateTimes[(i + 1) & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public long periodDays(Input input) {
+        int i = input.next();
+        return DateTimeUtils.periodDays(input.dates[i], input.dates[(i + 1) & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public long periodWeeks(Input input) {
+        int i = input.next();
+        return DateTimeUtils.periodWeeks(input.dates[i], input.dates[(i + 1) & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public long periodMonths(Input input) {
+        int i = input.next();
+        return DateTimeUtils.periodMonths(input.dates[i], input.dates[(i + 1) & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public long periodYears(Input input) {
+        int i = input.next();
+        return DateTimeUtils.periodYears(input.dates[i], input.dates[(i + 1) & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public boolean isToday(Input input) {
+        return DateTimeUtils.isToday(input.dates[input.next()]);
+    }
+
+    @Benchmark
+    public boolean isLeapYear(Input input) {
+        return DateTimeUtils.isLeapYear(input.dates[input.next()]);
+    }
+
+    @Benchmark
+    public boolean isSameDayDateTime(Input input) {
+        int i = input.next();
+        return DateTimeUtils.isSameDay(input.dateTimes[i], input.dateTimes[(i + 1) & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public boolean isSameDayDate(Input input) {
+        int i = input.next();
+        return DateTimeUtils.isSameDay(input.dates[i], input.dates[(i + 1) & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public boolean isFiveMinute(Input input) {
+        return DateTimeUtils.isFiveMinute(input.dateTimes[input.next()]);
+    }
+
+    @Benchmark
+    public boolean isQuarter(Input input) {
+        return DateTimeUtils.isQuarter(input.dateTimes[input.next()]);
+    }
+
+    @Benchmark
+    public boolean isHalfHour(Input input) {
+        return DateTimeUtils.isHalfHour(input.dateTimes[input.next()]);
+    }
+
+    @Benchmark
+    public boolean isFullClock(Input input) {
+        return DateTimeUtils.isFullClock(input.dateTimes[input.next()]);
+    }
+}
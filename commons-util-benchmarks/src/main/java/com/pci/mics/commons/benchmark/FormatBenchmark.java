@@ -0,0 +1,137 @@
+package com.pci.mics.commons.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import com.pci.mics.commons.util.DateTimeFormatters;
+import com.pci.mics.commons.util.DateTimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DateTimeUtils格式化方法的基准，覆盖每个DateTimePattern
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    /**
+     * 全部布局，用于格式化LocalDateTime
+     */
+    @State(Scope.Thread)
+    public static class DateTimeInput {
+        @Param({DateTimePattern.LONG_DATE_MONTH_PATTERN, DateTimePattern.LONG_DATE_PATTERN,
+                DateTimePattern.EN_DATE_MONTH_PATTERN, DateTimePattern.EN_DATE_PATTERN,
+                DateTimePattern.SHORT_DATE_MONTH_PATTERN, DateTimePattern.SHORT_DATE_PATTERN,
+                DateTimePattern.LONG_DATETIME_SECOND_PATTERN, DateTimePattern.LONG_DATETIME_MINUTE_PATTERN,
+                DateTimePattern.LONG_DATETIME_PATTERN, DateTimePattern.EN_DATETIME_SECOND_PATTERN,
+                DateTimePattern.EN_DATETIME_MINUTE_PATTERN, DateTimePattern.EN_DATETIME_PATTERN,
+                DateTimePattern.SHORT_DATETIME_SECOND_PATTERN, DateTimePattern.SHORT_DATETIME_MINUTE_PATTERN,
+                DateTimePattern.SHORT_DATETIME_PATTERN})
+        String pattern;
+
+        LocalDateTime[] values;
+        DateTimeFormatter formatter;
+        int index;
+
+        @Setup
+        public void setup() {
+            values = BenchmarkInputs.dateTimes();
+            formatter = DateTimeFormatters.ofPattern(pattern);
+        }
+
+        LocalDateTime next() {
+            return values[index++ & BenchmarkInputs.MASK];
+        }
+    }
+
+    /**
+     * 仅含日期的布局，用于格式化LocalDate
+     */
+    @State(Scope.Thread)
+    public static class DateInput {
+        @Param({DateTimePattern.LONG_DATE_MONTH_PATTERN, DateTimePattern.LONG_DATE_PATTERN,
+                DateTimePattern.EN_DATE_MONTH_PATTERN, DateTimePattern.EN_DATE_PATTERN,
+                DateTimePattern.SHORT_DATE_MONTH_PATTERN, DateTimePattern.SHORT_DATE_PATTERN})
+        String pattern;
+
+        LocalDate[] values;
+        DateTimeFormatter formatter;
+        int index;
+
+        @Setup
+        public void setup() {
+            values = BenchmarkInputs.dates();
+            formatter = DateTimeFormatters.ofPattern(pattern);
+        }
+
+        LocalDate next() {
+            return values[index++ & BenchmarkInputs.MASK];
+        }
+    }
+
+    @Benchmark
+    public String localDateTimeByPattern(DateTimeInput input) {
+        return DateTimeUtils.toString(input.next(), input.pattern);
+    }
+
+    @Benchmark
+    public String localDateTimeByFormatter(DateTimeInput input) {
+        return DateTimeUtils.toString(input.next(), input.formatter);
+    }
+
+    @Benchmark
+    public String localDateTimeDefault(DateTimeInput input) {
+        return DateTimeUtils.toString(input.next());
+    }
+
+    @Benchmark
+    public String localDateByPattern(DateInput input) {
+        return DateTimeUtils.toString(input.next(), input.pattern);
+    }
+
+    @Benchmark
+    public String localDateByFormatter(DateInput input) {
+        return DateTimeUtils.toString(input.next(), input.formatter);
+    }
+
+    @Benchmark
+    public String localDateDefault(DateInput input) {
+        return DateTimeUtils.toString(input.next());
+    }
+
+    @Benchmark
+    public String currentDateTimeByPattern(DateTimeInput input) {
+        return DateTimeUtils.getCurLocalDateTimeStr(input.pattern);
+    }
+
+    @Benchmark
+    public String currentDateByPattern(DateInput input) {
+        return DateTimeUtils.getCurLocalDateStr(input.pattern);
+    }
+
+    @Benchmark
+    public String currentDateTimeDefault() {
+        return DateTimeUtils.getCurLocalDateTimeStr();
+    }
+
+    @Benchmark
+    public String currentDateDefault() {
+        return DateTimeUtils.getCurLocalDateStr();
+    }
+}
@@ -0,0 +1,143 @@
+package com.pci.mics.commons.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import com.pci.mics.commons.util.DateTimeFormatters;
+import com.pci.mics.commons.util.DateTimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DateTimeUtils解析方法的基准，覆盖每个DateTimePattern
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    /**
+     * 含时间的布局，用于toLocalDateTime
+     */
+    @State(Scope.Thread)
+    public static class DateTimeInput {
+        @Param({DateTimePattern.LONG_DATETIME_SECOND_PATTERN, DateTimePattern.LONG_DATETIME_MINUTE_PATTERN,
+                DateTimePattern.LONG_DATETIME_PATTERN, DateTimePattern.EN_DATETIME_SECOND_PATTERN,
+                DateTimePattern.EN_DATETIME_MINUTE_PATTERN, DateTimePattern.EN_DATETIME_PATTERN,
+                DateTimePattern.SHORT_DATETIME_SECOND_PATTERN, DateTimePattern.SHORT_DATETIME_MINUTE_PATTERN,
+                DateTimePattern.SHORT_DATETIME_PATTERN})
+        String pattern;
+
+        String[] texts;
+        DateTimeFormatter formatter;
+        int index;
+
+        @Setup
+        public void setup() {
+            texts = BenchmarkInputs.format(BenchmarkInputs.dateTimes(), pattern);
+            formatter = DateTimeFormatters.ofPattern(pattern);
+        }
+
+        String next() {
+            return texts[index++ & BenchmarkInputs.MASK];
+        }
+    }
+
+    /**
+     * 全部布局，用于toLocalDate
+     */
+    @State(Scope.Thread)
+    public static class DateInput {
+        @Param({DateTimePattern.LONG_DATE_MONTH_PATTERN, DateTimePattern.LONG_DATE_PATTERN,
+                DateTimePattern.EN_DATE_MONTH_PATTERN, DateTimePattern.EN_DATE_PATTERN,
+                DateTimePattern.SHORT_DATE_MONTH_PATTERN, DateTimePattern.SHORT_DATE_PATTERN,
+                DateTimePattern.LONG_DATETIME_SECOND_PATTERN, DateTimePattern.LONG_DATETIME_MINUTE_PATTERN,
+                DateTimePattern.LONG_DATETIME_PATTERN, DateTimePattern.EN_DATETIME_SECOND_PATTERN,
+                DateTimePattern.EN_DATETIME_MINUTE_PATTERN, DateTimePattern.EN_DATETIME_PATTERN,
+                DateTimePattern.SHORT_DATETIME_SECOND_PATTERN, DateTimePattern.SHORT_DATETIME_MINUTE_PATTERN,
+                DateTimePattern.SHORT_DATETIME_PATTERN})
+        String pattern;
+
+        String[] texts;
+        DateTimeFormatter formatter;
+        int index;
+
+        @Setup
+        public void setup() {
+            texts = BenchmarkInputs.format(BenchmarkInputs.dateTimes(), pattern);
+            formatter = DateTimeFormatters.ofDatePattern(pattern);
+        }
+
+        String next() {
+            return texts[index++ & BenchmarkInputs.MASK];
+        }
+    }
+
+    /**
+     * 默认布局的输入
+     */
+    @State(Scope.Thread)
+    public static class DefaultInput {
+        String[] dateTimes;
+        String[] dates;
+        String[] shortDateTimes;
+        int index;
+
+        @Setup
+        public void setup() {
+            dateTimes = BenchmarkInputs.format(BenchmarkInputs.dateTimes(), DateTimePattern.LONG_DATETIME_PATTERN);
+            dates = BenchmarkInputs.format(BenchmarkInputs.dateTimes(), DateTimePattern.LONG_DATE_PATTERN);
+            shortDateTimes = BenchmarkInputs.format(BenchmarkInputs.dateTimes(),
+                                                    DateTimePattern.SHORT_DATETIME_PATTERN);
+        }
+    }
+
+    @Benchmark
+    public LocalDateTime toLocalDateTimeByPattern(DateTimeInput input) {
+        return DateTimeUtils.toLocalDateTime(input.next(), input.pattern);
+    }
+
+    @Benchmark
+    public LocalDateTime toLocalDateTimeByFormatter(DateTimeInput input) {
+        return DateTimeUtils.toLocalDateTime(input.next(), input.formatter);
+    }
+
+    @Benchmark
+    public LocalDateTime toLocalDateTimeDefault(DefaultInput input) {
+        return DateTimeUtils.toLocalDateTime(input.dateTimes[input.index++ & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public LocalDate toLocalDateByPattern(DateInput input) {
+        return DateTimeUtils.toLocalDate(input.next(), input.pattern);
+    }
+
+    @Benchmark
+    public LocalDate toLocalDateByFormatter(DateInput input) {
+        return DateTimeUtils.toLocalDate(input.next(), input.formatter);
+    }
+
+    @Benchmark
+    public LocalDate toLocalDateDefault(DefaultInput input) {
+        return DateTimeUtils.toLocalDate(input.dates[input.index++ & BenchmarkInputs.MASK]);
+    }
+
+    @Benchmark
+    public String shortPatternToLongPattern(DefaultInput input) {
+        return DateTimeUtils.shortPatternToLongPattern(input.shortDateTimes[input.index++ & BenchmarkInputs.MASK]);
+    }
+}
@@ -0,0 +1,68 @@
+package com.pci.mics.commons.util;
+
+import java.util.Arrays;
+
+/**
+ * 批量转换结果
+ * 转换失败的行不影响其余行，按下标记录失败原因；失败行在结果数组中保留默认值(null或0)
+ *
+ * @param <T> 结果数组类型，如LocalDateTime[]、long[]
+ */
+public final class BatchResult<T> {
+
+    private static final int[] NO_INDEXES = new int[0];
+    private static final String[] NO_MESSAGES = new String[0];
+
+    private final T values;
+    private final int[] errorIndexes;
+    private final String[] errorMessages;
+
+    BatchResult(T values, int[] errorIndexes, String[] errorMessages) {
+        this.values = values;
+        this.errorIndexes = errorIndexes == null ? NO_INDEXES : errorIndexes;
+        this.errorMessages = errorMessages == null ? NO_MESSAGES : errorMessages;
+    }
+
+    /**
+     * 结果数组，与输入一一对应
+     */
+    public T getValues() {
+        return values;
+    }
+
+    /**
+     * 是否全部成功
+     */
+    public boolean isSuccess() {
+        return errorIndexes.length == 0;
+    }
+
+    /**
+     * 失败行数
+     */
+    public int getErrorCount() {
+        return errorIndexes.length;
+    }
+
+    /**
+     * 失败行下标，升序
+     */
+    public int[] getErrorIndexes() {
+        return errorIndexes.clone();
+    }
+
+    /**
+     * 指定行是否失败
+     */
+    public boolean isError(int index) {
+        return Arrays.binarySearch(errorIndexes, index) >= 0;
+    }
+
+    /**
+     * 指定行的失败原因，成功的行返回null
+     */
+    public String getErrorMessage(int index) {
+        int i = Arrays.binarySearch(errorIndexes, index);
+        return i >= 0 ? errorMessages[i] : null;
+    }
+}
@@ -0,0 +1,88 @@
+package com.pci.mics.commons.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 有界并发缓存
+ * 读操作无锁；写入后超出上限时按ConcurrentHashMap的遍历顺序（近似随机）淘汰条目
+ *
+ * @param <K> 键
+ * @param <V> 值
+ */
+final class BoundedCache<K, V> {
+
+    private final ConcurrentHashMap<K, V> map;
+    private final int maximumSize;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    BoundedCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.map = new ConcurrentHashMap<>(Math.min(maximumSize, 1024));
+    }
+
+    /**
+     * 获取缓存值，不存在时通过loader创建
+     * 并发未命中时loader可能被调用多次，但只有一个结果被保留
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+        V value = map.get(key);
+        if (value != null) {
+            hitCount.increment();
+            return value;
+        }
+        missCount.increment();
+        V created = loader.apply(key);
+        V previous = map.putIfAbsent(key, created);
+        if (previous != null) {
+            return previous;
+        }
+        if (map.size() > maximumSize) {
+            evict();
+        }
+        return created;
+    }
+
+    private void evict() {
+        Iterator<K> iterator = map.keySet().iterator();
+        while (map.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount.increment();
+        }
+    }
+
+    int size() {
+        return map.size();
+    }
+
+    Collection<V> values() {
+        return map.values();
+    }
+
+    int getMaximumSize() {
+        return maximumSize;
+    }
+
+    void clear() {
+        map.clear();
+    }
+
+    CacheStats stats() {
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), map.size());
+    }
+
+    void resetStats() {
+        hitCount.reset();
+        missCount.reset();
+        evictionCount.reset();
+    }
+}
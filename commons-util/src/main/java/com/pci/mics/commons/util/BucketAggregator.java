@@ -0,0 +1,325 @@
+package com.pci.mics.commons.util;
+
+import java.util.Arrays;
+
+/**
+ * 流式分桶聚合器
+ * 按TimeBuckets分桶，在环形缓冲区的基本类型数组中维护每桶的count/sum/min/max，并维护最近windowBuckets个桶的滚动窗口
+ * 水位线为已见到的最大事件时间；早于水位线减去允许延迟的事件被丢弃，结束时间不晚于该时刻的桶被关闭并回调一次
+ * 非线程安全
+ */
+public final class BucketAggregator {
+
+    /**
+     * 桶回调
+     */
+    @FunctionalInterface
+    public interface BucketListener {
+        /**
+         * @param bucketStart 桶起始纪元毫秒
+         * @param count       事件数
+         * @param sum         和
+         * @param min         最小值
+         * @param max         最大值
+         */
+        void onBucket(long bucketStart, long count, double sum, double min, double max);
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final TimeBuckets buckets;
+    private final int windowBuckets;
+    private final long allowedLatenessMillis;
+    private final BucketListener listener;
+    private final int capacity;
+
+    private final long[] indexes;
+    private final long[] starts;
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] mins;
+    private final double[] maxs;
+
+    private long watermark = Long.MIN_VALUE;
+    private long currentIndex = EMPTY;
+    /**
+     * 序号小于该值的桶已关闭
+     */
+    private long closedIndex = EMPTY;
+    private long windowCount;
+    private double windowSum;
+    private long droppedCount;
+
+    /**
+     * @param buckets               分桶方式
+     * @param windowBuckets         滚动窗口包含的桶数
+     * @param allowedLatenessMillis 允许的乱序延迟毫秒
+     * @param listener              桶关闭时的回调，可为null
+     */
+    public BucketAggregator(TimeBuckets buckets, int windowBuckets, long allowedLatenessMillis,
+                            BucketListener listener) {
+        if (buckets == null) {
+            throw new IllegalArgumentException("buckets must not be null");
+        }
+        if (windowBuckets <= 0) {
+            throw new IllegalArgumentException("windowBuckets must be positive");
+        }
+        if (allowedLatenessMillis < 0) {
+            throw new IllegalArgumentException("allowedLatenessMillis must not be negative");
+        }
+        long latenessBuckets = (allowedLatenessMillis + buckets.getIntervalMillis() - 1) / buckets.getIntervalMillis();
+        if (latenessBuckets >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("allowedLatenessMillis is too large");
+        }
+        this.buckets = buckets;
+        this.windowBuckets = windowBuckets;
+        this.allowedLatenessMillis = allowedLatenessMillis;
+        this.listener = listener;
+        this.capacity = Math.max(windowBuckets, (int) latenessBuckets + 2);
+        this.indexes = new long[capacity];
+        this.starts = new long[capacity];
+        this.counts = new long[capacity];
+        this.sums = new double[capacity];
+        this.mins = new double[capacity];
+        this.maxs = new double[capacity];
+        Arrays.fill(indexes, EMPTY);
+    }
+
+    /**
+     * 添加事件
+     *
+     * @param epochMillis 事件时间
+     * @param value       值
+     * @return 超出允许延迟而被丢弃时返回false
+     */
+    public boolean add(long epochMillis, double value) {
+        if (watermark != Long.MIN_VALUE && epochMillis < watermark - allowedLatenessMillis) {
+            droppedCount++;
+            return false;
+        }
+        long index = buckets.index(epochMillis);
+        if (closedIndex != EMPTY && index < closedIndex) {
+            droppedCount++;
+            return false;
+        }
+        advanceTo(epochMillis);
+        int slot = slot(index);
+        if (indexes[slot] != index) {
+            evict(slot);
+            indexes[slot] = index;
+            starts[slot] = buckets.floor(epochMillis);
+            mins[slot] = value;
+            maxs[slot] = value;
+        } else {
+            mins[slot] = Math.min(mins[slot], value);
+            maxs[slot] = Math.max(maxs[slot], value);
+        }
+        counts[slot]++;
+        sums[slot] += value;
+        if (isInWindow(index)) {
+            windowCount++;
+            windowSum += value;
+        }
+        return true;
+    }
+
+    /**
+     * 推进水位线，用于无事件时让时间前进；滑出窗口的桶被移出，超出允许延迟的桶被关闭
+     *
+     * @param epochMillis 当前时间，不晚于现有水位线时无效果
+     */
+    public void advanceTo(long epochMillis) {
+        if (epochMillis <= watermark) {
+            return;
+        }
+        watermark = epochMillis;
+        long index = buckets.index(epochMillis);
+        if (index > currentIndex) {
+            if (currentIndex != EMPTY) {
+                slideWindow(index);
+            }
+            currentIndex = index;
+        }
+        long closeIndex = buckets.index(epochMillis - allowedLatenessMillis);
+        if (closedIndex == EMPTY) {
+            closedIndex = closeIndex;
+        }
+        emitUntil(closeIndex);
+    }
+
+    /**
+     * 关闭并回调所有未关闭的桶，之后落入这些桶的事件被丢弃
+     */
+    public void flush() {
+        if (currentIndex != EMPTY) {
+            emitUntil(currentIndex + 1);
+        }
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * 被丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * 滚动窗口的起始纪元毫秒
+     */
+    public long getWindowStart() {
+        return buckets.floor(watermark) - (windowBuckets - 1) * buckets.getIntervalMillis();
+    }
+
+    /**
+     * 滚动窗口的结束纪元毫秒(不含)
+     */
+    public long getWindowEnd() {
+        return buckets.floor(watermark) + buckets.getIntervalMillis();
+    }
+
+    public long getWindowCount() {
+        return windowCount;
+    }
+
+    public double getWindowSum() {
+        return windowSum;
+    }
+
+    /**
+     * 窗口内的平均值，无事件时返回NaN
+     */
+    public double getWindowAverage() {
+        return windowCount == 0 ? Double.NaN : windowSum / windowCount;
+    }
+
+    /**
+     * 窗口内的最小值，无事件时返回NaN
+     */
+    public double getWindowMin() {
+        double min = Double.NaN;
+        for (int i = 0; i < capacity; i++) {
+            if (indexes[i] != EMPTY && isInWindow(indexes[i]) && !(mins[i] >= min)) {
+                min = mins[i];
+            }
+        }
+        return min;
+    }
+
+    /**
+     * 窗口内的最大值，无事件时返回NaN
+     */
+    public double getWindowMax() {
+        double max = Double.NaN;
+        for (int i = 0; i < capacity; i++) {
+            if (indexes[i] != EMPTY && isInWindow(indexes[i]) && !(maxs[i] <= max)) {
+                max = maxs[i];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * 按时间顺序回调窗口内的非空桶
+     */
+    public void forEachWindowBucket(BucketListener visitor) {
+        if (currentIndex == EMPTY) {
+            return;
+        }
+        for (long index = currentIndex - windowBuckets + 1; index <= currentIndex; index++) {
+            int slot = slot(index);
+            if (indexes[slot] == index) {
+                visitor.onBucket(starts[slot], counts[slot], sums[slot], mins[slot], maxs[slot]);
+            }
+        }
+    }
+
+    private boolean isInWindow(long index) {
+        return index > currentIndex - windowBuckets && index <= currentIndex;
+    }
+
+    private int slot(long index) {
+        return (int) Math.floorMod(index, (long) capacity);
+    }
+
+    /**
+     * 窗口右端移动到newIndex，移出滑出窗口的桶
+     */
+    private void slideWindow(long newIndex) {
+        long from = currentIndex - windowBuckets + 1;
+        long to = Math.min(newIndex - windowBuckets, currentIndex);
+        if (to - from + 1 >= windowBuckets) {
+            windowCount = 0;
+            windowSum = 0;
+            return;
+        }
+        for (long index = from; index <= to; index++) {
+            int slot = slot(index);
+            if (indexes[slot] == index) {
+                removeFromWindow(slot);
+            }
+        }
+    }
+
+    private void removeFromWindow(int slot) {
+        windowCount -= counts[slot];
+        windowSum = windowCount == 0 ? 0 : windowSum - sums[slot];
+    }
+
+    /**
+     * 按序号顺序关闭序号小于closeIndex的桶
+     */
+    private void emitUntil(long closeIndex) {
+        if (closeIndex - closedIndex > capacity) {
+            // 跨度超过环形缓冲区时按序号逐个枚举会漏掉槽位，改为扫描全部槽位
+            long[] open = new long[capacity];
+            int count = 0;
+            for (int slot = 0; slot < capacity; slot++) {
+                long index = indexes[slot];
+                if (index != EMPTY && index >= closedIndex && index < closeIndex) {
+                    open[count++] = index;
+                }
+            }
+            Arrays.sort(open, 0, count);
+            for (int i = 0; i < count; i++) {
+                emit(slot(open[i]));
+            }
+        } else {
+            for (long index = closedIndex; index < closeIndex; index++) {
+                int slot = slot(index);
+                if (indexes[slot] == index) {
+                    emit(slot);
+                }
+            }
+        }
+        closedIndex = Math.max(closedIndex, closeIndex);
+    }
+
+    /**
+     * 复用槽位前清除旧桶，旧桶未关闭时先回调
+     */
+    private void evict(int slot) {
+        long index = indexes[slot];
+        if (index == EMPTY) {
+            return;
+        }
+        if (index >= closedIndex) {
+            emit(slot);
+        }
+        if (isInWindow(index)) {
+            removeFromWindow(slot);
+        }
+        indexes[slot] = EMPTY;
+        counts[slot] = 0;
+        sums[slot] = 0;
+    }
+
+    private void emit(int slot) {
+        if (listener != null) {
+            listener.onBucket(starts[slot], counts[slot], sums[slot], mins[slot], maxs[slot]);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.pci.mics.commons.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 工作日历
+ * 构造时按纪元日把范围内每天是否为工作日存入位图，并按64天一块记录此前的工作日数，
+ * 判断工作日、统计区间内工作日数、加减N个工作日均为常数时间
+ * 实例不可变，可在线程间共享
+ */
+public final class BusinessCalendar {
+
+    private static final Set<DayOfWeek> DEFAULT_WEEKEND = Collections.unmodifiableSet(
+            EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+    private final LocalDate first;
+    private final LocalDate last;
+    private final long firstEpochDay;
+    private final int days;
+    /**
+     * 第i位为1表示first之后第i天是工作日
+     */
+    private final long[] words;
+    /**
+     * ranks[w]为第w块之前的工作日数，末尾多一项为总数
+     */
+    private final int[] ranks;
+    /**
+     * 按顺序排列的全部工作日，相对first的天数
+     */
+    private final int[] workingDays;
+
+    private BusinessCalendar(LocalDate first, LocalDate last, Set<DayOfWeek> weekend,
+                             Collection<LocalDate> holidays, Collection<LocalDate> extraWorkingDays) {
+        if (first == null || last == null || last.isBefore(first)) {
+            throw new IllegalArgumentException("Invalid range: " + first + " to " + last);
+        }
+        long length = last.toEpochDay() - first.toEpochDay() + 1;
+        if (length > Integer.MAX_VALUE - Long.SIZE) {
+            throw new IllegalArgumentException("Range too large: " + first + " to " + last);
+        }
+        this.first = first;
+        this.last = last;
+        this.firstEpochDay = first.toEpochDay();
+        this.days = (int) length;
+        this.words = new long[(days + Long.SIZE - 1) / Long.SIZE];
+
+        boolean[] weekendDays = new boolean[DayOfWeek.values().length];
+        for (DayOfWeek day : weekend) {
+            weekendDays[day.ordinal()] = true;
+        }
+        int dayOfWeek = first.getDayOfWeek().ordinal();
+        for (int i = 0; i < days; i++) {
+            if (!weekendDays[dayOfWeek]) {
+                words[i >>> 6] |= 1L << i;
+            }
+            dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1;
+        }
+        for (LocalDate holiday : holidays) {
+            long offset = holiday.toEpochDay() - firstEpochDay;
+            if (offset >= 0 && offset < days) {
+                words[(int) (offset >>> 6)] &= ~(1L << offset);
+            }
+        }
+        for (LocalDate workingDay : extraWorkingDays) {
+            long offset = workingDay.toEpochDay() - firstEpochDay;
+            if (offset >= 0 && offset < days) {
+                words[(int) (offset >>> 6)] |= 1L << offset;
+            }
+        }
+
+        this.ranks = new int[words.length + 1];
+        for (int w = 0; w < words.length; w++) {
+            ranks[w + 1] = ranks[w] + Long.bitCount(words[w]);
+        }
+        this.workingDays = new int[ranks[words.length]];
+        int n = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                workingDays[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * 周六周日为周末的日历
+     *
+     * @param first    范围内第一天
+     * @param last     范围内最后一天
+     * @param holidays 节假日，范围外的忽略
+     * @throws IllegalArgumentException 范围不合法
+     */
+    public static BusinessCalendar of(LocalDate first, LocalDate last, Collection<LocalDate> holidays) {
+        return of(first, last, DEFAULT_WEEKEND, holidays, Collections.emptyList());
+    }
+
+    /**
+     * 自定义周末及调休的日历，调休上班日优先于周末与节假日
+     *
+     * @param first            范围内第一天
+     * @param last             范围内最后一天
+     * @param weekend          周末
+     * @param holidays         节假日，范围外的忽略
+     * @param extraWorkingDays 调休上班的日期，范围外的忽略
+     * @throws IllegalArgumentException 范围不合法
+     */
+    public static BusinessCalendar of(LocalDate first, LocalDate last, Set<DayOfWeek> weekend,
+                                      Collection<LocalDate> holidays, Collection<LocalDate> extraWorkingDays) {
+        if (weekend == null || holidays == null || extraWorkingDays == null) {
+            throw new IllegalArgumentException("weekend, holidays and extraWorkingDays must not be null");
+        }
+        return new BusinessCalendar(first, last, weekend, holidays, extraWorkingDays);
+    }
+
+    public LocalDate getFirst() {
+        return first;
+    }
+
+    public LocalDate getLast() {
+        return last;
+    }
+
+    /**
+     * 范围内的工作日总数
+     */
+    public int getWorkingDayCount() {
+        return workingDays.length;
+    }
+
+    /**
+     * 是否为工作日
+     *
+     * @throws IllegalArgumentException 日期超出范围
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        return isWorkingDay(date.toEpochDay());
+    }
+
+    /**
+     * 是否为工作日
+     *
+     * @param epochDay 纪元日
+     * @throws IllegalArgumentException 日期超出范围
+     */
+    public boolean isWorkingDay(long epochDay) {
+        int offset = offset(epochDay);
+        return (words[offset >>> 6] & (1L << offset)) != 0;
+    }
+
+    /**
+     * [start, end)内的工作日数，与periodDays一样不含end，end早于start时为负数
+     *
+     * @throws IllegalArgumentException 日期超出范围
+     */
+    public long workingDaysBetween(LocalDate start, LocalDate end) {
+        return workingDaysBetween(start.toEpochDay(), end.toEpochDay());
+    }
+
+    /**
+     * [start, end)内的工作日数，end早于start时为负数；end可为范围最后一天的次日
+     *
+     * @param startEpochDay 起始纪元日
+     * @param endEpochDay   结束纪元日
+     * @throws IllegalArgumentException 日期超出范围
+     */
+    public long workingDaysBetween(long startEpochDay, long endEpochDay) {
+        return rank(boundary(endEpochDay)) - rank(boundary(startEpochDay));
+    }
+
+    /**
+     * 加N个工作日：正数为其后第N个工作日，负数为其前第N个工作日，0返回原日期
+     *
+     * @param date 日期，可以不是工作日
+     * @param n    工作日数
+     * @throws IllegalArgumentException 日期或结果超出范围
+     */
+    public LocalDate addWorkingDays(LocalDate date, int n) {
+        long epochDay = date.toEpochDay();
+        long result = addWorkingDays(epochDay, n);
+        return result == epochDay ? date : LocalDate.ofEpochDay(result);
+    }
+
+    /**
+     * 加N个工作日，规则同addWorkingDays(LocalDate, int)
+     *
+     * @param epochDay 纪元日
+     * @param n        工作日数
+     * @return 纪元日
+     * @throws IllegalArgumentException 日期或结果超出范围
+     */
+    public long addWorkingDays(long epochDay, int n) {
+        int offset = offset(epochDay);
+        if (n == 0) {
+            return epochDay;
+        }
+        // 不晚于(n > 0)或早于(n < 0)该日的工作日数，结果为按序的第index个工作日
+        long index = n > 0 ? rank(offset + 1) + (long) n - 1 : rank(offset) + (long) n;
+        if (index < 0 || index >= workingDays.length) {
+            throw new IllegalArgumentException("Result of adding " + n + " working days to "
+                    + LocalDate.ofEpochDay(epochDay) + " is outside " + first + " to " + last);
+        }
+        return firstEpochDay + workingDays[(int) index];
+    }
+
+    /**
+     * 当天或之后的第一个工作日
+     *
+     * @throws IllegalArgumentException 日期或结果超出范围
+     */
+    public LocalDate nextOrSameWorkingDay(LocalDate date) {
+        return isWorkingDay(date) ? date : addWorkingDays(date, 1);
+    }
+
+    /**
+     * 当天或之前的最后一个工作日
+     *
+     * @throws IllegalArgumentException 日期或结果超出范围
+     */
+    public LocalDate previousOrSameWorkingDay(LocalDate date) {
+        return isWorkingDay(date) ? date : addWorkingDays(date, -1);
+    }
+
+    /**
+     * 范围内前offset天中的工作日数
+     */
+    private int rank(int offset) {
+        int w = offset >>> 6;
+        if (w == words.length) {
+            return ranks[w];
+        }
+        return ranks[w] + Long.bitCount(words[w] & ((1L << offset) - 1));
+    }
+
+    private int offset(long epochDay) {
+        long offset = epochDay - firstEpochDay;
+        if (offset < 0 || offset >= days) {
+            throw new IllegalArgumentException(LocalDate.ofEpochDay(epochDay) + " is outside " + first + " to " + last);
+        }
+        return (int) offset;
+    }
+
+    /**
+     * 区间端点，允许取到范围最后一天的次日
+     */
+    private int boundary(long epochDay) {
+        return epochDay == firstEpochDay + days ? days : offset(epochDay);
+    }
+
+    @Override
+    public String toString() {
+        return "BusinessCalendar[" + first + " to " + last + ", workingDays=" + workingDays.length + "]";
+    }
+}
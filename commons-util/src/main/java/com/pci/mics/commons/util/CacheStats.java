@@ -0,0 +1,68 @@
+package com.pci.mics.commons.util;
+
+/**
+ * 缓存统计快照，不可变
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long size;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * 未命中次数
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * 淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * 当前缓存条目数
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 请求总数
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * 命中率，无请求时为1.0
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+                + ", size=" + size + '}';
+    }
+}
@@ -0,0 +1,102 @@
+package com.pci.mics.commons.util;
+
+/**
+ * 公历(ISO)日期的整数运算
+ */
+final class CivilCalendar {
+    /**
+     * 每天毫秒数
+     */
+    static final long MILLIS_PER_DAY = 86_400_000L;
+    /**
+     * 0000-03-01至1970-01-01的天数
+     */
+    private static final long DAYS_0000_TO_1970 = 719_468L;
+    /**
+     * 每400年的天数
+     */
+    private static final long DAYS_PER_CYCLE = 146_097L;
+
+    private CivilCalendar() {
+    }
+
+    /**
+     * 是否闰年
+     */
+    static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 月份天数
+     */
+    static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 年月日转纪元日
+     */
+    static long toEpochDay(long year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400L);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * 纪元日转yyyyMMdd整数，年份需在0-9999之间
+     */
+    static int toDateInt(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_CYCLE);
+        long dayOfEra = z - era * DAYS_PER_CYCLE;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * 纪元日转(预推月序 * 32 + 日)，预推月序即年 * 12 + 月 - 1；两者之差除以32即为ChronoUnit.MONTHS的月数，不限年份
+     */
+    static long monthDayIndex(long epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_CYCLE);
+        long dayOfEra = z - era * DAYS_PER_CYCLE;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        // 以3月为年首的月序mp换算为以1月为年首的预推月序
+        long prolepticMonth = (yearOfEra + era * 400) * 12 + mp + 2;
+        return prolepticMonth * 32 + day;
+    }
+
+    static int dateYear(int date) {
+        return date / 10000;
+    }
+
+    static int dateMonth(int date) {
+        return date / 100 % 100;
+    }
+
+    static int dateDay(int date) {
+        return date % 100;
+    }
+}
@@ -0,0 +1,268 @@
+package com.pci.mics.commons.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 按精度缓存当前时间字符串的时钟
+ * 每个模式缓存一份格式化结果及其有效区间与时区，仅在时间跨出区间或时区改变时无锁刷新；
+ * DateTimePattern中的模式按布局编号直接取缓存，命中时的开销为一次Clock.millis()与一次volatile读，
+ * 默认实例另需取一次JVM默认时区；自定义模式的缓存数有上限，淘汰策略同BoundedCache
+ */
+public final class CoarseClock {
+
+    /**
+     * 刷新精度
+     */
+    public enum Resolution {
+        /**
+         * 毫秒
+         */
+        MILLIS(ChronoUnit.MILLIS),
+        /**
+         * 秒
+         */
+        SECONDS(ChronoUnit.SECONDS),
+        /**
+         * 分钟
+         */
+        MINUTES(ChronoUnit.MINUTES),
+        /**
+         * 天
+         */
+        DAYS(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Resolution(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        ChronoUnit getUnit() {
+            return unit;
+        }
+    }
+
+    /**
+     * 每类缓存的模式数上限
+     */
+    private static final int MAXIMUM_PATTERNS = 256;
+
+    private static final CoarseClock DEFAULT = new CoarseClock(Clock.systemUTC(), Resolution.MILLIS, true);
+
+    private final Clock clock;
+    private final ZoneId zone;
+    /**
+     * 是否每次调用时取JVM默认时区，跟随TimeZone.setDefault
+     */
+    private final boolean followDefaultZone;
+    private final Resolution resolution;
+    /**
+     * 预置布局的缓存，按DateTimeLayout.index存放
+     */
+    private final Slot[] dateTimePresets = newSlots();
+    private final Slot[] datePresets = newSlots();
+    private final BoundedCache<String, Slot> dateTimeSlots = new BoundedCache<>(MAXIMUM_PATTERNS);
+    private final BoundedCache<String, Slot> dateSlots = new BoundedCache<>(MAXIMUM_PATTERNS);
+
+    /**
+     * @param clock      时钟，时区取clock.getZone()
+     * @param resolution 刷新精度；模式本身的精度更粗时按模式精度刷新
+     */
+    public CoarseClock(Clock clock, Resolution resolution) {
+        this(clock, resolution, false);
+    }
+
+    private CoarseClock(Clock clock, Resolution resolution, boolean followDefaultZone) {
+        if (clock == null || resolution == null) {
+            throw new IllegalArgumentException("clock and resolution must not be null");
+        }
+        this.clock = clock;
+        this.zone = clock.getZone();
+        this.followDefaultZone = followDefaultZone;
+        this.resolution = resolution;
+    }
+
+    /**
+     * 默认实例：每次调用时取JVM默认时区，毫秒精度
+     */
+    public static CoarseClock getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 以指定模式返回当前日期时间
+     *
+     * @param pattern 模式
+     * @return String型日期时间
+     */
+    public String currentDateTime(String pattern) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null) {
+            return currentDateTime(layout);
+        }
+        return currentDateTime(dateTimeSlots.get(pattern, p -> new Slot()), pattern, null);
+    }
+
+    /**
+     * 以预置布局返回当前日期时间
+     */
+    String currentDateTime(DateTimeLayout layout) {
+        return currentDateTime(dateTimePresets[layout.index], layout.getPattern(), layout);
+    }
+
+    private String currentDateTime(Slot slot, String pattern, DateTimeLayout layout) {
+        long now = clock.millis();
+        ZoneId current = zone();
+        Entry entry = slot.entry;
+        if (entry != null && entry.contains(now, current)) {
+            return entry.text;
+        }
+        ChronoUnit unit = unitOf(layout);
+        LocalDateTime tick = truncate(LocalDateTime.ofInstant(Instant.ofEpochMilli(now), current), unit);
+        entry = newEntry(tick, unit, now, current, format(tick, pattern, layout));
+        slot.entry = entry;
+        return entry.text;
+    }
+
+    /**
+     * 以指定模式返回当前日期
+     *
+     * @param pattern 模式
+     * @return String型日期
+     */
+    public String currentDate(String pattern) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null) {
+            return currentDate(layout);
+        }
+        return currentDate(dateSlots.get(pattern, p -> new Slot()), pattern, null);
+    }
+
+    /**
+     * 以预置布局返回当前日期
+     */
+    String currentDate(DateTimeLayout layout) {
+        return currentDate(datePresets[layout.index], layout.getPattern(), layout);
+    }
+
+    private String currentDate(Slot slot, String pattern, DateTimeLayout layout) {
+        long now = clock.millis();
+        ZoneId current = zone();
+        Entry entry = slot.entry;
+        if (entry != null && entry.contains(now, current)) {
+            return entry.text;
+        }
+        LocalDateTime tick = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), current).truncatedTo(ChronoUnit.DAYS);
+        LocalDate date = tick.toLocalDate();
+        entry = newEntry(tick, ChronoUnit.DAYS, now, current, format(date, pattern, layout));
+        slot.entry = entry;
+        return entry.text;
+    }
+
+    /**
+     * 当前时钟毫秒
+     */
+    public long millis() {
+        return clock.millis();
+    }
+
+    public ZoneId getZone() {
+        return zone();
+    }
+
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    /**
+     * 已缓存的自定义模式数
+     */
+    int cachedPatternCount() {
+        return dateTimeSlots.size() + dateSlots.size();
+    }
+
+    private ZoneId zone() {
+        return followDefaultZone ? ZoneId.systemDefault() : zone;
+    }
+
+    /**
+     * 取时钟精度与模式精度中较粗者，自定义模式按时钟精度
+     */
+    private ChronoUnit unitOf(DateTimeLayout layout) {
+        ChronoUnit unit = resolution.getUnit();
+        if (layout != null && layout.getPrecision().compareTo(unit) > 0) {
+            unit = layout.getPrecision();
+        }
+        return unit;
+    }
+
+    private static LocalDateTime truncate(LocalDateTime dateTime, ChronoUnit unit) {
+        if (unit == ChronoUnit.MONTHS) {
+            return dateTime.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+        }
+        return dateTime.truncatedTo(unit);
+    }
+
+    /**
+     * 刷新时直接格式化，不经过DateTimeUtils，开启度量时不计入FORMAT调用
+     */
+    private static String format(LocalDateTime dateTime, String pattern, DateTimeLayout layout) {
+        return layout != null ? DateTimeWriter.format(dateTime, layout)
+                : dateTime.format(DateTimeFormatters.ofPattern(pattern));
+    }
+
+    private static String format(LocalDate date, String pattern, DateTimeLayout layout) {
+        return layout != null ? DateTimeWriter.format(date, layout) : date.format(DateTimeFormatters.ofPattern(pattern));
+    }
+
+    private static Slot[] newSlots() {
+        Slot[] slots = new Slot[DateTimeLayout.PRESET_COUNT];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+        return slots;
+    }
+
+    private static Entry newEntry(LocalDateTime tick, ChronoUnit unit, long now, ZoneId zone, String text) {
+        long from = tick.atZone(zone).toInstant().toEpochMilli();
+        long until = tick.plus(1, unit).atZone(zone).toInstant().toEpochMilli();
+        if (from > now) {
+            from = now;
+        }
+        if (until <= now) {
+            until = now + 1;
+        }
+        return new Entry(from, until, zone, text);
+    }
+
+    private static final class Slot {
+        volatile Entry entry;
+    }
+
+    /**
+     * 格式化结果及其在zone下的有效区间[from, until)
+     */
+    private static final class Entry {
+
+        final long from;
+        final long until;
+        final ZoneId zone;
+        final String text;
+
+        Entry(long from, long until, ZoneId zone, String text) {
+            this.from = from;
+            this.until = until;
+            this.zone = zone;
+            this.text = text;
+        }
+
+        boolean contains(long millis, ZoneId zone) {
+            return millis >= from && millis < until && (this.zone == zone || this.zone.equals(zone));
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 自定义模式的编译结果
+ * 模式仅由定长数字字段(yyyy、uuuu、yy、uu、MM、dd、HH、mm、ss、S至SSS)与字面量(分隔符及引号内文本)组成时，
+ * 预先算出各字段的位置，格式化时在模板上按位置写入数字，解析时按位置读取并校验；其余模式直接使用DateTimeFormatter
+ * 与DateTimeReader一样，长度、字面量或数值不合法的输入交由DateTimeFormatter处理，结果及异常与JDK一致
+ * 编译结果按模式缓存，实例不可变，可在线程间共享
+ */
+public final class CompiledPattern {
+    /**
+     * 编译结果缓存上限
+     */
+    private static final int DEFAULT_MAXIMUM_SIZE = 256;
+    /**
+     * DateTimeFormatter.ofPattern中有特殊含义的非字母字符，引号单独处理
+     */
+    private static final String RESERVED_CHARS = "[]{}#";
+    /**
+     * 两位年份的基准年，与DateTimeFormatter.ofPattern("yy")一致
+     */
+    private static final int REDUCED_YEAR_BASE = 2000;
+    private static final int MAX_FRACTION_WIDTH = 3;
+    private static final int NANOS_PER_MILLI = 1000_000;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000};
+
+    private static final BoundedCache<String, CompiledPattern> CACHE = new BoundedCache<>(DEFAULT_MAXIMUM_SIZE);
+
+    /**
+     * 定长数字字段
+     */
+    private enum Field {
+        YEAR, REDUCED_YEAR, MONTH, DAY, HOUR, MINUTE, SECOND, FRACTION
+    }
+
+    private final String pattern;
+    private final boolean specialized;
+    /**
+     * 模板字符，字段位置为'0'
+     */
+    private final char[] template;
+    /**
+     * 各位置是否为数字
+     */
+    private final boolean[] digits;
+    /**
+     * 各字段的位置，不存在为-1
+     */
+    private final int[] offsets;
+    private final int fractionWidth;
+    private final boolean dateParsable;
+    private final boolean dateTimeParsable;
+
+    private CompiledPattern(String pattern, char[] template, boolean[] digits, int[] offsets, int fractionWidth) {
+        this.pattern = pattern;
+        this.specialized = template != null;
+        this.template = template;
+        this.digits = digits;
+        this.offsets = offsets;
+        this.fractionWidth = fractionWidth;
+        if (specialized) {
+            boolean hasYear = offsets[Field.YEAR.ordinal()] >= 0 || offsets[Field.REDUCED_YEAR.ordinal()] >= 0;
+            // 与DateTimeLayout相同：缺少日时不能有时间，时间字段从高位到低位连续，否则JDK无法合成时间
+            boolean resolvable = hasYear && has(Field.MONTH)
+                    && (has(Field.DAY) || !has(Field.HOUR)) && (has(Field.HOUR) || !has(Field.MINUTE))
+                    && (has(Field.MINUTE) || !has(Field.SECOND)) && (has(Field.SECOND) || !has(Field.FRACTION));
+            this.dateParsable = resolvable;
+            this.dateTimeParsable = resolvable && has(Field.HOUR);
+        } else {
+            this.dateParsable = false;
+            this.dateTimeParsable = false;
+        }
+    }
+
+    /**
+     * 编译模式，结果被缓存
+     *
+     * @param pattern 模式
+     * @throws IllegalArgumentException 模式不合法，与DateTimeFormatter.ofPattern一致
+     */
+    public static CompiledPattern compile(String pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("pattern must not be null");
+        }
+        return CACHE.get(pattern, CompiledPattern::create);
+    }
+
+    private static CompiledPattern create(String pattern) {
+        // 先由JDK校验模式，不合法时抛出相同的异常
+        DateTimeFormatters.ofPattern(pattern);
+        StringBuilder template = new StringBuilder(pattern.length());
+        StringBuilder digits = new StringBuilder(pattern.length());
+        int[] offsets = new int[Field.values().length];
+        Arrays.fill(offsets, -1);
+        int fractionWidth = 0;
+        int i = 0;
+        int length = pattern.length();
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                int end = i + 1;
+                if (end < length && pattern.charAt(end) == '\'') {
+                    appendLiteral(template, digits, '\'');
+                    i = end + 1;
+                    continue;
+                }
+                // 引号内的文本，''表示一个引号
+                while (end < length) {
+                    if (pattern.charAt(end) == '\'') {
+                        if (end + 1 < length && pattern.charAt(end + 1) == '\'') {
+                            appendLiteral(template, digits, '\'');
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    appendLiteral(template, digits, pattern.charAt(end));
+                    end++;
+                }
+                i = end + 1;
+                continue;
+            }
+            if (!isLetter(c)) {
+                if (RESERVED_CHARS.indexOf(c) >= 0) {
+                    return fallback(pattern);
+                }
+                appendLiteral(template, digits, c);
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length && pattern.charAt(i) == c) {
+                i++;
+            }
+            Field field = field(c, i - start);
+            if (field == null || offsets[field.ordinal()] >= 0) {
+                return fallback(pattern);
+            }
+            offsets[field.ordinal()] = template.length();
+            if (field == Field.FRACTION) {
+                fractionWidth = i - start;
+            }
+            for (int k = start; k < i; k++) {
+                template.append('0');
+                digits.append('1');
+            }
+        }
+        if (offsets[Field.YEAR.ordinal()] >= 0 && offsets[Field.REDUCED_YEAR.ordinal()] >= 0) {
+            return fallback(pattern);
+        }
+        // 字面量中出现数字时，变长的年份在JDK中会吞掉这些数字，按位置读取的结果不同
+        for (int k = 0; k < template.length(); k++) {
+            if (digits.charAt(k) == '0' && template.charAt(k) >= '0' && template.charAt(k) <= '9') {
+                return fallback(pattern);
+            }
+        }
+        boolean[] digitMask = new boolean[template.length()];
+        for (int k = 0; k < digitMask.length; k++) {
+            digitMask[k] = digits.charAt(k) == '1';
+        }
+        return new CompiledPattern(pattern, template.toString().toCharArray(), digitMask, offsets, fractionWidth);
+    }
+
+    private static CompiledPattern fallback(String pattern) {
+        return new CompiledPattern(pattern, null, null, null, 0);
+    }
+
+    private static void appendLiteral(StringBuilder template, StringBuilder digits, char c) {
+        template.append(c);
+        digits.append('0');
+    }
+
+    /**
+     * 模式字母及个数对应的定长字段，不支持时返回null
+     */
+    private static Field field(char letter, int width) {
+        switch (letter) {
+            case 'y':
+            case 'u':
+                return width == 4 ? Field.YEAR : width == 2 ? Field.REDUCED_YEAR : null;
+            case 'M':
+                return width == 2 ? Field.MONTH : null;
+            case 'd':
+                return width == 2 ? Field.DAY : null;
+            case 'H':
+                return width == 2 ? Field.HOUR : null;
+            case 'm':
+                return width == 2 ? Field.MINUTE : null;
+            case 's':
+                return width == 2 ? Field.SECOND : null;
+            case 'S':
+                return width <= MAX_FRACTION_WIDTH ? Field.FRACTION : null;
+            default:
+                return null;
+        }
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    /**
+     * 模式字符串
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 是否已编译为按位置读写的形式，否则全部交由DateTimeFormatter
+     */
+    public boolean isSpecialized() {
+        return specialized;
+    }
+
+    /**
+     * 格式化，与DateTimeFormatter.ofPattern(pattern).format(dateTime)一致
+     *
+     * @param dateTime 日期时间，不能为null
+     */
+    public String format(LocalDateTime dateTime) {
+        if (!specialized || !DateTimeWriter.isWritable(dateTime.getYear())) {
+            return DateTimeFormatters.ofPattern(pattern).format(dateTime);
+        }
+        return write(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), dateTime.getHour(),
+                     dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano());
+    }
+
+    /**
+     * 格式化，与DateTimeFormatter.ofPattern(pattern).format(date)一致，含时间字段时同样抛出异常
+     *
+     * @param date 日期，不能为null
+     */
+    public String format(LocalDate date) {
+        if (!specialized || has(Field.HOUR) || has(Field.MINUTE) || has(Field.SECOND) || has(Field.FRACTION)
+                || !DateTimeWriter.isWritable(date.getYear())) {
+            return DateTimeFormatters.ofPattern(pattern).format(date);
+        }
+        return write(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, 0);
+    }
+
+    /**
+     * 解析日期时间，与LocalDateTime.parse(text, DateTimeFormatter.ofPattern(pattern))一致
+     *
+     * @param text 文本
+     * @throws java.time.format.DateTimeParseException 文本不合法
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        long fields = dateTimeParsable ? parseFields(text) : DateTimeReader.INVALID;
+        if (fields == DateTimeReader.INVALID) {
+            return LocalDateTime.parse(text, DateTimeFormatters.ofPattern(pattern));
+        }
+        return DateTimeReader.toLocalDateTime(fields);
+    }
+
+    /**
+     * 解析日期，缺少日时默认为每月第一天，与DateTimeUtils.toLocalDate(String, String)一致
+     *
+     * @param text 文本
+     * @throws java.time.format.DateTimeParseException 文本不合法
+     */
+    public LocalDate parseLocalDate(CharSequence text) {
+        long fields = parseDateFields(text);
+        if (fields == DateTimeReader.INVALID) {
+            return LocalDate.parse(text, DateTimeFormatters.ofDatePattern(pattern));
+        }
+        return LocalDate.of(DateTimeReader.year(fields), DateTimeReader.month(fields), DateTimeReader.day(fields));
+    }
+
+    /**
+     * 按日期解析时的打包字段，不合法或需要交由DateTimeFormatter时返回DateTimeReader.INVALID
+     */
+    long parseDateFields(CharSequence text) {
+        return dateParsable ? parseFields(text) : DateTimeReader.INVALID;
+    }
+
+    /**
+     * 按日期时间解析时的打包字段，不合法或需要交由DateTimeFormatter时返回DateTimeReader.INVALID
+     */
+    long parseDateTimeFields(CharSequence text) {
+        return dateTimeParsable ? parseFields(text) : DateTimeReader.INVALID;
+    }
+
+    private long parseFields(CharSequence text) {
+        if (text.length() != template.length) {
+            return DateTimeReader.INVALID;
+        }
+        for (int i = 0; i < template.length; i++) {
+            char c = text.charAt(i);
+            if (digits[i] ? c < '0' || c > '9' : c != template[i]) {
+                return DateTimeReader.INVALID;
+            }
+        }
+        int year = has(Field.YEAR) ? read(text, Field.YEAR, 4, 0)
+                : REDUCED_YEAR_BASE + read(text, Field.REDUCED_YEAR, 2, 0);
+        int month = read(text, Field.MONTH, 2, 1);
+        int day = read(text, Field.DAY, 2, 1);
+        int hour = read(text, Field.HOUR, 2, 0);
+        int minute = read(text, Field.MINUTE, 2, 0);
+        int second = read(text, Field.SECOND, 2, 0);
+        int millis = has(Field.FRACTION)
+                ? DateTimeReader.read(text, offsets[Field.FRACTION.ordinal()], fractionWidth)
+                  * POWERS_OF_TEN[MAX_FRACTION_WIDTH - fractionWidth] : 0;
+        return DateTimeReader.resolve(year, month, day, hour, minute, second, millis);
+    }
+
+    /**
+     * 读取字段，不存在时返回默认值
+     */
+    private int read(CharSequence text, Field field, int width, int defaultValue) {
+        int offset = offsets[field.ordinal()];
+        return offset >= 0 ? DateTimeReader.read(text, offset, width) : defaultValue;
+    }
+
+    /**
+     * 在模板副本上按位置写入各字段，调用方保证年份在1-9999之间
+     */
+    private String write(int year, int month, int day, int hour, int minute, int second, int nano) {
+        char[] chars = template.clone();
+        put(chars, Field.YEAR, year, 4);
+        put(chars, Field.REDUCED_YEAR, year % 100, 2);
+        put(chars, Field.MONTH, month, 2);
+        put(chars, Field.DAY, day, 2);
+        put(chars, Field.HOUR, hour, 2);
+        put(chars, Field.MINUTE, minute, 2);
+        put(chars, Field.SECOND, second, 2);
+        put(chars, Field.FRACTION,
+            nano / NANOS_PER_MILLI / POWERS_OF_TEN[MAX_FRACTION_WIDTH - fractionWidth], fractionWidth);
+        return new String(chars);
+    }
+
+    private void put(char[] dst, Field field, int value, int width) {
+        int offset = offsets[field.ordinal()];
+        if (offset < 0) {
+            return;
+        }
+        for (int i = offset + width - 1; i >= offset; i--) {
+            dst[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private boolean has(Field field) {
+        return offsets[field.ordinal()] >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
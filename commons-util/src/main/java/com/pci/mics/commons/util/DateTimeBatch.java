@@ -0,0 +1,308 @@
+package com.pci.mics.commons.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * 批量日期时间转换
+ * 输入达到并行阈值时拆分到ForkJoinPool执行；解析失败的行按下标记录在BatchResult中，不中断整个批次
+ * 定长布局的模式经DateTimeReader.tryParse、tryParseDateTime解析，失败行不创建异常
+ */
+public final class DateTimeBatch {
+    /**
+     * 默认并行阈值
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+    /**
+     * 最小拆分粒度
+     */
+    private static final int MIN_CHUNK_SIZE = 1024;
+    /**
+     * 每个工作线程分得的任务数
+     */
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    private static final DateTimeBatch DEFAULT = new DateTimeBatch(DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelThreshold 输入条数达到该值时并行执行
+     * @param pool              执行并行任务的线程池
+     */
+    public DateTimeBatch(int parallelThreshold, ForkJoinPool pool) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("parallelThreshold must be positive");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+    }
+
+    /**
+     * 默认实例，使用ForkJoinPool.commonPool()
+     */
+    public static DateTimeBatch getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 批量String转日期时间
+     *
+     * @param values  日期时间字符串
+     * @param pattern 模式
+     */
+    public BatchResult<LocalDateTime[]> parseLocalDateTimes(String[] values, String pattern) {
+        LocalDateTime[] result = new LocalDateTime[values.length];
+        DateTimeLayout layout = DateTimeLayout.lookup(pattern);
+        if (layout != null && !layout.hasTime()) {
+            layout = null;
+        }
+        DateTimeLayout timeLayout = layout;
+        DateTimeFormatter formatter = layout == null ? DateTimeFormatters.ofPattern(pattern) : null;
+        Errors errors = run(values.length, (i, parsed) -> {
+            String value = values[i];
+            if (timeLayout == null) {
+                checkNotEmpty(value);
+                result[i] = LocalDateTime.parse(value, formatter);
+            } else if (DateTimeReader.tryParseDateTime(value, timeLayout, parsed)) {
+                result[i] = parsed.toLocalDateTime();
+            } else {
+                return parsed.getErrorMessage();
+            }
+            return null;
+        });
+        return errors.toResult(result);
+    }
+
+    /**
+     * 批量String转日期时间
+     *
+     * @param values  日期时间字符串
+     * @param pattern 模式
+     */
+    public BatchResult<LocalDateTime[]> parseLocalDateTimes(List<String> values, String pattern) {
+        return parseLocalDateTimes(values.toArray(new String[0]), pattern);
+    }
+
+    /**
+     * 批量String转纪元毫秒
+     *
+     * @param values  日期时间字符串
+     * @param pattern 模式
+     * @param zone    时区
+     */
+    public BatchResult<long[]> parseEpochMillis(String[] values, String pattern, ZoneId zone) {
+        long[] result = new long[values.length];
+        DateTimeLayout layout = DateTimeLayout.lookup(pattern);
+        DateTimeFormatter formatter = layout == null ? DateTimeFormatters.ofPattern(pattern) : null;
+        Errors errors = run(values.length, (i, parsed) -> {
+            String value = values[i];
+            if (layout == null) {
+                checkNotEmpty(value);
+                result[i] = EpochTimeUtils.toEpochMillis(LocalDateTime.parse(value, formatter), zone);
+                return null;
+            }
+            if (DateTimeReader.tryParseDateTime(value, layout, parsed)) {
+                result[i] = parsed.toEpochMillis(zone);
+            }
+            return parsed.isSuccess() ? null : parsed.getErrorMessage();
+        });
+        return errors.toResult(result);
+    }
+
+    /**
+     * 批量String转纪元毫秒
+     *
+     * @param values  日期时间字符串
+     * @param pattern 模式
+     * @param zone    时区
+     */
+    public BatchResult<long[]> parseEpochMillis(List<String> values, String pattern, ZoneId zone) {
+        return parseEpochMillis(values.toArray(new String[0]), pattern, zone);
+    }
+
+    /**
+     * 批量日期时间转String，null元素转为null
+     *
+     * @param values  日期时间
+     * @param pattern 模式
+     */
+    public String[] formatLocalDateTimes(LocalDateTime[] values, String pattern) {
+        String[] result = new String[values.length];
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        DateTimeFormatter formatter = layout == null ? DateTimeFormatters.ofPattern(pattern) : null;
+        execute(values.length, (i, parsed) -> {
+            LocalDateTime value = values[i];
+            if (value != null) {
+                result[i] = layout != null ? DateTimeWriter.format(value, layout) : value.format(formatter);
+            }
+            return null;
+        });
+        return result;
+    }
+
+    /**
+     * 批量纪元毫秒转String
+     *
+     * @param values  纪元毫秒
+     * @param pattern 模式
+     * @param zone    时区
+     */
+    public String[] formatEpochMillis(long[] values, String pattern, ZoneId zone) {
+        String[] result = new String[values.length];
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        DateTimeFormatter formatter = layout == null ? DateTimeFormatters.ofPattern(pattern) : null;
+        execute(values.length, (i, parsed) -> {
+            result[i] = layout != null ? EpochTimeUtils.formatEpochMillis(values[i], layout, zone)
+                    : EpochTimeUtils.toLocalDateTime(values[i], zone).format(formatter);
+            return null;
+        });
+        return result;
+    }
+
+    /**
+     * 并行阈值
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    private static void checkNotEmpty(String value) {
+        if (StringUtils.isEmpty(value)) {
+            throw new IllegalArgumentException("dateStr must not be empty");
+        }
+    }
+
+    /**
+     * 逐行执行，记录失败行
+     */
+    private Errors run(int size, RowAction action) {
+        if (size < parallelThreshold) {
+            return new RowTask(action, 0, size, size, true).compute();
+        }
+        return pool.invoke(new RowTask(action, 0, size, chunkSize(size), true));
+    }
+
+    /**
+     * 逐行执行，异常直接抛出
+     */
+    private void execute(int size, RowAction action) {
+        if (size < parallelThreshold) {
+            new RowTask(action, 0, size, size, false).compute();
+        } else {
+            pool.invoke(new RowTask(action, 0, size, chunkSize(size), false));
+        }
+    }
+
+    private int chunkSize(int size) {
+        return Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD));
+    }
+
+    /**
+     * 单行处理，返回错误信息，成功时返回null
+     */
+    @FunctionalInterface
+    private interface RowAction {
+        String apply(int index, ParseResult parsed);
+    }
+
+    /**
+     * 按下标区间二分拆分的任务
+     */
+    private static final class RowTask extends RecursiveTask<Errors> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient RowAction action;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        private final boolean collectErrors;
+
+        RowTask(RowAction action, int from, int to, int chunkSize, boolean collectErrors) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.collectErrors = collectErrors;
+        }
+
+        @Override
+        protected Errors compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                RowTask left = new RowTask(action, from, middle, chunkSize, collectErrors);
+                RowTask right = new RowTask(action, middle, to, chunkSize, collectErrors);
+                left.fork();
+                Errors rightErrors = right.compute();
+                return left.join().append(rightErrors);
+            }
+            Errors errors = new Errors();
+            ParseResult parsed = new ParseResult();
+            for (int i = from; i < to; i++) {
+                if (!collectErrors) {
+                    action.apply(i, parsed);
+                    continue;
+                }
+                try {
+                    String error = action.apply(i, parsed);
+                    if (error != null) {
+                        errors.add(i, error);
+                    }
+                } catch (DateTimeException | IllegalArgumentException e) {
+                    errors.add(i, e.getMessage());
+                }
+            }
+            return errors;
+        }
+    }
+
+    /**
+     * 按下标升序记录的失败行
+     */
+    private static final class Errors {
+
+        private int[] indexes;
+        private String[] messages;
+        private int size;
+
+        void add(int index, String message) {
+            if (indexes == null) {
+                indexes = new int[8];
+                messages = new String[8];
+            } else if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size * 2);
+                messages = Arrays.copyOf(messages, size * 2);
+            }
+            indexes[size] = index;
+            messages[size] = message;
+            size++;
+        }
+
+        Errors append(Errors other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.indexes[i], other.messages[i]);
+            }
+            return this;
+        }
+
+        <T> BatchResult<T> toResult(T values) {
+            if (size == 0) {
+                return new BatchResult<>(values, null, null);
+            }
+            return new BatchResult<>(values, Arrays.copyOf(indexes, size), Arrays.copyOf(messages, size));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 混合格式的日期时间识别与解析
+ * 按长度与分隔符位置预先建立判定表，对输入扫描一遍即确定布局，再以该布局的定长解析路径解析
+ * 形状(长度、各位置是数字还是哪个分隔符)相同的布局无法区分，构造时抛出IllegalArgumentException
+ * 实例不可变，可在线程间共享
+ */
+public final class DateTimeDetector {
+
+    private static final DateTimeDetector DEFAULT = new DateTimeDetector(new ArrayList<>(DateTimeLayout.presets()));
+
+    /**
+     * 形状哈希的乘数
+     */
+    private static final int SHAPE_MULTIPLIER = 31;
+
+    private final List<DateTimeLayout> layouts;
+    /**
+     * 按长度索引的候选，同一长度下按形状哈希匹配
+     */
+    private final Candidate[][] table;
+
+    private DateTimeDetector(List<DateTimeLayout> layouts) {
+        int maxLength = 0;
+        for (DateTimeLayout layout : layouts) {
+            if (layout == null) {
+                throw new IllegalArgumentException("layout must not be null");
+            }
+            maxLength = Math.max(maxLength, layout.length());
+        }
+        Candidate[][] candidates = new Candidate[maxLength + 1][];
+        for (int i = 0; i < layouts.size(); i++) {
+            DateTimeLayout layout = layouts.get(i);
+            char[] template = layout.template();
+            Candidate[] sameLength = candidates[template.length];
+            if (sameLength == null) {
+                sameLength = new Candidate[0];
+            }
+            for (Candidate other : sameLength) {
+                if (sameShape(template, other.layout.template())) {
+                    throw new IllegalArgumentException("Ambiguous layouts: " + other.layout + " and " + layout);
+                }
+            }
+            sameLength = Arrays.copyOf(sameLength, sameLength.length + 1);
+            sameLength[sameLength.length - 1] = new Candidate(shape(template), layout, i);
+            candidates[template.length] = sameLength;
+        }
+        this.layouts = Collections.unmodifiableList(layouts);
+        this.table = candidates;
+    }
+
+    /**
+     * 识别DateTimePattern中全部模式的实例
+     */
+    public static DateTimeDetector getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 识别指定布局的实例
+     *
+     * @param layouts 布局，顺序即indexOf的返回值
+     */
+    public static DateTimeDetector of(DateTimeLayout... layouts) {
+        return new DateTimeDetector(new ArrayList<>(Arrays.asList(layouts)));
+    }
+
+    /**
+     * 在现有布局之后追加布局，返回新实例
+     *
+     * @param extra 追加的布局
+     */
+    public DateTimeDetector with(DateTimeLayout... extra) {
+        List<DateTimeLayout> all = new ArrayList<>(layouts);
+        all.addAll(Arrays.asList(extra));
+        return new DateTimeDetector(all);
+    }
+
+    /**
+     * 可识别的布局
+     */
+    public List<DateTimeLayout> getLayouts() {
+        return layouts;
+    }
+
+    /**
+     * 识别文本的布局，只校验形状不校验数值，无匹配时返回null
+     *
+     * @param text 文本
+     */
+    public DateTimeLayout detect(CharSequence text) {
+        int index = indexOf(text, 0, text.length());
+        return index < 0 ? null : layouts.get(index);
+    }
+
+    /**
+     * 识别文本的布局，返回其在getLayouts()中的下标，无匹配时返回-1；便于按下标维护各格式的统计
+     *
+     * @param text 文本
+     */
+    public int indexOf(CharSequence text) {
+        return indexOf(text, 0, text.length());
+    }
+
+    /**
+     * 识别文本中指定区间的布局，返回其在getLayouts()中的下标，无匹配时返回-1
+     *
+     * @param text   文本
+     * @param offset 起始位置
+     * @param length 长度
+     */
+    public int indexOf(CharSequence text, int offset, int length) {
+        if (length >= table.length || table[length] == null) {
+            return -1;
+        }
+        int shape = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            shape = shape * SHAPE_MULTIPLIER + inputShapeOf(text.charAt(i));
+        }
+        for (Candidate candidate : table[length]) {
+            if (candidate.shape == shape && matches(text, offset, candidate.layout.template())) {
+                return candidate.index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 识别并解析日期时间，仅含日期的布局取当天零点
+     *
+     * @param text 文本
+     * @throws DateTimeParseException 无匹配的布局或数值不合法
+     */
+    public LocalDateTime parseLocalDateTime(CharSequence text) {
+        DateTimeLayout layout = require(text);
+        return layout.hasTime()
+                ? DateTimeReader.parseLocalDateTime(text, layout)
+                : DateTimeReader.parseLocalDate(text, layout).atStartOfDay();
+    }
+
+    /**
+     * 识别并解析日期，含时间的布局取其日期部分
+     *
+     * @param text 文本
+     * @throws DateTimeParseException 无匹配的布局或数值不合法
+     */
+    public LocalDate parseLocalDate(CharSequence text) {
+        return DateTimeReader.parseLocalDate(text, require(text));
+    }
+
+    /**
+     * 识别并解析为纪元毫秒，仅含日期的布局取当天零点
+     *
+     * @param text 文本
+     * @param zone 时区
+     * @throws DateTimeParseException 无匹配的布局或数值不合法
+     */
+    public long parseEpochMillis(CharSequence text, ZoneId zone) {
+        return EpochTimeUtils.parseEpochMillis(text, require(text), zone);
+    }
+
+    private DateTimeLayout require(CharSequence text) {
+        DateTimeLayout layout = detect(text);
+        if (layout == null) {
+            throw new DateTimeParseException("Text '" + text + "' does not match any layout", text, 0);
+        }
+        return layout;
+    }
+
+    private static boolean matches(CharSequence text, int offset, char[] template) {
+        for (int i = 0; i < template.length; i++) {
+            if (inputShapeOf(text.charAt(offset + i)) != shapeOf(template[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameShape(char[] a, char[] b) {
+        return Arrays.equals(shapeArray(a), shapeArray(b));
+    }
+
+    private static int[] shapeArray(char[] template) {
+        int[] shapes = new int[template.length];
+        for (int i = 0; i < template.length; i++) {
+            shapes[i] = shapeOf(template[i]);
+        }
+        return shapes;
+    }
+
+    private static int shape(char[] template) {
+        int shape = 0;
+        for (char c : template) {
+            shape = shape * SHAPE_MULTIPLIER + shapeOf(c);
+        }
+        return shape;
+    }
+
+    /**
+     * 输入字符的形状：数字记为0，其余记为其本身
+     */
+    private static int inputShapeOf(char c) {
+        return c >= '0' && c <= '9' ? 0 : c;
+    }
+
+    /**
+     * 模板字符的形状：模式字母与数字均记为0，分隔符记为其本身
+     */
+    private static int shapeOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return 0;
+        }
+        switch (c) {
+            case 'y':
+            case 'M':
+            case 'd':
+            case 'H':
+            case 'm':
+            case 's':
+            case 'S':
+                return 0;
+            default:
+                return c;
+        }
+    }
+
+    private static final class Candidate {
+        private final int shape;
+        private final DateTimeLayout layout;
+        private final int index;
+
+        private Candidate(int shape, DateTimeLayout layout, int index) {
+            this.shape = shape;
+            this.layout = layout;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.pci.mics.commons.util;
+
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.pci.mics.commons.contants.DateTimePattern.EN_DATETIME_MINUTE_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.EN_DATETIME_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.EN_DATETIME_SECOND_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.EN_DATE_MONTH_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.EN_DATE_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.LONG_DATETIME_MINUTE_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.LONG_DATETIME_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.LONG_DATETIME_SECOND_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.LONG_DATE_MONTH_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.LONG_DATE_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.SHORT_DATETIME_MINUTE_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.SHORT_DATETIME_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.SHORT_DATETIME_SECOND_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.SHORT_DATE_MONTH_PATTERN;
+import static com.pci.mics.commons.contants.DateTimePattern.SHORT_DATE_PATTERN;
+
+/**
+ * 线程安全的格式器注册表
+ * DateTimePattern中的模式预编译，其余自定义模式进入有界缓存
+ */
+public class DateTimeFormatters {
+    /**
+     * 自定义模式缓存上限
+     */
+    private static final int DEFAULT_MAXIMUM_SIZE = 256;
+    /**
+     * 默认每月第一天
+     */
+    private static final long DEFAULT_DAY_OF_MONTH = 1L;
+
+    private static final String[] PRESET_PATTERNS = {
+            LONG_DATE_MONTH_PATTERN, LONG_DATE_PATTERN,
+            EN_DATE_MONTH_PATTERN, EN_DATE_PATTERN,
+            SHORT_DATE_MONTH_PATTERN, SHORT_DATE_PATTERN,
+            LONG_DATETIME_SECOND_PATTERN, LONG_DATETIME_MINUTE_PATTERN, LONG_DATETIME_PATTERN,
+            EN_DATETIME_SECOND_PATTERN, EN_DATETIME_MINUTE_PATTERN, EN_DATETIME_PATTERN,
+            SHORT_DATETIME_SECOND_PATTERN, SHORT_DATETIME_MINUTE_PATTERN, SHORT_DATETIME_PATTERN
+    };
+
+    private static final Map<String, DateTimeFormatter> PRESET_FORMATTERS;
+    private static final Map<String, DateTimeFormatter> PRESET_DATE_FORMATTERS;
+
+    private static final BoundedCache<String, DateTimeFormatter> FORMATTER_CACHE =
+            new BoundedCache<>(DEFAULT_MAXIMUM_SIZE);
+    private static final BoundedCache<String, DateTimeFormatter> DATE_FORMATTER_CACHE =
+            new BoundedCache<>(DEFAULT_MAXIMUM_SIZE);
+
+    private static final LongAdder PRESET_HIT_COUNT = new LongAdder();
+
+    static {
+        Map<String, DateTimeFormatter> formatters = new HashMap<>();
+        Map<String, DateTimeFormatter> dateFormatters = new HashMap<>();
+        for (String pattern : PRESET_PATTERNS) {
+            formatters.put(pattern, createFormatter(pattern));
+            dateFormatters.put(pattern, createDateFormatter(pattern));
+        }
+        PRESET_FORMATTERS = Collections.unmodifiableMap(formatters);
+        PRESET_DATE_FORMATTERS = Collections.unmodifiableMap(dateFormatters);
+    }
+
+    private DateTimeFormatters() {
+    }
+
+    /**
+     * 获取模式对应的格式器，等价于DateTimeFormatter.ofPattern(pattern)
+     *
+     * @param pattern 模式
+     * @return 格式器
+     */
+    public static DateTimeFormatter ofPattern(String pattern) {
+        DateTimeFormatter formatter = PRESET_FORMATTERS.get(pattern);
+        if (formatter != null) {
+            PRESET_HIT_COUNT.increment();
+            return formatter;
+        }
+        return FORMATTER_CACHE.get(pattern, DateTimeFormatters::createFormatter);
+    }
+
+    /**
+     * 获取解析日期用的格式器，缺少日时默认为每月第一天
+     *
+     * @param pattern 模式
+     * @return 格式器
+     */
+    public static DateTimeFormatter ofDatePattern(String pattern) {
+        DateTimeFormatter formatter = PRESET_DATE_FORMATTERS.get(pattern);
+        if (formatter != null) {
+            PRESET_HIT_COUNT.increment();
+            return formatter;
+        }
+        return DATE_FORMATTER_CACHE.get(pattern, DateTimeFormatters::createDateFormatter);
+    }
+
+    /**
+     * 是否为DateTimePattern中预编译的模式
+     */
+    public static boolean isPreset(String pattern) {
+        return PRESET_FORMATTERS.containsKey(pattern);
+    }
+
+    /**
+     * 命中统计，预编译模式计为命中
+     */
+    public static CacheStats stats() {
+        CacheStats formatterStats = FORMATTER_CACHE.stats();
+        CacheStats dateFormatterStats = DATE_FORMATTER_CACHE.stats();
+        return new CacheStats(PRESET_HIT_COUNT.sum() + formatterStats.getHitCount() + dateFormatterStats.getHitCount(),
+                              formatterStats.getMissCount() + dateFormatterStats.getMissCount(),
+                              formatterStats.getEvictionCount() + dateFormatterStats.getEvictionCount(),
+                              formatterStats.getSize() + dateFormatterStats.getSize());
+    }
+
+    /**
+     * 清空自定义模式缓存及统计
+     */
+    public static void clear() {
+        FORMATTER_CACHE.clear();
+        DATE_FORMATTER_CACHE.clear();
+        FORMATTER_CACHE.resetStats();
+        DATE_FORMATTER_CACHE.resetStats();
+        PRESET_HIT_COUNT.reset();
+    }
+
+    private static DateTimeFormatter createFormatter(String pattern) {
+        return DateTimeFormatter.ofPattern(pattern);
+    }
+
+    private static DateTimeFormatter createDateFormatter(String pattern) {
+        return new DateTimeFormatterBuilder().appendPattern(pattern)
+                                             .parseDefaulting(ChronoField.DAY_OF_MONTH, DEFAULT_DAY_OF_MONTH)
+                                             .toFormatter();
+    }
+}
@@ -0,0 +1,279 @@
+package com.pci.mics.commons.util;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+
+/**
+ * 定长日期时间布局，描述DateTimePattern中各模式或自定义模式的字段位置
+ * 年4位、月日时分秒2位、毫秒3位，其余字符为分隔符
+ */
+public final class DateTimeLayout {
+
+    public static final DateTimeLayout LONG_DATE_MONTH = new DateTimeLayout(DateTimePattern.LONG_DATE_MONTH_PATTERN, 0);
+    public static final DateTimeLayout LONG_DATE = new DateTimeLayout(DateTimePattern.LONG_DATE_PATTERN, 1);
+
+    public static final DateTimeLayout EN_DATE_MONTH = new DateTimeLayout(DateTimePattern.EN_DATE_MONTH_PATTERN, 2);
+    public static final DateTimeLayout EN_DATE = new DateTimeLayout(DateTimePattern.EN_DATE_PATTERN, 3);
+
+    public static final DateTimeLayout SHORT_DATE_MONTH =
+            new DateTimeLayout(DateTimePattern.SHORT_DATE_MONTH_PATTERN, 4);
+    public static final DateTimeLayout SHORT_DATE = new DateTimeLayout(DateTimePattern.SHORT_DATE_PATTERN, 5);
+
+    public static final DateTimeLayout LONG_DATETIME_SECOND =
+            new DateTimeLayout(DateTimePattern.LONG_DATETIME_SECOND_PATTERN, 6);
+    public static final DateTimeLayout LONG_DATETIME_MINUTE =
+            new DateTimeLayout(DateTimePattern.LONG_DATETIME_MINUTE_PATTERN, 7);
+    public static final DateTimeLayout LONG_DATETIME = new DateTimeLayout(DateTimePattern.LONG_DATETIME_PATTERN, 8);
+
+    public static final DateTimeLayout EN_DATETIME_SECOND =
+            new DateTimeLayout(DateTimePattern.EN_DATETIME_SECOND_PATTERN, 9);
+    public static final DateTimeLayout EN_DATETIME_MINUTE =
+            new DateTimeLayout(DateTimePattern.EN_DATETIME_MINUTE_PATTERN, 10);
+    public static final DateTimeLayout EN_DATETIME = new DateTimeLayout(DateTimePattern.EN_DATETIME_PATTERN, 11);
+
+    public static final DateTimeLayout SHORT_DATETIME_SECOND =
+            new DateTimeLayout(DateTimePattern.SHORT_DATETIME_SECOND_PATTERN, 12);
+    public static final DateTimeLayout SHORT_DATETIME_MINUTE =
+            new DateTimeLayout(DateTimePattern.SHORT_DATETIME_MINUTE_PATTERN, 13);
+    public static final DateTimeLayout SHORT_DATETIME = new DateTimeLayout(DateTimePattern.SHORT_DATETIME_PATTERN, 14);
+
+    /**
+     * DateTimeFormatter.ofPattern中有特殊含义的非字母字符
+     */
+    private static final String RESERVED_CHARS = "[]{}#'";
+
+    /**
+     * 预置布局的个数
+     */
+    static final int PRESET_COUNT = 15;
+
+    private static final Map<String, DateTimeLayout> LAYOUTS;
+    /**
+     * 自定义模式的布局，不受支持的模式记为空
+     */
+    private static final BoundedCache<String, Optional<DateTimeLayout>> CUSTOM_LAYOUTS = new BoundedCache<>(256);
+
+    static {
+        Map<String, DateTimeLayout> layouts = new LinkedHashMap<>();
+        for (DateTimeLayout layout : new DateTimeLayout[]{
+                LONG_DATE_MONTH, LONG_DATE, EN_DATE_MONTH, EN_DATE, SHORT_DATE_MONTH, SHORT_DATE,
+                LONG_DATETIME_SECOND, LONG_DATETIME_MINUTE, LONG_DATETIME,
+                EN_DATETIME_SECOND, EN_DATETIME_MINUTE, EN_DATETIME,
+                SHORT_DATETIME_SECOND, SHORT_DATETIME_MINUTE, SHORT_DATETIME}) {
+            layouts.put(layout.pattern, layout);
+        }
+        LAYOUTS = Collections.unmodifiableMap(layouts);
+    }
+
+    private final String pattern;
+    private final char[] template;
+    /**
+     * 预置布局按声明顺序从0编号，自定义布局为-1
+     */
+    final int index;
+    final int yearOffset;
+    final int monthOffset;
+    final int dayOffset;
+    final int hourOffset;
+    final int minuteOffset;
+    final int secondOffset;
+    final int milliOffset;
+
+    private DateTimeLayout(String pattern) {
+        this(pattern, -1);
+    }
+
+    private DateTimeLayout(String pattern, int index) {
+        this.pattern = pattern;
+        this.index = index;
+        this.template = pattern.toCharArray();
+        int year = -1;
+        int month = -1;
+        int day = -1;
+        int hour = -1;
+        int minute = -1;
+        int second = -1;
+        int milli = -1;
+        int i = 0;
+        while (i < template.length) {
+            char c = template[i];
+            int start = i;
+            while (i < template.length && template[i] == c) {
+                i++;
+            }
+            int width = i - start;
+            switch (c) {
+                case 'y':
+                    year = checkWidth(c, width, 4, start, year);
+                    break;
+                case 'M':
+                    month = checkWidth(c, width, 2, start, month);
+                    break;
+                case 'd':
+                    day = checkWidth(c, width, 2, start, day);
+                    break;
+                case 'H':
+                    hour = checkWidth(c, width, 2, start, hour);
+                    break;
+                case 'm':
+                    minute = checkWidth(c, width, 2, start, minute);
+                    break;
+                case 's':
+                    second = checkWidth(c, width, 2, start, second);
+                    break;
+                case 'S':
+                    milli = checkWidth(c, width, 3, start, milli);
+                    break;
+                default:
+                    if (Character.isLetter(c) || width != 1 || RESERVED_CHARS.indexOf(c) >= 0) {
+                        throw new IllegalArgumentException("Unsupported pattern: " + pattern);
+                    }
+                    break;
+            }
+        }
+        if (year < 0 || month < 0 || (day < 0 && hour >= 0) || (hour < 0 && minute >= 0)
+                || (minute < 0 && second >= 0) || (second < 0 && milli >= 0)) {
+            throw new IllegalArgumentException("Pattern must contain year and month with contiguous smaller fields: " + pattern);
+        }
+        this.yearOffset = year;
+        this.monthOffset = month;
+        this.dayOffset = day;
+        this.hourOffset = hour;
+        this.minuteOffset = minute;
+        this.secondOffset = second;
+        this.milliOffset = milli;
+    }
+
+    private int checkWidth(char letter, int width, int expected, int offset, int previous) {
+        if (width != expected || previous >= 0) {
+            throw new IllegalArgumentException("Unsupported width of '" + letter + "' in pattern: " + pattern);
+        }
+        return offset;
+    }
+
+    /**
+     * 返回模式对应的布局，非DateTimePattern中的模式返回null
+     *
+     * @param pattern 模式
+     */
+    public static DateTimeLayout forPattern(String pattern) {
+        return pattern == null ? null : LAYOUTS.get(pattern);
+    }
+
+    /**
+     * 返回模式对应的布局，DateTimePattern中的模式返回预置实例，其余模式新建
+     * 自定义模式仅支持yyyy、MM、dd、HH、mm、ss、SSS及单个非字母分隔符，且需包含年月，
+     * 时间字段需从高位到低位连续，如"dd.MM.yyyy HH:mm"
+     *
+     * @param pattern 模式
+     * @throws IllegalArgumentException 模式不受支持
+     */
+    public static DateTimeLayout of(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            throw new IllegalArgumentException("pattern must not be empty");
+        }
+        DateTimeLayout layout = LAYOUTS.get(pattern);
+        return layout != null ? layout : new DateTimeLayout(pattern);
+    }
+
+    /**
+     * 返回模式对应的布局，不受支持的模式返回null；结果被缓存，不受支持的模式也不会重复抛出异常
+     *
+     * @param pattern 模式
+     */
+    static DateTimeLayout lookup(String pattern) {
+        if (pattern == null || pattern.isEmpty()) {
+            return null;
+        }
+        DateTimeLayout layout = LAYOUTS.get(pattern);
+        if (layout != null) {
+            return layout;
+        }
+        return CUSTOM_LAYOUTS.get(pattern, p -> {
+            try {
+                return Optional.of(new DateTimeLayout(p));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * DateTimePattern中全部模式的布局
+     */
+    public static Collection<DateTimeLayout> presets() {
+        return LAYOUTS.values();
+    }
+
+    /**
+     * 模式字符串
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 格式化后的固定长度
+     */
+    public int length() {
+        return template.length;
+    }
+
+    /**
+     * 是否包含时间字段
+     */
+    public boolean hasTime() {
+        return hourOffset >= 0;
+    }
+
+    /**
+     * 是否包含日字段
+     */
+    public boolean hasDay() {
+        return dayOffset >= 0;
+    }
+
+    /**
+     * 最小字段的精度
+     */
+    public ChronoUnit getPrecision() {
+        if (milliOffset >= 0) {
+            return ChronoUnit.MILLIS;
+        }
+        if (secondOffset >= 0) {
+            return ChronoUnit.SECONDS;
+        }
+        if (minuteOffset >= 0) {
+            return ChronoUnit.MINUTES;
+        }
+        if (hourOffset >= 0) {
+            return ChronoUnit.HOURS;
+        }
+        return dayOffset >= 0 ? ChronoUnit.DAYS : ChronoUnit.MONTHS;
+    }
+
+    /**
+     * 指定位置的分隔符
+     */
+    char charAt(int index) {
+        return template[index];
+    }
+
+    /**
+     * 模板字符，字段位置为模式字母
+     */
+    char[] template() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,166 @@
+package com.pci.mics.commons.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * DateTimeUtils的可选度量
+ * 由系统属性pci.commons.datetime.metrics=true开启，启动后不可更改；关闭时各入口只多一次静态常量判断
+ * 每次调用计数，按采样间隔(pci.commons.datetime.metrics.sampleInterval，默认64，取2的幂)记录耗时与分配字节
+ */
+public final class DateTimeMetrics {
+
+    public static final String ENABLED_PROPERTY = "pci.commons.datetime.metrics";
+    public static final String SAMPLE_INTERVAL_PROPERTY = "pci.commons.datetime.metrics.sampleInterval";
+
+    /**
+     * 是否开启度量
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * 传入DateTimeFormatter的重载使用的模式名
+     */
+    public static final String FORMATTER_KEY = "<formatter>";
+
+    private static final int DEFAULT_SAMPLE_INTERVAL = 64;
+    private static final int SAMPLE_MASK = Integer.highestOneBit(
+            Math.max(1, Integer.getInteger(SAMPLE_INTERVAL_PROPERTY, DEFAULT_SAMPLE_INTERVAL))) - 1;
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+
+    private static final DateTimeMetricsRegistry REGISTRY = new DateTimeMetricsRegistry();
+    private static volatile DateTimeMetricsListener listener = REGISTRY;
+
+    /**
+     * 操作类型
+     */
+    public enum Operation {
+        PARSE_DATE,
+        PARSE_DATE_TIME,
+        FORMAT_DATE,
+        FORMAT_DATE_TIME,
+        /**
+         * getCurLocalDateStr
+         */
+        CURRENT_DATE,
+        /**
+         * getCurLocalDateTimeStr
+         */
+        CURRENT_DATE_TIME
+    }
+
+    private DateTimeMetrics() {
+    }
+
+    /**
+     * 默认的注册表
+     */
+    public static DateTimeMetricsRegistry getRegistry() {
+        return REGISTRY;
+    }
+
+    public static DateTimeMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * 替换监听器，如桥接到Micrometer等度量库；恢复默认传入getRegistry()
+     *
+     * @param listener 监听器
+     */
+    public static void setListener(DateTimeMetricsListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+        DateTimeMetrics.listener = listener;
+    }
+
+    /**
+     * 格式器缓存的统计
+     */
+    public static CacheStats formatterCacheStats() {
+        return DateTimeFormatters.stats();
+    }
+
+    /**
+     * 执行并记录一次调用，异常视为失败并原样抛出
+     */
+    static <T> T record(Operation operation, String pattern, Supplier<T> call) {
+        return record(operation, pattern, call, false);
+    }
+
+    /**
+     * 执行并记录一次try系列调用，返回null视为失败
+     */
+    static <T> T recordTry(Operation operation, String pattern, Supplier<T> call) {
+        return record(operation, pattern, call, true);
+    }
+
+    private static <T> T record(Operation operation, String pattern, Supplier<T> call, boolean nullIsFailure) {
+        if ((ThreadLocalRandom.current().nextInt() & SAMPLE_MASK) != 0) {
+            T result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                notify(operation, pattern, false, -1L, -1L);
+                throw e;
+            }
+            notify(operation, pattern, !nullIsFailure || result != null, -1L, -1L);
+            return result;
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocated = allocatedBytes(threadId);
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            long latency = System.nanoTime() - start;
+            notify(operation, pattern, false, latency, allocatedSince(threadId, allocated));
+            throw e;
+        }
+        long latency = System.nanoTime() - start;
+        notify(operation, pattern, !nullIsFailure || result != null, latency, allocatedSince(threadId, allocated));
+        return result;
+    }
+
+    /**
+     * 监听器的异常不影响业务调用
+     */
+    private static void notify(Operation operation, String pattern, boolean success,
+                               long latencyNanos, long allocatedBytes) {
+        try {
+            listener.onCall(operation, pattern, success, latencyNanos, allocatedBytes);
+        } catch (RuntimeException ignored) {
+            // 度量失败时忽略
+        }
+    }
+
+    private static long allocatedBytes(long threadId) {
+        return ALLOCATION_SUPPORTED
+                ? ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(threadId)
+                : -1L;
+    }
+
+    private static long allocatedSince(long threadId, long before) {
+        if (before < 0) {
+            return -1L;
+        }
+        long after = allocatedBytes(threadId);
+        return after < before ? -1L : after - before;
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            return THREAD_BEAN instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) THREAD_BEAN).isThreadAllocatedMemorySupported()
+                    && ((com.sun.management.ThreadMXBean) THREAD_BEAN).isThreadAllocatedMemoryEnabled();
+        } catch (LinkageError | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.pci.mics.commons.util;
+
+/**
+ * DateTimeUtils解析与格式化调用的监听器，每次调用回调一次
+ * 在调用线程上同步执行，实现需线程安全且足够轻量
+ */
+public interface DateTimeMetricsListener {
+
+    /**
+     * @param operation      操作类型
+     * @param pattern        模式，传入格式器的重载为DateTimeMetrics.FORMATTER_KEY
+     * @param success        是否成功，抛出异常或try系列方法返回null视为失败
+     * @param latencyNanos   耗时纳秒，未被采样时为-1
+     * @param allocatedBytes 当前线程分配的字节数，未被采样或JVM不支持时为-1
+     */
+    void onCall(DateTimeMetrics.Operation operation, String pattern, boolean success,
+                long latencyNanos, long allocatedBytes);
+}
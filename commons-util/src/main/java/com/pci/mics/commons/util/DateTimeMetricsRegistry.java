@@ -0,0 +1,143 @@
+package com.pci.mics.commons.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 默认的度量注册表，按操作与模式分别计数
+ * 计数器均为LongAdder，多线程并发累加时各自写入不同的单元，互不争用
+ * 耗时直方图按2的幂分桶，第i个桶为[2^i, 2^(i+1))纳秒，第0个桶含0与1
+ * 不同模式数超过上限后，新模式合并记在OTHER_PATTERNS下，防止动态拼接的模式撑爆内存
+ */
+public final class DateTimeMetricsRegistry implements DateTimeMetricsListener {
+
+    /**
+     * 每种操作最多单独记录的模式数
+     */
+    public static final int MAXIMUM_PATTERNS = 256;
+    /**
+     * 超出上限的模式
+     */
+    public static final String OTHER_PATTERNS = "<other>";
+    /**
+     * 模式为null时的记录名
+     */
+    public static final String NULL_PATTERN = "<null>";
+
+    /**
+     * 直方图桶数，最后一个桶收纳2^39纳秒(约9分钟)以上的耗时
+     */
+    static final int BUCKET_COUNT = 40;
+
+    /**
+     * 按Operation.ordinal()排列
+     */
+    private final List<Map<String, Counters>> byOperation;
+
+    public DateTimeMetricsRegistry() {
+        DateTimeMetrics.Operation[] operations = DateTimeMetrics.Operation.values();
+        byOperation = new ArrayList<>(operations.length);
+        for (int i = 0; i < operations.length; i++) {
+            byOperation.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void onCall(DateTimeMetrics.Operation operation, String pattern, boolean success,
+                       long latencyNanos, long allocatedBytes) {
+        Counters counters = counters(operation, pattern);
+        counters.calls.increment();
+        if (!success) {
+            counters.failures.increment();
+        }
+        if (latencyNanos >= 0) {
+            counters.latencyHistogram[bucketOf(latencyNanos)].increment();
+            counters.latencyNanos.add(latencyNanos);
+        }
+        if (allocatedBytes >= 0) {
+            counters.allocationSamples.increment();
+            counters.allocatedBytes.add(allocatedBytes);
+        }
+    }
+
+    /**
+     * 指定操作与模式的统计，无调用时返回null
+     *
+     * @param operation 操作类型
+     * @param pattern   模式
+     */
+    public PatternMetrics get(DateTimeMetrics.Operation operation, String pattern) {
+        Counters counters = byOperation.get(operation.ordinal()).get(pattern == null ? NULL_PATTERN : pattern);
+        return counters == null ? null : counters.snapshot(operation);
+    }
+
+    /**
+     * 全部统计的快照，按操作排列
+     */
+    public List<PatternMetrics> snapshot() {
+        List<PatternMetrics> metrics = new ArrayList<>();
+        for (DateTimeMetrics.Operation operation : DateTimeMetrics.Operation.values()) {
+            for (Counters counters : byOperation.get(operation.ordinal()).values()) {
+                metrics.add(counters.snapshot(operation));
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        for (Map<String, Counters> counters : byOperation) {
+            counters.clear();
+        }
+    }
+
+    private Counters counters(DateTimeMetrics.Operation operation, String pattern) {
+        String key = pattern == null ? NULL_PATTERN : pattern;
+        Map<String, Counters> map = byOperation.get(operation.ordinal());
+        // 先无锁读取，命中时避免computeIfAbsent加锁
+        Counters counters = map.get(key);
+        if (counters != null) {
+            return counters;
+        }
+        if (map.size() >= MAXIMUM_PATTERNS) {
+            key = OTHER_PATTERNS;
+        }
+        return map.computeIfAbsent(key, Counters::new);
+    }
+
+    static int bucketOf(long nanos) {
+        int bucket = 63 - Long.numberOfLeadingZeros(nanos);
+        return bucket < 0 ? 0 : Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    private static final class Counters {
+        private final String pattern;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final LongAdder[] latencyHistogram = new LongAdder[BUCKET_COUNT];
+        private final LongAdder allocationSamples = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        private Counters(String pattern) {
+            this.pattern = pattern;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                latencyHistogram[i] = new LongAdder();
+            }
+        }
+
+        private PatternMetrics snapshot(DateTimeMetrics.Operation operation) {
+            long[] histogram = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                histogram[i] = latencyHistogram[i].sum();
+            }
+            return new PatternMetrics(operation, pattern, calls.sum(), failures.sum(), latencyNanos.sum(), histogram,
+                    allocationSamples.sum(), allocatedBytes.sum());
+        }
+    }
+}
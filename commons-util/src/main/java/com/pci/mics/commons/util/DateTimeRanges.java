@@ -0,0 +1,149 @@
+package com.pci.mics.commons.util;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * 惰性的日期时间区间序列，均为[start, end)
+ * 第i个元素由start加i个步长直接算出，不依赖前一个元素：序列基于LongStream.range，
+ * 其Spliterator按下标二分且大小已知，并行流可均匀拆分；按月、年步进时月末日期不会逐步漂移
+ */
+public final class DateTimeRanges {
+
+    private DateTimeRanges() {
+    }
+
+    /**
+     * 逐日的日期，元素个数等于DateTimeUtils.periodDays(start, end)
+     *
+     * @param start 起始日期(含)
+     * @param end   结束日期(不含)，不晚于start时为空
+     */
+    public static Stream<LocalDate> dates(LocalDate start, LocalDate end) {
+        return dates(start, end, 1, ChronoUnit.DAYS);
+    }
+
+    /**
+     * 按日历单位步进的日期，第i个元素为start.plus(i * amount, unit)
+     * 按月步进时元素个数为periodMonths(start, end)/amount，end不在步长整数倍上时再加一
+     *
+     * @param start  起始日期(含)
+     * @param end    结束日期(不含)
+     * @param amount 步长，大于0
+     * @param unit   日期单位，如DAYS、WEEKS、MONTHS、YEARS
+     * @throws IllegalArgumentException 步长不合法或单位不是日期单位
+     */
+    public static Stream<LocalDate> dates(LocalDate start, LocalDate end, long amount, ChronoUnit unit) {
+        if (unit == null || !unit.isDateBased()) {
+            throw new IllegalArgumentException("unit must be date based: " + unit);
+        }
+        return range(start, end, amount, unit);
+    }
+
+    /**
+     * 按单位步进的日期时间，如每5分钟：dateTimes(start, end, 5, ChronoUnit.MINUTES)
+     *
+     * @param start  起始(含)
+     * @param end    结束(不含)
+     * @param amount 步长，大于0
+     * @param unit   单位
+     * @throws IllegalArgumentException 步长不合法
+     */
+    public static Stream<LocalDateTime> dateTimes(LocalDateTime start, LocalDateTime end,
+                                                  long amount, ChronoUnit unit) {
+        if (unit == null || unit == ChronoUnit.FOREVER) {
+            throw new IllegalArgumentException("Unsupported unit: " + unit);
+        }
+        return range(start, end, amount, unit);
+    }
+
+    /**
+     * 按固定时长步进的日期时间
+     *
+     * @param start 起始(含)
+     * @param end   结束(不含)
+     * @param step  步长，大于0
+     * @throws IllegalArgumentException 步长不合法
+     */
+    public static Stream<LocalDateTime> dateTimes(LocalDateTime start, LocalDateTime end, Duration step) {
+        if (step == null || step.isNegative() || step.isZero()) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+        return step.getNano() == 0
+                ? range(start, end, step.getSeconds(), ChronoUnit.SECONDS)
+                : range(start, end, step.toNanos(), ChronoUnit.NANOS);
+    }
+
+    /**
+     * 逐日的纪元日
+     *
+     * @param start 起始日期(含)
+     * @param end   结束日期(不含)
+     */
+    public static LongStream epochDays(LocalDate start, LocalDate end) {
+        return LongStream.range(start.toEpochDay(), end.toEpochDay());
+    }
+
+    /**
+     * 逐日的yyyyMMdd整数，年份需在0001-9999之间
+     *
+     * @param start 起始日期(含)
+     * @param end   结束日期(不含)
+     */
+    public static IntStream dateInts(LocalDate start, LocalDate end) {
+        return epochDays(start, end).mapToInt(CivilCalendar::toDateInt);
+    }
+
+    /**
+     * 按固定毫秒步进的纪元毫秒，第i个元素为start + i * stepMillis
+     *
+     * @param start      起始毫秒(含)
+     * @param end        结束毫秒(不含)
+     * @param stepMillis 步长，大于0
+     * @throws IllegalArgumentException 步长不合法
+     */
+    public static LongStream epochMillis(long start, long end, long stepMillis) {
+        if (stepMillis <= 0) {
+            throw new IllegalArgumentException("stepMillis must be positive: " + stepMillis);
+        }
+        if (end <= start) {
+            return LongStream.empty();
+        }
+        long count = (Math.subtractExact(end, start) - 1) / stepMillis + 1;
+        return LongStream.range(0, count).map(i -> start + i * stepMillis);
+    }
+
+    /**
+     * 区间内的元素个数
+     */
+    static <T extends Temporal & Comparable<? super T>> long count(T start, T end, long amount, TemporalUnit unit) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("amount must be positive: " + amount);
+        }
+        if (start.compareTo(end) >= 0) {
+            return 0;
+        }
+        // 前q个元素必在区间内，第q个(从0起)是否在区间内取决于end是否恰在步长整数倍上
+        long q = unit.between(start, end) / amount;
+        @SuppressWarnings("unchecked")
+        T last = (T) start.plus(q * amount, unit);
+        return last.compareTo(end) < 0 ? q + 1 : q;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Temporal & Comparable<? super T>> Stream<T> range(T start, T end, long amount,
+                                                                               TemporalUnit unit) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("start and end must not be null");
+        }
+        long count = count(start, end, amount, unit);
+        return LongStream.range(0, count).mapToObj(i -> (T) start.plus(i * amount, unit));
+    }
+}
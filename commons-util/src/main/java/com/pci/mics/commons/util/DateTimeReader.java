@@ -0,0 +1,437 @@
+package com.pci.mics.commons.util;
+
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * 定长布局的解析引擎
+ * 直接从CharSequence读取数字并校验范围，结果与DateTimeFormatter.ofPattern(layout.getPattern())一致：
+ * 日超出当月天数时取当月最后一天，24:00(分秒毫秒均为0)视为次日零点
+ * 非定长或不合法的输入交由DateTimeFormatter处理，以抛出相同的DateTimeParseException
+ * 按日期时间解析yyyyMMddHHmmssSSS的非定长输入时，与DateTimeUtils.toLocalDateTime一样
+ * 先经shortPatternToLongPattern改写，再按yyyy-MM-dd HH:mm:ss.SSS解析
+ */
+public final class DateTimeReader {
+    /**
+     * 解析失败
+     */
+    static final long INVALID = -1L;
+
+    private static final int YEAR_SHIFT = 36;
+    private static final int MONTH_SHIFT = 32;
+    private static final int DAY_SHIFT = 27;
+    private static final int HOUR_SHIFT = 22;
+    private static final int MINUTE_SHIFT = 16;
+    private static final int SECOND_SHIFT = 10;
+
+    private static final int MAX_MONTH = 12;
+    private static final int MAX_DAY = 31;
+    private static final int MAX_HOUR = 23;
+    private static final int MAX_MINUTE = 59;
+    private static final int MAX_SECOND = 59;
+    private static final int END_OF_DAY_HOUR = 24;
+    private static final int NANOS_PER_MILLI = 1000_000;
+    /**
+     * shortPatternToLongPattern在这些下标的字符之后插入分隔符
+     */
+    private static final int SHORT_YEAR_END = 3;
+    private static final int SHORT_DATE_END = 7;
+    private static final int SHORT_SECOND_END = 13;
+
+    private DateTimeReader() {
+    }
+
+    /**
+     * 解析日期时间，布局需包含时间字段
+     *
+     * @param text   文本
+     * @param layout 布局
+     */
+    public static LocalDateTime parseLocalDateTime(CharSequence text, DateTimeLayout layout) {
+        return parseLocalDateTime(text, 0, text.length(), layout);
+    }
+
+    /**
+     * 解析文本中指定区间的日期时间，布局需包含时间字段
+     *
+     * @param text   文本
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout 布局
+     */
+    public static LocalDateTime parseLocalDateTime(CharSequence text, int offset, int length, DateTimeLayout layout) {
+        long fields = layout.hasTime() ? parseFields(text, offset, length, layout) : INVALID;
+        if (fields == INVALID && layout == DateTimeLayout.SHORT_DATETIME) {
+            return LocalDateTime.parse(shortPatternToLongPattern(text.subSequence(offset, offset + length)),
+                                       DateTimeFormatters.ofPattern(DateTimeLayout.LONG_DATETIME.getPattern()));
+        }
+        if (fields == INVALID) {
+            return LocalDateTime.parse(text.subSequence(offset, offset + length),
+                                       DateTimeFormatters.ofPattern(layout.getPattern()));
+        }
+        return toLocalDateTime(fields);
+    }
+
+    /**
+     * 解析日期，缺少日时默认为每月第一天
+     *
+     * @param text   文本
+     * @param layout 布局
+     */
+    public static LocalDate parseLocalDate(CharSequence text, DateTimeLayout layout) {
+        return parseLocalDate(text, 0, text.length(), layout);
+    }
+
+    /**
+     * 解析文本中指定区间的日期，缺少日时默认为每月第一天
+     *
+     * @param text   文本
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout 布局
+     */
+    public static LocalDate parseLocalDate(CharSequence text, int offset, int length, DateTimeLayout layout) {
+        long fields = parseFields(text, offset, length, layout);
+        if (fields == INVALID) {
+            return LocalDate.parse(text.subSequence(offset, offset + length),
+                                   DateTimeFormatters.ofDatePattern(layout.getPattern()));
+        }
+        return LocalDate.of(year(fields), month(fields), day(fields));
+    }
+
+    /**
+     * 不抛异常的解析，结果写入result
+     * 判定为合法的输入与parseLocalDate完全一致；按日期时间使用结果时见tryParseDateTime
+     *
+     * @param text   文本，可为null
+     * @param layout 布局
+     * @param result 结果，可重复使用
+     * @return 是否成功
+     */
+    public static boolean tryParse(CharSequence text, DateTimeLayout layout, ParseResult result) {
+        return tryParse(text, 0, text == null ? 0 : text.length(), layout, result);
+    }
+
+    /**
+     * 不抛异常地解析文本中指定区间，结果写入result
+     * 定长且分隔符匹配的输入直接校验字段；其余输入(如带符号的5位以上年份)经DateTimeFormatter.parseUnresolved
+     * 做语法解析，再按ResolverStyle.SMART的规则校验，均不创建异常
+     *
+     * @param text   文本，可为null
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout 布局
+     * @param result 结果，可重复使用
+     * @return 是否成功
+     */
+    public static boolean tryParse(CharSequence text, int offset, int length, DateTimeLayout layout,
+                                   ParseResult result) {
+        result.reset(text, offset, length, layout);
+        if (text == null || length == 0) {
+            return result.fail(ParseResult.Reason.EMPTY, 0, 0);
+        }
+        if (length == layout.length() && matchesShape(text, offset, layout)) {
+            int year = read(text, offset + layout.yearOffset, 4);
+            int month = layout.monthOffset >= 0 ? read(text, offset + layout.monthOffset, 2) : 1;
+            int day = layout.dayOffset >= 0 ? read(text, offset + layout.dayOffset, 2) : 1;
+            int hour = layout.hourOffset >= 0 ? read(text, offset + layout.hourOffset, 2) : 0;
+            int minute = layout.minuteOffset >= 0 ? read(text, offset + layout.minuteOffset, 2) : 0;
+            int second = layout.secondOffset >= 0 ? read(text, offset + layout.secondOffset, 2) : 0;
+            int millis = layout.milliOffset >= 0 ? read(text, offset + layout.milliOffset, 3) : 0;
+            return resolve(result, layout, 0, year, month, day, hour, minute, second,
+                           (long) millis * NANOS_PER_MILLI);
+        }
+        return tryParseUnresolved(text, offset, length, layout, result);
+    }
+
+    /**
+     * 不抛异常地按日期时间解析，判定为合法的输入与parseLocalDateTime完全一致
+     * 与tryParse的区别仅在于yyyyMMddHHmmssSSS的非定长输入：改写为yyyy-MM-dd HH:mm:ss.SSS后解析，
+     * 此时result的文本、布局及出错位置均为改写后的
+     *
+     * @param text   文本，可为null
+     * @param layout 布局
+     * @param result 结果，可重复使用
+     * @return 是否成功
+     */
+    public static boolean tryParseDateTime(CharSequence text, DateTimeLayout layout, ParseResult result) {
+        return tryParseDateTime(text, 0, text == null ? 0 : text.length(), layout, result);
+    }
+
+    /**
+     * 不抛异常地按日期时间解析文本中指定区间，规则同tryParseDateTime(CharSequence, DateTimeLayout, ParseResult)
+     *
+     * @param text   文本，可为null
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout 布局
+     * @param result 结果，可重复使用
+     * @return 是否成功
+     */
+    public static boolean tryParseDateTime(CharSequence text, int offset, int length, DateTimeLayout layout,
+                                           ParseResult result) {
+        if (layout != DateTimeLayout.SHORT_DATETIME || text == null || length == 0
+                || length == layout.length() && matchesShape(text, offset, layout)) {
+            return tryParse(text, offset, length, layout, result);
+        }
+        String expanded = shortPatternToLongPattern(text.subSequence(offset, offset + length));
+        result.reset(expanded, 0, expanded.length(), DateTimeLayout.LONG_DATETIME);
+        return tryParseUnresolved(expanded, 0, expanded.length(), DateTimeLayout.LONG_DATETIME, result);
+    }
+
+    /**
+     * 将yyyyMMddHHmmssSSS形式的文本逐位改写为yyyy-MM-dd HH:mm:ss.SSS形式，不校验内容，
+     * 规则同DateTimeUtils.shortPatternToLongPattern
+     */
+    static String shortPatternToLongPattern(CharSequence text) {
+        int length = text.length();
+        StringBuilder sb = new StringBuilder(length + 6);
+        for (int i = 0; i < length; i++) {
+            sb.append(text.charAt(i));
+            if ((i & 1) == 1 && i != length - 1) {
+                if (i >= SHORT_YEAR_END && i < SHORT_DATE_END) {
+                    sb.append('-');
+                } else if (i == SHORT_DATE_END) {
+                    sb.append(' ');
+                } else if (i > SHORT_DATE_END && i < SHORT_SECOND_END) {
+                    sb.append(':');
+                } else if (i == SHORT_SECOND_END) {
+                    sb.append('.');
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean tryParseUnresolved(CharSequence text, int offset, int length, DateTimeLayout layout,
+                                              ParseResult result) {
+        CharSequence region = offset == 0 && length == text.length() ? text : text.subSequence(offset, offset + length);
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor parsed = DateTimeFormatters.ofPattern(layout.getPattern()).parseUnresolved(region, position);
+        if (parsed == null) {
+            return result.fail(ParseResult.Reason.INVALID_TEXT, position.getErrorIndex(), 0);
+        }
+        if (position.getIndex() < length) {
+            return result.fail(ParseResult.Reason.TRAILING_TEXT, position.getIndex(), 0);
+        }
+        return resolve(result, layout, length - layout.length(), parsed.getLong(ChronoField.YEAR_OF_ERA),
+                       field(parsed, ChronoField.MONTH_OF_YEAR, 1), field(parsed, ChronoField.DAY_OF_MONTH, 1),
+                       field(parsed, ChronoField.HOUR_OF_DAY, 0), field(parsed, ChronoField.MINUTE_OF_HOUR, 0),
+                       field(parsed, ChronoField.SECOND_OF_MINUTE, 0), field(parsed, ChronoField.NANO_OF_SECOND, 0));
+    }
+
+    private static long field(TemporalAccessor parsed, ChronoField field, long defaultValue) {
+        return parsed.isSupported(field) ? parsed.getLong(field) : defaultValue;
+    }
+
+    /**
+     * 按ResolverStyle.SMART的规则校验字段并写入result，年份范围与YearOfEra一致
+     *
+     * @param extra 年份超出4位的字符数，用于换算出错位置
+     */
+    private static boolean resolve(ParseResult result, DateTimeLayout layout, int extra, long year, long month,
+                                   long day, long hour, long minute, long second, long nano) {
+        if (year < 1 || year > Year.MAX_VALUE) {
+            return result.fail(ParseResult.Reason.INVALID_YEAR, layout.yearOffset, year);
+        }
+        if (month < 1 || month > MAX_MONTH) {
+            return result.fail(ParseResult.Reason.INVALID_MONTH, position(layout, layout.monthOffset, extra), month);
+        }
+        if (day < 1 || day > MAX_DAY) {
+            return result.fail(ParseResult.Reason.INVALID_DAY, position(layout, layout.dayOffset, extra), day);
+        }
+        if (minute > MAX_MINUTE) {
+            return result.fail(ParseResult.Reason.INVALID_MINUTE, position(layout, layout.minuteOffset, extra), minute);
+        }
+        if (second > MAX_SECOND) {
+            return result.fail(ParseResult.Reason.INVALID_SECOND, position(layout, layout.secondOffset, extra), second);
+        }
+        boolean endOfDay = hour == END_OF_DAY_HOUR && minute == 0 && second == 0 && nano == 0;
+        if (hour > MAX_HOUR && !endOfDay) {
+            return result.fail(ParseResult.Reason.INVALID_HOUR, position(layout, layout.hourOffset, extra), hour);
+        }
+        int y = (int) year;
+        int m = (int) month;
+        int d = (int) Math.min(day, CivilCalendar.lengthOfMonth(y, m));
+        if (endOfDay) {
+            hour = 0;
+            if (d < CivilCalendar.lengthOfMonth(y, m)) {
+                d++;
+            } else if (m < MAX_MONTH) {
+                d = 1;
+                m++;
+            } else if (y < Year.MAX_VALUE) {
+                d = 1;
+                m = 1;
+                y++;
+            } else {
+                return result.fail(ParseResult.Reason.INVALID_YEAR, layout.yearOffset, year + 1);
+            }
+        }
+        return result.succeed(y, m, d, (int) hour, (int) minute, (int) second, (int) nano);
+    }
+
+    /**
+     * 字段在输入中的位置，位于年份之后的字段按年份多出的字符数后移
+     */
+    private static int position(DateTimeLayout layout, int fieldOffset, int extra) {
+        return fieldOffset > layout.yearOffset ? fieldOffset + extra : fieldOffset;
+    }
+
+    private static boolean matchesShape(CharSequence text, int offset, DateTimeLayout layout) {
+        for (int i = 0, length = layout.length(); i < length; i++) {
+            char expected = layout.charAt(i);
+            char c = text.charAt(offset + i);
+            if (isPatternLetter(expected) ? !isDigit(c) : c != expected) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按布局读取并校验各字段，返回打包后的字段值；长度、分隔符、数字或范围不合法时返回INVALID
+     * 缺少的月、日默认为1，缺少的时间字段默认为0
+     */
+    static long parseFields(CharSequence text, int offset, int length, DateTimeLayout layout) {
+        if (length != layout.length() || offset < 0 || offset > text.length() - length
+                || !matchesShape(text, offset, layout)) {
+            return INVALID;
+        }
+        int year = read(text, offset + layout.yearOffset, 4);
+        int month = layout.monthOffset >= 0 ? read(text, offset + layout.monthOffset, 2) : 1;
+        int day = layout.dayOffset >= 0 ? read(text, offset + layout.dayOffset, 2) : 1;
+        int hour = layout.hourOffset >= 0 ? read(text, offset + layout.hourOffset, 2) : 0;
+        int minute = layout.minuteOffset >= 0 ? read(text, offset + layout.minuteOffset, 2) : 0;
+        int second = layout.secondOffset >= 0 ? read(text, offset + layout.secondOffset, 2) : 0;
+        int millis = layout.milliOffset >= 0 ? read(text, offset + layout.milliOffset, 3) : 0;
+        return resolve(year, month, day, hour, minute, second, millis);
+    }
+
+    /**
+     * 从ByteBuffer的绝对位置按ASCII读取并校验各字段，不改变position；规则同parseFields(CharSequence...)
+     */
+    static long parseFields(ByteBuffer buffer, int index, DateTimeLayout layout) {
+        int length = layout.length();
+        if (index < 0 || index > buffer.limit() - length) {
+            return INVALID;
+        }
+        for (int i = 0; i < length; i++) {
+            char expected = layout.charAt(i);
+            byte b = buffer.get(index + i);
+            if (isPatternLetter(expected) ? !isDigit((char) b) : b != (byte) expected) {
+                return INVALID;
+            }
+        }
+        int year = read(buffer, index + layout.yearOffset, 4);
+        int month = layout.monthOffset >= 0 ? read(buffer, index + layout.monthOffset, 2) : 1;
+        int day = layout.dayOffset >= 0 ? read(buffer, index + layout.dayOffset, 2) : 1;
+        int hour = layout.hourOffset >= 0 ? read(buffer, index + layout.hourOffset, 2) : 0;
+        int minute = layout.minuteOffset >= 0 ? read(buffer, index + layout.minuteOffset, 2) : 0;
+        int second = layout.secondOffset >= 0 ? read(buffer, index + layout.secondOffset, 2) : 0;
+        int millis = layout.milliOffset >= 0 ? read(buffer, index + layout.milliOffset, 3) : 0;
+        return resolve(year, month, day, hour, minute, second, millis);
+    }
+
+    /**
+     * 按ResolverStyle.SMART的规则校验并打包字段
+     */
+    static long resolve(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (year < DateTimeWriter.MIN_YEAR || year > DateTimeWriter.MAX_YEAR
+                || month < 1 || month > MAX_MONTH || day < 1 || day > MAX_DAY
+                || minute > MAX_MINUTE || second > MAX_SECOND) {
+            return INVALID;
+        }
+        int monthLength = CivilCalendar.lengthOfMonth(year, month);
+        if (day > monthLength) {
+            day = monthLength;
+        }
+        if (hour > MAX_HOUR) {
+            if (hour != END_OF_DAY_HOUR || minute != 0 || second != 0 || millis != 0) {
+                return INVALID;
+            }
+            hour = 0;
+            if (day < monthLength) {
+                day++;
+            } else if (month < MAX_MONTH) {
+                day = 1;
+                month++;
+            } else if (year < DateTimeWriter.MAX_YEAR) {
+                day = 1;
+                month = 1;
+                year++;
+            } else {
+                return INVALID;
+            }
+        }
+        return pack(year, month, day, hour, minute, second, millis);
+    }
+
+    static long pack(int year, int month, int day, int hour, int minute, int second, int millis) {
+        return (long) year << YEAR_SHIFT | (long) month << MONTH_SHIFT | (long) day << DAY_SHIFT
+                | (long) hour << HOUR_SHIFT | (long) minute << MINUTE_SHIFT | (long) second << SECOND_SHIFT
+                | millis;
+    }
+
+    static int year(long fields) {
+        return (int) (fields >>> YEAR_SHIFT);
+    }
+
+    static int month(long fields) {
+        return (int) (fields >>> MONTH_SHIFT) & 0xF;
+    }
+
+    static int day(long fields) {
+        return (int) (fields >>> DAY_SHIFT) & 0x1F;
+    }
+
+    static int hour(long fields) {
+        return (int) (fields >>> HOUR_SHIFT) & 0x1F;
+    }
+
+    static int minute(long fields) {
+        return (int) (fields >>> MINUTE_SHIFT) & 0x3F;
+    }
+
+    static int second(long fields) {
+        return (int) (fields >>> SECOND_SHIFT) & 0x3F;
+    }
+
+    static int millis(long fields) {
+        return (int) fields & 0x3FF;
+    }
+
+    static LocalDateTime toLocalDateTime(long fields) {
+        return LocalDateTime.of(year(fields), month(fields), day(fields), hour(fields), minute(fields),
+                                second(fields), millis(fields) * NANOS_PER_MILLI);
+    }
+
+    static int read(CharSequence text, int index, int width) {
+        int value = 0;
+        for (int i = 0; i < width; i++) {
+            value = value * 10 + text.charAt(index + i) - '0';
+        }
+        return value;
+    }
+
+    private static int read(ByteBuffer buffer, int index, int width) {
+        int value = 0;
+        for (int i = 0; i < width; i++) {
+            value = value * 10 + buffer.get(index + i) - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isPatternLetter(char c) {
+        return c == 'y' || c == 'M' || c == 'd' || c == 'H' || c == 'm' || c == 's' || c == 'S';
+    }
+}
@@ -1,14 +1,15 @@
 package com.pci.mics.commons.util;
 
 import java.sql.Timestamp;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalQuery;
 import java.util.Date;
 
 import com.pci.mics.commons.contants.DateTimePattern;
@@ -16,9 +17,6 @@ import org.apache.commons.lang3.StringUtils;
 
 import static com.pci.mics.commons.contants.DateTimePattern.LONG_DATETIME_PATTERN;
 import static com.pci.mics.commons.contants.DateTimePattern.LONG_DATE_PATTERN;
-import static com.pci.mics.commons.contants.DateTimePattern.SHORT_DATETIME_PATTERN;
-import static com.pci.mics.commons.contants.DateTimePattern.SHORT_DATETIME_SECOND_PATTERN;
-import static com.pci.mics.commons.contants.DateTimePattern.SHORT_DATE_PATTERN;
 
 
 public class DateTimeUtils {
@@ -34,14 +32,6 @@ public class DateTimeUtils {
      * 判断是否为30分钟的余数
      */
     private static final Integer HALF_MINUTE = 30;
-    /**
-     * 年模式长度
-     */
-    private static final Integer YYYY_LENGTH = 4;
-    /**
-     * 默认每月第一天
-     */
-    private static final Integer DEFAULT_DAY_OF_MONTH = 1;
 
     private final static ZoneId zoneId = ZoneId.systemDefault();
 
@@ -65,7 +55,19 @@ public class DateTimeUtils {
      * @return String型日期
      */
     public static String getCurLocalDateStr(String pattern) {
-        return toString(LocalDate.now(), pattern);
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.CURRENT_DATE, pattern,
+                    () -> currentDate(pattern));
+        }
+        return currentDate(pattern);
+    }
+
+    private static String currentDate(String pattern) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null) {
+            return CoarseClock.getDefault().currentDate(layout);
+        }
+        return formatDate(LocalDate.now(), pattern);
     }
 
     /**
@@ -86,7 +88,11 @@ public class DateTimeUtils {
      * @return String型日期
      */
     public static String toString(LocalDate localDate, String pattern) {
-        return toString(localDate, DateTimeFormatter.ofPattern(pattern));
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.FORMAT_DATE, pattern,
+                    () -> formatDate(localDate, pattern));
+        }
+        return formatDate(localDate, pattern);
     }
 
     /**
@@ -97,6 +103,25 @@ public class DateTimeUtils {
      * @return String型日期
      */
     public static String toString(LocalDate localDate, DateTimeFormatter formatter) {
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.FORMAT_DATE, DateTimeMetrics.FORMATTER_KEY,
+                    () -> formatDate(localDate, formatter));
+        }
+        return formatDate(localDate, formatter);
+    }
+
+    private static String formatDate(LocalDate localDate, String pattern) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null && localDate != null) {
+            return LocalDateCache.getDefault().format(localDate, layout);
+        }
+        if (pattern != null && localDate != null) {
+            return CompiledPattern.compile(pattern).format(localDate);
+        }
+        return formatDate(localDate, DateTimeFormatters.ofPattern(pattern));
+    }
+
+    private static String formatDate(LocalDate localDate, DateTimeFormatter formatter) {
         if (localDate == null) {
             throw new IllegalArgumentException("localDate must not be null");
         }
@@ -121,7 +146,19 @@ public class DateTimeUtils {
      * @return String型日期时间
      */
     public static String getCurLocalDateTimeStr(String pattern) {
-        return toString(LocalDateTime.now(), pattern);
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.CURRENT_DATE_TIME, pattern,
+                    () -> currentDateTime(pattern));
+        }
+        return currentDateTime(pattern);
+    }
+
+    private static String currentDateTime(String pattern) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null) {
+            return CoarseClock.getDefault().currentDateTime(layout);
+        }
+        return formatDateTime(LocalDateTime.now(), pattern);
     }
 
     /**
@@ -142,7 +179,11 @@ public class DateTimeUtils {
      * @return String
      */
     public static String toString(LocalDateTime dateTime, String pattern) {
-        return toString(dateTime, DateTimeFormatter.ofPattern(pattern));
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.FORMAT_DATE_TIME, pattern,
+                    () -> formatDateTime(dateTime, pattern));
+        }
+        return formatDateTime(dateTime, pattern);
     }
 
     /**
@@ -153,6 +194,25 @@ public class DateTimeUtils {
      * @return String型日期时间
      */
     public static String toString(LocalDateTime dateTime, DateTimeFormatter formatter) {
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.FORMAT_DATE_TIME, DateTimeMetrics.FORMATTER_KEY,
+                    () -> formatDateTime(dateTime, formatter));
+        }
+        return formatDateTime(dateTime, formatter);
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime, String pattern) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null && dateTime != null) {
+            return DateTimeWriter.format(dateTime, layout);
+        }
+        if (pattern != null && dateTime != null) {
+            return CompiledPattern.compile(pattern).format(dateTime);
+        }
+        return formatDateTime(dateTime, DateTimeFormatters.ofPattern(pattern));
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime, DateTimeFormatter formatter) {
         if (dateTime == null) {
             throw new IllegalArgumentException("localDateTime must not be null");
         }
@@ -174,14 +234,17 @@ public class DateTimeUtils {
 
     /**
      * String转日期，自定义日期&模式
+     * LocalDateCache范围内的日期返回共享实例
      *
      * @param dateStr 日期字符串
      * @param pattern 模式
      */
     public static LocalDate toLocalDate(String dateStr, String pattern) {
-        return toLocalDate(dateStr, new DateTimeFormatterBuilder().appendPattern(pattern)
-                                                                  .parseDefaulting(ChronoField.DAY_OF_MONTH, DEFAULT_DAY_OF_MONTH)
-                                                                  .toFormatter());
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.PARSE_DATE, pattern,
+                    () -> parseDate(dateStr, pattern));
+        }
+        return parseDate(dateStr, pattern);
     }
 
     /**
@@ -191,6 +254,21 @@ public class DateTimeUtils {
      * @param formatter 格式器
      */
     public static LocalDate toLocalDate(String dateStr, DateTimeFormatter formatter) {
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.PARSE_DATE, DateTimeMetrics.FORMATTER_KEY,
+                    () -> parseDate(dateStr, formatter));
+        }
+        return parseDate(dateStr, formatter);
+    }
+
+    private static LocalDate parseDate(String dateStr, String pattern) {
+        if (StringUtils.isEmpty(dateStr)) {
+            return parseDate(dateStr, DateTimeFormatters.ofDatePattern(pattern));
+        }
+        return LocalDateCache.getDefault().parse(dateStr, pattern);
+    }
+
+    private static LocalDate parseDate(String dateStr, DateTimeFormatter formatter) {
         if (StringUtils.isEmpty(dateStr)) {
             throw new IllegalArgumentException("dateStr must not be empty");
         }
@@ -213,11 +291,11 @@ public class DateTimeUtils {
      * @param pattern 模式
      */
     public static LocalDateTime toLocalDateTime(String dateStr, String pattern) {
-        if (pattern.equals(SHORT_DATETIME_PATTERN)) {
-            pattern = LONG_DATETIME_PATTERN;
-            dateStr = shortPatternToLongPattern(dateStr);
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.PARSE_DATE_TIME, pattern,
+                    () -> parseDateTime(dateStr, pattern));
         }
-        return toLocalDateTime(dateStr, DateTimeFormatter.ofPattern(pattern));
+        return parseDateTime(dateStr, pattern);
     }
 
     /**
@@ -227,33 +305,150 @@ public class DateTimeUtils {
      * @param formatter 格式器
      */
     public static LocalDateTime toLocalDateTime(String dateStr, DateTimeFormatter formatter) {
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.record(DateTimeMetrics.Operation.PARSE_DATE_TIME, DateTimeMetrics.FORMATTER_KEY,
+                    () -> parseDateTime(dateStr, formatter));
+        }
+        return parseDateTime(dateStr, formatter);
+    }
+
+    private static LocalDateTime parseDateTime(String dateStr, String pattern) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null && StringUtils.isNotEmpty(dateStr)) {
+            return DateTimeReader.parseLocalDateTime(dateStr, layout);
+        }
+        if (pattern != null && StringUtils.isNotEmpty(dateStr)) {
+            return CompiledPattern.compile(pattern).parseLocalDateTime(dateStr);
+        }
+        return parseDateTime(dateStr, DateTimeFormatters.ofPattern(pattern));
+    }
+
+    private static LocalDateTime parseDateTime(String dateStr, DateTimeFormatter formatter) {
         if (StringUtils.isEmpty(dateStr)) {
             throw new IllegalArgumentException("dateStr must not be empty");
         }
         return LocalDateTime.parse(dateStr, formatter);
     }
 
+    /**
+     * 不抛异常的String转日期，默认"yyyy-MM-dd"模式
+     *
+     * @param dateStr 日期字符串
+     * @return 日期，空串或不合法时返回null
+     */
+    public static LocalDate tryToLocalDate(String dateStr) {
+        return tryToLocalDate(dateStr, LONG_DATE_PATTERN);
+    }
+
+    /**
+     * 不抛异常的String转日期，判定为合法的输入与toLocalDate(String, String)完全一致
+     *
+     * @param dateStr 日期字符串
+     * @param pattern 模式
+     * @return 日期，空串或不合法时返回null
+     */
+    public static LocalDate tryToLocalDate(String dateStr, String pattern) {
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.recordTry(DateTimeMetrics.Operation.PARSE_DATE, pattern,
+                    () -> tryParseDate(dateStr, pattern));
+        }
+        return tryParseDate(dateStr, pattern);
+    }
+
+    private static LocalDate tryParseDate(String dateStr, String pattern) {
+        if (StringUtils.isEmpty(dateStr)) {
+            return null;
+        }
+        DateTimeLayout layout = DateTimeLayout.lookup(pattern);
+        if (layout == null) {
+            long fields = pattern != null ? CompiledPattern.compile(pattern).parseDateFields(dateStr)
+                    : DateTimeReader.INVALID;
+            if (fields != DateTimeReader.INVALID) {
+                return LocalDateCache.getDefault().of(DateTimeReader.year(fields), DateTimeReader.month(fields),
+                                                      DateTimeReader.day(fields));
+            }
+            return tryParse(dateStr, DateTimeFormatters.ofDatePattern(pattern), LocalDate::from);
+        }
+        long fields = DateTimeReader.parseFields(dateStr, 0, dateStr.length(), layout);
+        if (fields != DateTimeReader.INVALID) {
+            return LocalDateCache.getDefault().of(DateTimeReader.year(fields), DateTimeReader.month(fields),
+                                                  DateTimeReader.day(fields));
+        }
+        ParseResult result = new ParseResult();
+        return DateTimeReader.tryParse(dateStr, layout, result)
+                ? LocalDateCache.getDefault().canonical(result.toLocalDate()) : null;
+    }
+
+    /**
+     * 不抛异常的String转日期时间，默认"yyyy-MM-dd HH:mm:ss.SSS"模式
+     *
+     * @param dateStr 日期时间字符串
+     * @return 日期时间，空串或不合法时返回null
+     */
+    public static LocalDateTime tryToLocalDateTime(String dateStr) {
+        return tryToLocalDateTime(dateStr, LONG_DATETIME_PATTERN);
+    }
+
+    /**
+     * 不抛异常的String转日期时间，判定为合法的输入与toLocalDateTime(String, String)完全一致
+     * DateTimePattern及DateTimeLayout支持的定长模式在失败时不创建异常；其余模式先做语法解析，
+     * 仅在语法合法而数值不合法时由DateTimeFormatter抛出并捕获异常
+     *
+     * @param dateStr 日期时间字符串
+     * @param pattern 模式
+     * @return 日期时间，空串或不合法时返回null
+     */
+    public static LocalDateTime tryToLocalDateTime(String dateStr, String pattern) {
+        if (DateTimeMetrics.ENABLED) {
+            return DateTimeMetrics.recordTry(DateTimeMetrics.Operation.PARSE_DATE_TIME, pattern,
+                    () -> tryParseDateTime(dateStr, pattern));
+        }
+        return tryParseDateTime(dateStr, pattern);
+    }
+
+    private static LocalDateTime tryParseDateTime(String dateStr, String pattern) {
+        if (StringUtils.isEmpty(dateStr)) {
+            return null;
+        }
+        DateTimeLayout layout = DateTimeLayout.lookup(pattern);
+        if (layout == null) {
+            long fields = pattern != null ? CompiledPattern.compile(pattern).parseDateTimeFields(dateStr)
+                    : DateTimeReader.INVALID;
+            if (fields != DateTimeReader.INVALID) {
+                return DateTimeReader.toLocalDateTime(fields);
+            }
+            return tryParse(dateStr, DateTimeFormatters.ofPattern(pattern), LocalDateTime::from);
+        }
+        if (!layout.hasTime()) {
+            return null;
+        }
+        long fields = DateTimeReader.parseFields(dateStr, 0, dateStr.length(), layout);
+        if (fields != DateTimeReader.INVALID) {
+            return DateTimeReader.toLocalDateTime(fields);
+        }
+        ParseResult result = new ParseResult();
+        return DateTimeReader.tryParseDateTime(dateStr, layout, result) ? result.toLocalDateTime() : null;
+    }
+
+    private static <T> T tryParse(String text, DateTimeFormatter formatter, TemporalQuery<T> query) {
+        ParsePosition position = new ParsePosition(0);
+        if (formatter.parseUnresolved(text, position) == null || position.getIndex() < text.length()) {
+            return null;
+        }
+        try {
+            return formatter.parse(text, query);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
     /**
      * 将Short_..._Pattern字符串转为Long_..._Pattern
      * 将yyyyMMddHHmmssSSS模式String转为yyyy-MM-dd HH:mm:ss.SSS,避免解析时遇到JDK8 BUG
+     * DateTimeReader已直接解析定长的yyyyMMddHHmmssSSS，仅在非定长输入时使用本方法
      */
     public static String shortPatternToLongPattern(String dateStr) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < dateStr.length(); i++) {
-            sb.append(dateStr.charAt(i));
-            if ((i & 1) == 1&&i!=dateStr.length() -1) {
-                if (i >= YYYY_LENGTH - 1 && i < SHORT_DATE_PATTERN.length() - 1) {
-                    sb.append("-");
-                } else if (i == SHORT_DATE_PATTERN.length() - 1) {
-                    sb.append(" ");
-                } else if (i > SHORT_DATE_PATTERN.length() - 1 && i < SHORT_DATETIME_SECOND_PATTERN.length() - 1) {
-                    sb.append(":");
-                } else if (i == SHORT_DATETIME_SECOND_PATTERN.length() - 1) {
-                    sb.append(".");
-                }
-            }
-        }
-        return sb.toString();
+        return DateTimeReader.shortPatternToLongPattern(dateStr);
     }
 
     /**
@@ -262,7 +457,23 @@ public class DateTimeUtils {
      * @param localDateTime 日期时间
      */
     public static Date localDateTimeToDate(LocalDateTime localDateTime) {
-        return Date.from(localDateTime.atZone(zoneId).toInstant());
+        return localDateTimeToDate(localDateTime, zoneId);
+    }
+
+    /**
+     * LocalDateTime转date，自定义时区
+     * 夏令时间隙向后顺延、重叠取较早偏移，与LocalDateTime.atZone一致
+     *
+     * @param localDateTime 日期时间
+     * @param zone          时区
+     */
+    public static Date localDateTimeToDate(LocalDateTime localDateTime, ZoneId zone) {
+        try {
+            return new Date(EpochTimeUtils.toEpochMillis(localDateTime, zone));
+        } catch (ArithmeticException e) {
+            // 本地毫秒超出long范围，结果及异常交给Date.from
+            return Date.from(localDateTime.atZone(zone).toInstant());
+        }
     }
 
     /**
@@ -271,23 +482,33 @@ public class DateTimeUtils {
      * @param date 日期
      */
     public static LocalDateTime dateToLocalDateTime(Date date) {
-        return date.toInstant().atZone(zoneId).toLocalDateTime();
+        return dateToLocalDateTime(date, zoneId);
+    }
+
+    /**
+     * date转LocalDateTime，自定义时区
+     *
+     * @param date 日期
+     * @param zone 时区
+     */
+    public static LocalDateTime dateToLocalDateTime(Date date, ZoneId zone) {
+        return EpochTimeUtils.toLocalDateTime(date.getTime(), zone);
     }
 
     /**
-     * localDateTime转Timestamp
+     * localDateTime转Timestamp，与Timestamp.valueOf一致；批量转换见TimestampBridge
      *
      * @param localDateTime 日期时间
      */
     public static Timestamp localDateTimeToTimestamp(LocalDateTime localDateTime) {
-        return Timestamp.valueOf(localDateTime);
+        return TimestampBridge.toTimestamp(localDateTime);
     }
 
     /**
-     * Timestamp转localDateTime
+     * Timestamp转localDateTime，与Timestamp.toLocalDateTime一致
      */
     public static LocalDateTime timestampToLocalDateTime(Timestamp timestamp) {
-        return timestamp.toLocalDateTime();
+        return TimestampBridge.toLocalDateTime(timestamp);
     }
 
     /**
@@ -0,0 +1,385 @@
+package com.pci.mics.commons.util;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 定长布局的格式化引擎
+ * 直接将数字写入调用方提供的StringBuilder、Appendable、char[]或ByteBuffer(ASCII)，不产生中间对象
+ * 输出与DateTimeFormatter.ofPattern(layout.getPattern())一致
+ */
+public final class DateTimeWriter {
+    /**
+     * 4位年可表示的最小年份
+     */
+    static final int MIN_YEAR = 1;
+    /**
+     * 4位年可表示的最大年份
+     */
+    static final int MAX_YEAR = 9999;
+
+    private static final int NANOS_PER_MILLI = 1000_000;
+
+    private DateTimeWriter() {
+    }
+
+    /**
+     * 格式化为String
+     *
+     * @param dateTime 日期时间
+     * @param layout   布局
+     */
+    public static String format(LocalDateTime dateTime, DateTimeLayout layout) {
+        if (!isWritable(dateTime.getYear())) {
+            return DateTimeFormatters.ofPattern(layout.getPattern()).format(dateTime);
+        }
+        char[] chars = new char[layout.length()];
+        write(chars, 0, layout, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+              dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano() / NANOS_PER_MILLI);
+        return new String(chars);
+    }
+
+    /**
+     * 格式化为String，布局含时间字段时与DateTimeFormatter一样抛出UnsupportedTemporalTypeException
+     *
+     * @param date   日期
+     * @param layout 布局
+     */
+    public static String format(LocalDate date, DateTimeLayout layout) {
+        if (layout.hasTime() || !isWritable(date.getYear())) {
+            return DateTimeFormatters.ofPattern(layout.getPattern()).format(date);
+        }
+        char[] chars = new char[layout.length()];
+        write(chars, 0, layout, date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 追加到StringBuilder末尾
+     */
+    public static StringBuilder format(LocalDateTime dateTime, DateTimeLayout layout, StringBuilder sb) {
+        if (!isWritable(dateTime.getYear())) {
+            DateTimeFormatters.ofPattern(layout.getPattern()).formatTo(dateTime, sb);
+            return sb;
+        }
+        write(sb, layout, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+              dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano() / NANOS_PER_MILLI);
+        return sb;
+    }
+
+    /**
+     * 追加到StringBuilder末尾
+     */
+    public static StringBuilder format(LocalDate date, DateTimeLayout layout, StringBuilder sb) {
+        if (layout.hasTime() || !isWritable(date.getYear())) {
+            DateTimeFormatters.ofPattern(layout.getPattern()).formatTo(date, sb);
+            return sb;
+        }
+        write(sb, layout, date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, 0);
+        return sb;
+    }
+
+    /**
+     * 追加到Appendable，IOException包装为DateTimeException，与DateTimeFormatter.formatTo一致
+     */
+    public static void formatTo(LocalDateTime dateTime, DateTimeLayout layout, Appendable appendable) {
+        if (appendable instanceof StringBuilder) {
+            format(dateTime, layout, (StringBuilder) appendable);
+            return;
+        }
+        if (!isWritable(dateTime.getYear())) {
+            DateTimeFormatters.ofPattern(layout.getPattern()).formatTo(dateTime, appendable);
+            return;
+        }
+        write(appendable, layout, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+              dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * 追加到Appendable，IOException包装为DateTimeException，与DateTimeFormatter.formatTo一致
+     */
+    public static void formatTo(LocalDate date, DateTimeLayout layout, Appendable appendable) {
+        if (appendable instanceof StringBuilder) {
+            format(date, layout, (StringBuilder) appendable);
+            return;
+        }
+        if (layout.hasTime() || !isWritable(date.getYear())) {
+            DateTimeFormatters.ofPattern(layout.getPattern()).formatTo(date, appendable);
+            return;
+        }
+        write(appendable, layout, date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, 0);
+    }
+
+    /**
+     * 写入char数组
+     *
+     * @param dst    目标数组
+     * @param offset 起始位置
+     * @return 写入后的位置
+     */
+    public static int format(LocalDateTime dateTime, DateTimeLayout layout, char[] dst, int offset) {
+        if (!isWritable(dateTime.getYear())) {
+            return copy(DateTimeFormatters.ofPattern(layout.getPattern()).format(dateTime), dst, offset);
+        }
+        return write(dst, offset, layout, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+                     dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(),
+                     dateTime.getNano() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * 写入char数组
+     *
+     * @param dst    目标数组
+     * @param offset 起始位置
+     * @return 写入后的位置
+     */
+    public static int format(LocalDate date, DateTimeLayout layout, char[] dst, int offset) {
+        if (layout.hasTime() || !isWritable(date.getYear())) {
+            return copy(DateTimeFormatters.ofPattern(layout.getPattern()).format(date), dst, offset);
+        }
+        return write(dst, offset, layout, date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, 0);
+    }
+
+    /**
+     * 以ASCII写入ByteBuffer当前位置，并推进position
+     */
+    public static void format(LocalDateTime dateTime, DateTimeLayout layout, ByteBuffer dst) {
+        if (!isWritable(dateTime.getYear())) {
+            copy(DateTimeFormatters.ofPattern(layout.getPattern()).format(dateTime), dst);
+            return;
+        }
+        write(dst, layout, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(),
+              dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), dateTime.getNano() / NANOS_PER_MILLI);
+    }
+
+    /**
+     * 以ASCII写入ByteBuffer当前位置，并推进position
+     */
+    public static void format(LocalDate date, DateTimeLayout layout, ByteBuffer dst) {
+        if (layout.hasTime() || !isWritable(date.getYear())) {
+            copy(DateTimeFormatters.ofPattern(layout.getPattern()).format(date), dst);
+            return;
+        }
+        write(dst, layout, date.getYear(), date.getMonthValue(), date.getDayOfMonth(), 0, 0, 0, 0);
+    }
+
+    /**
+     * 年份是否可由4位定长表示
+     */
+    static boolean isWritable(int year) {
+        return year >= MIN_YEAR && year <= MAX_YEAR;
+    }
+
+    /**
+     * 按字段写入char数组，调用方保证年份在1-9999之间
+     *
+     * @return 写入后的位置
+     */
+    static int write(char[] dst, int offset, DateTimeLayout layout,
+                     int year, int month, int day, int hour, int minute, int second, int millis) {
+        int length = layout.length();
+        if (offset < 0 || offset > dst.length - length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length
+                                                        + ", capacity: " + dst.length);
+        }
+        System.arraycopy(layout.template(), 0, dst, offset, length);
+        put4(dst, offset + layout.yearOffset, year);
+        if (layout.monthOffset >= 0) {
+            put2(dst, offset + layout.monthOffset, month);
+        }
+        if (layout.dayOffset >= 0) {
+            put2(dst, offset + layout.dayOffset, day);
+        }
+        if (layout.hourOffset >= 0) {
+            put2(dst, offset + layout.hourOffset, hour);
+        }
+        if (layout.minuteOffset >= 0) {
+            put2(dst, offset + layout.minuteOffset, minute);
+        }
+        if (layout.secondOffset >= 0) {
+            put2(dst, offset + layout.secondOffset, second);
+        }
+        if (layout.milliOffset >= 0) {
+            put3(dst, offset + layout.milliOffset, millis);
+        }
+        return offset + length;
+    }
+
+    /**
+     * 按字段追加到StringBuilder，调用方保证年份在1-9999之间
+     */
+    static void write(StringBuilder sb, DateTimeLayout layout,
+                      int year, int month, int day, int hour, int minute, int second, int millis) {
+        int offset = sb.length();
+        sb.append(layout.template());
+        put4(sb, offset + layout.yearOffset, year);
+        if (layout.monthOffset >= 0) {
+            put2(sb, offset + layout.monthOffset, month);
+        }
+        if (layout.dayOffset >= 0) {
+            put2(sb, offset + layout.dayOffset, day);
+        }
+        if (layout.hourOffset >= 0) {
+            put2(sb, offset + layout.hourOffset, hour);
+        }
+        if (layout.minuteOffset >= 0) {
+            put2(sb, offset + layout.minuteOffset, minute);
+        }
+        if (layout.secondOffset >= 0) {
+            put2(sb, offset + layout.secondOffset, second);
+        }
+        if (layout.milliOffset >= 0) {
+            put3(sb, offset + layout.milliOffset, millis);
+        }
+    }
+
+    /**
+     * 按字段写入ByteBuffer当前位置并推进position，调用方保证年份在1-9999之间
+     */
+    static void write(ByteBuffer dst, DateTimeLayout layout,
+                      int year, int month, int day, int hour, int minute, int second, int millis) {
+        int length = layout.length();
+        int offset = dst.position();
+        if (dst.remaining() < length) {
+            throw new IndexOutOfBoundsException("remaining: " + dst.remaining() + ", length: " + length);
+        }
+        char[] template = layout.template();
+        for (int i = 0; i < length; i++) {
+            dst.put(offset + i, (byte) template[i]);
+        }
+        put4(dst, offset + layout.yearOffset, year);
+        if (layout.monthOffset >= 0) {
+            put2(dst, offset + layout.monthOffset, month);
+        }
+        if (layout.dayOffset >= 0) {
+            put2(dst, offset + layout.dayOffset, day);
+        }
+        if (layout.hourOffset >= 0) {
+            put2(dst, offset + layout.hourOffset, hour);
+        }
+        if (layout.minuteOffset >= 0) {
+            put2(dst, offset + layout.minuteOffset, minute);
+        }
+        if (layout.secondOffset >= 0) {
+            put2(dst, offset + layout.secondOffset, second);
+        }
+        if (layout.milliOffset >= 0) {
+            put3(dst, offset + layout.milliOffset, millis);
+        }
+        ((Buffer) dst).position(offset + length);
+    }
+
+    /**
+     * 按顺序逐字符追加到Appendable，调用方保证年份在1-9999之间
+     */
+    static void write(Appendable appendable, DateTimeLayout layout,
+                      int year, int month, int day, int hour, int minute, int second, int millis) {
+        try {
+            int length = layout.length();
+            int i = 0;
+            while (i < length) {
+                if (i == layout.yearOffset) {
+                    appendable.append(digit(year / 1000)).append(digit(year / 100 % 10))
+                              .append(digit(year / 10 % 10)).append(digit(year % 10));
+                    i += 4;
+                } else if (i == layout.monthOffset) {
+                    i += append2(appendable, month);
+                } else if (i == layout.dayOffset) {
+                    i += append2(appendable, day);
+                } else if (i == layout.hourOffset) {
+                    i += append2(appendable, hour);
+                } else if (i == layout.minuteOffset) {
+                    i += append2(appendable, minute);
+                } else if (i == layout.secondOffset) {
+                    i += append2(appendable, second);
+                } else if (i == layout.milliOffset) {
+                    appendable.append(digit(millis / 100)).append(digit(millis / 10 % 10)).append(digit(millis % 10));
+                    i += 3;
+                } else {
+                    appendable.append(layout.charAt(i));
+                    i++;
+                }
+            }
+        } catch (IOException e) {
+            throw new DateTimeException(e.getMessage(), e);
+        }
+    }
+
+    private static int append2(Appendable appendable, int value) throws IOException {
+        appendable.append(digit(value / 10)).append(digit(value % 10));
+        return 2;
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+
+    private static void put4(char[] dst, int index, int value) {
+        dst[index] = digit(value / 1000);
+        dst[index + 1] = digit(value / 100 % 10);
+        dst[index + 2] = digit(value / 10 % 10);
+        dst[index + 3] = digit(value % 10);
+    }
+
+    private static void put3(char[] dst, int index, int value) {
+        dst[index] = digit(value / 100);
+        dst[index + 1] = digit(value / 10 % 10);
+        dst[index + 2] = digit(value % 10);
+    }
+
+    private static void put2(char[] dst, int index, int value) {
+        dst[index] = digit(value / 10);
+        dst[index + 1] = digit(value % 10);
+    }
+
+    private static void put4(StringBuilder sb, int index, int value) {
+        sb.setCharAt(index, digit(value / 1000));
+        sb.setCharAt(index + 1, digit(value / 100 % 10));
+        sb.setCharAt(index + 2, digit(value / 10 % 10));
+        sb.setCharAt(index + 3, digit(value % 10));
+    }
+
+    private static void put3(StringBuilder sb, int index, int value) {
+        sb.setCharAt(index, digit(value / 100));
+        sb.setCharAt(index + 1, digit(value / 10 % 10));
+        sb.setCharAt(index + 2, digit(value % 10));
+    }
+
+    private static void put2(StringBuilder sb, int index, int value) {
+        sb.setCharAt(index, digit(value / 10));
+        sb.setCharAt(index + 1, digit(value % 10));
+    }
+
+    private static void put4(ByteBuffer dst, int index, int value) {
+        dst.put(index, (byte) digit(value / 1000));
+        dst.put(index + 1, (byte) digit(value / 100 % 10));
+        dst.put(index + 2, (byte) digit(value / 10 % 10));
+        dst.put(index + 3, (byte) digit(value % 10));
+    }
+
+    private static void put3(ByteBuffer dst, int index, int value) {
+        dst.put(index, (byte) digit(value / 100));
+        dst.put(index + 1, (byte) digit(value / 10 % 10));
+        dst.put(index + 2, (byte) digit(value % 10));
+    }
+
+    private static void put2(ByteBuffer dst, int index, int value) {
+        dst.put(index, (byte) digit(value / 10));
+        dst.put(index + 1, (byte) digit(value % 10));
+    }
+
+    private static int copy(String text, char[] dst, int offset) {
+        text.getChars(0, text.length(), dst, offset);
+        return offset + text.length();
+    }
+
+    private static void copy(String text, ByteBuffer dst) {
+        for (int i = 0; i < text.length(); i++) {
+            dst.put((byte) text.charAt(i));
+        }
+    }
+}
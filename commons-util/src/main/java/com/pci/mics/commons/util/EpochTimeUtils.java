@@ -0,0 +1,473 @@
+package com.pci.mics.commons.util;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 基本类型的日期时间工具
+ * 日期时间以long型纪元毫秒表示，日期以yyyyMMdd格式的int表示，解析、格式化与比较均不创建对象
+ */
+public class EpochTimeUtils {
+    /**
+     * 每分钟毫秒数
+     */
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    /**
+     * 每小时毫秒数
+     */
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    /**
+     * 每秒毫秒数
+     */
+    private static final long MILLIS_PER_SECOND = 1000L;
+    /**
+     * 判断是否为5分钟的余数
+     */
+    private static final long FIVE_MINUTE_MILLIS = 5 * MILLIS_PER_MINUTE;
+    /**
+     * 判断是否为15分钟的余数
+     */
+    private static final long QUARTER_MILLIS = 15 * MILLIS_PER_MINUTE;
+    /**
+     * 判断是否为30分钟的余数
+     */
+    private static final long HALF_HOUR_MILLIS = 30 * MILLIS_PER_MINUTE;
+
+    /**
+     * tryParseEpochMillis解析失败时的返回值
+     */
+    public static final long INVALID_EPOCH_MILLIS = Long.MIN_VALUE;
+    /**
+     * tryParseDateInt解析失败时的返回值
+     */
+    public static final int INVALID_DATE_INT = -1;
+
+    private static final int NANOS_PER_MILLI = 1000_000;
+    /**
+     * 时区偏移的最大绝对值
+     */
+    private static final long MAX_OFFSET_MILLIS = 18 * MILLIS_PER_HOUR;
+    /**
+     * 0001-01-01的纪元日
+     */
+    private static final long MIN_EPOCH_DAY = -719_162L;
+    /**
+     * 9999-12-31的纪元日
+     */
+    private static final long MAX_EPOCH_DAY = 2_932_896L;
+
+    private EpochTimeUtils() {
+    }
+
+    /**
+     * String转纪元毫秒，仅含日期的布局取当天零点
+     *
+     * @param text   日期时间字符串
+     * @param layout 布局
+     * @param zone   时区
+     */
+    public static long parseEpochMillis(CharSequence text, DateTimeLayout layout, ZoneId zone) {
+        return parseEpochMillis(text, 0, text.length(), layout, zone);
+    }
+
+    /**
+     * 文本中指定区间转纪元毫秒，仅含日期的布局取当天零点
+     *
+     * @param text   文本
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout 布局
+     * @param zone   时区
+     */
+    public static long parseEpochMillis(CharSequence text, int offset, int length, DateTimeLayout layout, ZoneId zone) {
+        long fields = DateTimeReader.parseFields(text, offset, length, layout);
+        if (fields == DateTimeReader.INVALID) {
+            LocalDateTime dateTime = layout.hasTime()
+                    ? DateTimeReader.parseLocalDateTime(text, offset, length, layout)
+                    : DateTimeReader.parseLocalDate(text, offset, length, layout).atStartOfDay();
+            return toEpochMillis(dateTime, zone);
+        }
+        return localToEpochMillis(toLocalMillis(fields), zone);
+    }
+
+    /**
+     * 不抛异常的String转纪元毫秒，仅含日期的布局取当天零点
+     * 与parseEpochMillis判定的合法输入一致，失败时返回INVALID_EPOCH_MILLIS
+     *
+     * @param text   日期时间字符串，可为null
+     * @param layout 布局
+     * @param zone   时区
+     */
+    public static long tryParseEpochMillis(CharSequence text, DateTimeLayout layout, ZoneId zone) {
+        if (text == null) {
+            return INVALID_EPOCH_MILLIS;
+        }
+        long fields = DateTimeReader.parseFields(text, 0, text.length(), layout);
+        if (fields != DateTimeReader.INVALID) {
+            return localToEpochMillis(toLocalMillis(fields), zone);
+        }
+        ParseResult result = new ParseResult();
+        if (!DateTimeReader.tryParseDateTime(text, layout, result)) {
+            return INVALID_EPOCH_MILLIS;
+        }
+        long epochMillis = result.toEpochMillis(zone);
+        return result.isSuccess() ? epochMillis : INVALID_EPOCH_MILLIS;
+    }
+
+    /**
+     * 不抛异常的String转yyyyMMdd整数，含时间的布局取其日期部分
+     * 与parseDateInt判定的合法输入一致，失败时返回INVALID_DATE_INT
+     *
+     * @param text   日期字符串，可为null
+     * @param layout 布局
+     */
+    public static int tryParseDateInt(CharSequence text, DateTimeLayout layout) {
+        if (text == null) {
+            return INVALID_DATE_INT;
+        }
+        long fields = DateTimeReader.parseFields(text, 0, text.length(), layout);
+        if (fields != DateTimeReader.INVALID) {
+            return DateTimeReader.year(fields) * 10000 + DateTimeReader.month(fields) * 100
+                    + DateTimeReader.day(fields);
+        }
+        ParseResult result = new ParseResult();
+        if (!DateTimeReader.tryParse(text, layout, result) || !DateTimeWriter.isWritable(result.getYear())) {
+            return INVALID_DATE_INT;
+        }
+        return result.toDateInt();
+    }
+
+    /**
+     * String转纪元毫秒，自定义模式
+     *
+     * @param text    日期时间字符串
+     * @param pattern 模式
+     * @param zone    时区
+     */
+    public static long parseEpochMillis(String text, String pattern, ZoneId zone) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null) {
+            return parseEpochMillis(text, layout, zone);
+        }
+        return toEpochMillis(DateTimeUtils.toLocalDateTime(text, pattern), zone);
+    }
+
+    /**
+     * String转yyyyMMdd整数，含时间的布局取其日期部分
+     *
+     * @param text   日期字符串
+     * @param layout 布局
+     */
+    public static int parseDateInt(CharSequence text, DateTimeLayout layout) {
+        return parseDateInt(text, 0, text.length(), layout);
+    }
+
+    /**
+     * 文本中指定区间转yyyyMMdd整数，含时间的布局取其日期部分
+     *
+     * @param text   文本
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout 布局
+     */
+    public static int parseDateInt(CharSequence text, int offset, int length, DateTimeLayout layout) {
+        long fields = DateTimeReader.parseFields(text, offset, length, layout);
+        if (fields == DateTimeReader.INVALID) {
+            return toDateInt(DateTimeReader.parseLocalDate(text, offset, length, layout));
+        }
+        return DateTimeReader.year(fields) * 10000 + DateTimeReader.month(fields) * 100 + DateTimeReader.day(fields);
+    }
+
+    /**
+     * 纪元毫秒转String
+     *
+     * @param epochMillis 纪元毫秒
+     * @param layout      布局
+     * @param zone        时区
+     */
+    public static String formatEpochMillis(long epochMillis, DateTimeLayout layout, ZoneId zone) {
+        long localMillis = epochToLocalMillis(epochMillis, zone);
+        long epochDay = Math.floorDiv(localMillis, CivilCalendar.MILLIS_PER_DAY);
+        if (!isWritable(epochDay)) {
+            return DateTimeWriter.format(toLocalDateTime(localMillis), layout);
+        }
+        int date = CivilCalendar.toDateInt(epochDay);
+        char[] chars = new char[layout.length()];
+        write(chars, 0, layout, date, localMillis);
+        return new String(chars);
+    }
+
+    /**
+     * 纪元毫秒追加到StringBuilder末尾
+     */
+    public static StringBuilder formatEpochMillis(long epochMillis, DateTimeLayout layout, ZoneId zone,
+                                                  StringBuilder sb) {
+        long localMillis = epochToLocalMillis(epochMillis, zone);
+        long epochDay = Math.floorDiv(localMillis, CivilCalendar.MILLIS_PER_DAY);
+        if (!isWritable(epochDay)) {
+            return DateTimeWriter.format(toLocalDateTime(localMillis), layout, sb);
+        }
+        int date = CivilCalendar.toDateInt(epochDay);
+        long millisOfDay = Math.floorMod(localMillis, CivilCalendar.MILLIS_PER_DAY);
+        DateTimeWriter.write(sb, layout, CivilCalendar.dateYear(date), CivilCalendar.dateMonth(date),
+                             CivilCalendar.dateDay(date), (int) (millisOfDay / MILLIS_PER_HOUR),
+                             (int) (millisOfDay / MILLIS_PER_MINUTE % 60),
+                             (int) (millisOfDay / MILLIS_PER_SECOND % 60), (int) (millisOfDay % MILLIS_PER_SECOND));
+        return sb;
+    }
+
+    /**
+     * 纪元毫秒写入char数组
+     *
+     * @return 写入后的位置
+     */
+    public static int formatEpochMillis(long epochMillis, DateTimeLayout layout, ZoneId zone, char[] dst, int offset) {
+        long localMillis = epochToLocalMillis(epochMillis, zone);
+        long epochDay = Math.floorDiv(localMillis, CivilCalendar.MILLIS_PER_DAY);
+        if (!isWritable(epochDay)) {
+            return DateTimeWriter.format(toLocalDateTime(localMillis), layout, dst, offset);
+        }
+        return write(dst, offset, layout, CivilCalendar.toDateInt(epochDay), localMillis);
+    }
+
+    /**
+     * yyyyMMdd整数转String，布局不能包含时间字段
+     *
+     * @param date   yyyyMMdd
+     * @param layout 布局
+     */
+    public static String formatDateInt(int date, DateTimeLayout layout) {
+        checkDateInt(date);
+        if (layout.hasTime()) {
+            return DateTimeWriter.format(toLocalDate(date), layout);
+        }
+        char[] chars = new char[layout.length()];
+        DateTimeWriter.write(chars, 0, layout, CivilCalendar.dateYear(date), CivilCalendar.dateMonth(date),
+                             CivilCalendar.dateDay(date), 0, 0, 0, 0);
+        return new String(chars);
+    }
+
+    /**
+     * yyyyMMdd整数追加到StringBuilder末尾，布局不能包含时间字段
+     */
+    public static StringBuilder formatDateInt(int date, DateTimeLayout layout, StringBuilder sb) {
+        checkDateInt(date);
+        if (layout.hasTime()) {
+            return DateTimeWriter.format(toLocalDate(date), layout, sb);
+        }
+        DateTimeWriter.write(sb, layout, CivilCalendar.dateYear(date), CivilCalendar.dateMonth(date),
+                             CivilCalendar.dateDay(date), 0, 0, 0, 0);
+        return sb;
+    }
+
+    /**
+     * 纪元毫秒转yyyyMMdd整数
+     */
+    public static int toDateInt(long epochMillis, ZoneId zone) {
+        long epochDay = Math.floorDiv(epochToLocalMillis(epochMillis, zone), CivilCalendar.MILLIS_PER_DAY);
+        return epochDayToDateInt(epochDay);
+    }
+
+    /**
+     * LocalDate转yyyyMMdd整数
+     */
+    public static int toDateInt(LocalDate date) {
+        int year = date.getYear();
+        if (!DateTimeWriter.isWritable(year)) {
+            throw new DateTimeException("Year out of range for yyyyMMdd: " + year);
+        }
+        return year * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+
+    /**
+     * yyyyMMdd整数转LocalDate
+     */
+    public static LocalDate toLocalDate(int date) {
+        checkDateInt(date);
+        return LocalDate.of(CivilCalendar.dateYear(date), CivilCalendar.dateMonth(date), CivilCalendar.dateDay(date));
+    }
+
+    /**
+     * 纪元日转yyyyMMdd整数
+     */
+    public static int epochDayToDateInt(long epochDay) {
+        if (!isWritable(epochDay)) {
+            throw new DateTimeException("Epoch day out of range for yyyyMMdd: " + epochDay);
+        }
+        return CivilCalendar.toDateInt(epochDay);
+    }
+
+    /**
+     * yyyyMMdd整数转纪元日
+     */
+    public static long dateIntToEpochDay(int date) {
+        checkDateInt(date);
+        return CivilCalendar.toEpochDay(CivilCalendar.dateYear(date), CivilCalendar.dateMonth(date),
+                                        CivilCalendar.dateDay(date));
+    }
+
+    /**
+     * yyyyMMdd整数当天零点的纪元毫秒
+     */
+    public static long dateIntToEpochMillis(int date, ZoneId zone) {
+        return localToEpochMillis(dateIntToEpochDay(date) * CivilCalendar.MILLIS_PER_DAY, zone);
+    }
+
+    /**
+     * LocalDateTime转纪元毫秒
+     */
+    public static long toEpochMillis(LocalDateTime dateTime, ZoneId zone) {
+        return localToEpochMillis(toLocalMillis(dateTime), zone);
+    }
+
+    /**
+     * 纪元毫秒转LocalDateTime
+     */
+    public static LocalDateTime toLocalDateTime(long epochMillis, ZoneId zone) {
+        if (epochMillis <= Long.MIN_VALUE + MAX_OFFSET_MILLIS || epochMillis >= Long.MAX_VALUE - MAX_OFFSET_MILLIS) {
+            // 本地毫秒超出long范围，按Instant换算
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+        }
+        return toLocalDateTime(epochToLocalMillis(epochMillis, zone));
+    }
+
+    /**
+     * 日期相隔毫秒
+     */
+    public static long periodMillis(long startEpochMillis, long endEpochMillis) {
+        return endEpochMillis - startEpochMillis;
+    }
+
+    /**
+     * 日期相隔秒
+     */
+    public static long periodSeconds(long startEpochMillis, long endEpochMillis) {
+        return Math.floorDiv(endEpochMillis - startEpochMillis, MILLIS_PER_SECOND);
+    }
+
+    /**
+     * 日期相隔天数
+     *
+     * @param startDate yyyyMMdd
+     * @param endDate   yyyyMMdd
+     */
+    public static long periodDays(int startDate, int endDate) {
+        return dateIntToEpochDay(endDate) - dateIntToEpochDay(startDate);
+    }
+
+    /**
+     * 是否同一天
+     */
+    public static boolean isSameDay(long epochMillis1, long epochMillis2, ZoneId zone) {
+        return Math.floorDiv(epochToLocalMillis(epochMillis1, zone), CivilCalendar.MILLIS_PER_DAY)
+                == Math.floorDiv(epochToLocalMillis(epochMillis2, zone), CivilCalendar.MILLIS_PER_DAY);
+    }
+
+    /**
+     * 是否为5分钟
+     */
+    public static boolean isFiveMinute(long epochMillis, ZoneId zone) {
+        return minuteOfHourMillis(epochMillis, zone) % FIVE_MINUTE_MILLIS < MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * 是否为一刻钟
+     */
+    public static boolean isQuarter(long epochMillis, ZoneId zone) {
+        return minuteOfHourMillis(epochMillis, zone) % QUARTER_MILLIS < MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * 是否为半个小时
+     */
+    public static boolean isHalfHour(long epochMillis, ZoneId zone) {
+        return minuteOfHourMillis(epochMillis, zone) % HALF_HOUR_MILLIS < MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * 是否为整点
+     */
+    public static boolean isFullClock(long epochMillis, ZoneId zone) {
+        return minuteOfHourMillis(epochMillis, zone) < MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * 当前小时内已过去的毫秒数
+     */
+    private static long minuteOfHourMillis(long epochMillis, ZoneId zone) {
+        return Math.floorMod(epochToLocalMillis(epochMillis, zone), MILLIS_PER_HOUR);
+    }
+
+    private static boolean isWritable(long epochDay) {
+        return epochDay >= MIN_EPOCH_DAY && epochDay <= MAX_EPOCH_DAY;
+    }
+
+    private static void checkDateInt(int date) {
+        int year = CivilCalendar.dateYear(date);
+        int month = CivilCalendar.dateMonth(date);
+        int day = CivilCalendar.dateDay(date);
+        if (!DateTimeWriter.isWritable(year) || month < 1 || month > 12 || day < 1
+                || day > CivilCalendar.lengthOfMonth(year, month)) {
+            throw new DateTimeException("Invalid yyyyMMdd date: " + date);
+        }
+    }
+
+    private static int write(char[] dst, int offset, DateTimeLayout layout, int date, long localMillis) {
+        long millisOfDay = Math.floorMod(localMillis, CivilCalendar.MILLIS_PER_DAY);
+        return DateTimeWriter.write(dst, offset, layout, CivilCalendar.dateYear(date), CivilCalendar.dateMonth(date),
+                                    CivilCalendar.dateDay(date), (int) (millisOfDay / MILLIS_PER_HOUR),
+                                    (int) (millisOfDay / MILLIS_PER_MINUTE % 60),
+                                    (int) (millisOfDay / MILLIS_PER_SECOND % 60),
+                                    (int) (millisOfDay % MILLIS_PER_SECOND));
+    }
+
+    /**
+     * 打包字段转本地毫秒(以UTC计的纪元毫秒)
+     */
+    static long toLocalMillis(long fields) {
+        long epochDay = CivilCalendar.toEpochDay(DateTimeReader.year(fields), DateTimeReader.month(fields),
+                                                 DateTimeReader.day(fields));
+        return epochDay * CivilCalendar.MILLIS_PER_DAY + DateTimeReader.hour(fields) * MILLIS_PER_HOUR
+                + DateTimeReader.minute(fields) * MILLIS_PER_MINUTE + DateTimeReader.second(fields) * MILLIS_PER_SECOND
+                + DateTimeReader.millis(fields);
+    }
+
+    /**
+     * LocalDateTime转本地毫秒，超出long范围时抛出ArithmeticException，与Instant.toEpochMilli一致
+     */
+    static long toLocalMillis(LocalDateTime dateTime) {
+        return Math.addExact(Math.multiplyExact(dateTime.toLocalDate().toEpochDay(), CivilCalendar.MILLIS_PER_DAY),
+                             dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_MILLI);
+    }
+
+    static LocalDateTime toLocalDateTime(long localMillis) {
+        long epochSecond = Math.floorDiv(localMillis, MILLIS_PER_SECOND);
+        int nanos = (int) Math.floorMod(localMillis, MILLIS_PER_SECOND) * NANOS_PER_MILLI;
+        return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+    }
+
+    /**
+     * 纪元毫秒转本地毫秒，超出long范围时抛出ArithmeticException
+     */
+    static long epochToLocalMillis(long epochMillis, ZoneId zone) {
+        if (zone instanceof ZoneOffset) {
+            return Math.addExact(epochMillis, ((ZoneOffset) zone).getTotalSeconds() * MILLIS_PER_SECOND);
+        }
+        return ZoneOffsetTable.of(zone).toLocalMillis(epochMillis);
+    }
+
+    /**
+     * 本地毫秒转纪元毫秒，夏令时间隙向后顺延、重叠取较早偏移，与LocalDateTime.atZone一致；
+     * 超出long范围时抛出ArithmeticException
+     */
+    static long localToEpochMillis(long localMillis, ZoneId zone) {
+        if (zone instanceof ZoneOffset) {
+            return Math.subtractExact(localMillis, ((ZoneOffset) zone).getTotalSeconds() * MILLIS_PER_SECOND);
+        }
+        return ZoneOffsetTable.of(zone).toEpochMillis(localMillis);
+    }
+}
@@ -0,0 +1,293 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+/**
+ * 规范化的半开区间[start, end)集合，值为纪元毫秒等任意long
+ * 区间两两不相交且不相邻，按起点升序存于一个long数组(起点、终点交替)，严格递增；
+ * 点查询与重叠判断二分完成，并、交、差对两个有序数组线性归并
+ * 实例不可变：修改操作返回新实例，写方发布新引用即可，读方持有的实例就是快照
+ */
+public final class IntervalSet {
+
+    private static final IntervalSet EMPTY = new IntervalSet(new long[0]);
+
+    /**
+     * 起点、终点交替，严格递增
+     */
+    private final long[] bounds;
+
+    private IntervalSet(long[] bounds) {
+        this.bounds = bounds;
+    }
+
+    public static IntervalSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 单个区间，start等于end时为空集
+     *
+     * @throws IllegalArgumentException start大于end
+     */
+    public static IntervalSet of(long start, long end) {
+        checkRange(start, end);
+        return start == end ? EMPTY : new IntervalSet(new long[]{start, end});
+    }
+
+    /**
+     * 批量建立，区间可无序、重叠，空区间被忽略；O(n log n)
+     * 并集只取决于各点被覆盖的次数是否为0，起点与终点分别排序后扫描即可，无需保持配对
+     *
+     * @param starts 起点
+     * @param ends   终点，与起点一一对应
+     * @throws IllegalArgumentException 长度不同或起点大于终点
+     */
+    public static IntervalSet of(long[] starts, long[] ends) {
+        checkLengths(starts.length, ends.length);
+        LongArrayBuilder sortedStarts = new LongArrayBuilder(starts.length);
+        LongArrayBuilder sortedEnds = new LongArrayBuilder(ends.length);
+        for (int i = 0; i < starts.length; i++) {
+            checkRange(starts[i], ends[i]);
+            if (starts[i] < ends[i]) {
+                sortedStarts.add(starts[i]);
+                sortedEnds.add(ends[i]);
+            }
+        }
+        long[] s = sortedStarts.toArray();
+        long[] e = sortedEnds.toArray();
+        Arrays.sort(s);
+        Arrays.sort(e);
+        LongArrayBuilder bounds = new LongArrayBuilder(s.length * 2);
+        int depth = 0;
+        int i = 0;
+        int j = 0;
+        // 同一点上先处理起点，相邻区间因此合并
+        while (j < e.length) {
+            if (i < s.length && s[i] <= e[j]) {
+                if (depth++ == 0) {
+                    bounds.add(s[i]);
+                }
+                i++;
+            } else {
+                if (--depth == 0) {
+                    bounds.add(e[j]);
+                }
+                j++;
+            }
+        }
+        return bounds.size() == 0 ? EMPTY : new IntervalSet(bounds.toArray());
+    }
+
+    /**
+     * 由日期时间区间批量建立，按zone换算为纪元毫秒
+     *
+     * @param starts 起点
+     * @param ends   终点，与起点一一对应
+     * @param zone   时区
+     * @throws IllegalArgumentException 长度不同或起点晚于终点
+     */
+    public static IntervalSet of(LocalDateTime[] starts, LocalDateTime[] ends, ZoneId zone) {
+        checkLengths(starts.length, ends.length);
+        long[] s = new long[starts.length];
+        long[] e = new long[ends.length];
+        for (int i = 0; i < s.length; i++) {
+            s[i] = EpochTimeUtils.toEpochMillis(starts[i], zone);
+            e[i] = EpochTimeUtils.toEpochMillis(ends[i], zone);
+        }
+        return of(s, e);
+    }
+
+    /**
+     * 不相交区间的个数
+     */
+    public int size() {
+        return bounds.length / 2;
+    }
+
+    public boolean isEmpty() {
+        return bounds.length == 0;
+    }
+
+    /**
+     * 第index个区间的起点，按升序
+     */
+    public long getStart(int index) {
+        checkIndex(index);
+        return bounds[index * 2];
+    }
+
+    /**
+     * 第index个区间的终点(不含)
+     */
+    public long getEnd(int index) {
+        checkIndex(index);
+        return bounds[index * 2 + 1];
+    }
+
+    /**
+     * 各区间长度之和
+     */
+    public long totalLength() {
+        long total = 0;
+        for (int i = 0; i < bounds.length; i += 2) {
+            total += bounds[i + 1] - bounds[i];
+        }
+        return total;
+    }
+
+    /**
+     * 是否包含点value
+     */
+    public boolean contains(long value) {
+        int i = Arrays.binarySearch(bounds, value);
+        // 恰为边界时只有起点被包含；否则插入点为奇数说明落在某个区间内
+        return i >= 0 ? (i & 1) == 0 : ((-i - 1) & 1) == 1;
+    }
+
+    /**
+     * 是否完整包含[start, end)，空区间总被包含
+     *
+     * @throws IllegalArgumentException start大于end
+     */
+    public boolean encloses(long start, long end) {
+        checkRange(start, end);
+        if (start == end) {
+            return true;
+        }
+        int k = firstEndAfter(start);
+        return k < size() && bounds[k * 2] <= start && bounds[k * 2 + 1] >= end;
+    }
+
+    /**
+     * 是否与[start, end)有交集
+     *
+     * @throws IllegalArgumentException start大于end
+     */
+    public boolean overlaps(long start, long end) {
+        checkRange(start, end);
+        int k = firstEndAfter(start);
+        return start < end && k < size() && bounds[k * 2] < end;
+    }
+
+    public IntervalSet union(IntervalSet other) {
+        return combine(other, Operation.UNION);
+    }
+
+    public IntervalSet intersection(IntervalSet other) {
+        return combine(other, Operation.INTERSECTION);
+    }
+
+    /**
+     * 属于本集合而不属于other的部分
+     */
+    public IntervalSet difference(IntervalSet other) {
+        return combine(other, Operation.DIFFERENCE);
+    }
+
+    /**
+     * 终点大于value的第一个区间的下标
+     */
+    private int firstEndAfter(long value) {
+        int lo = 0;
+        int hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (bounds[mid * 2 + 1] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private enum Operation {
+        UNION, INTERSECTION, DIFFERENCE;
+
+        boolean test(boolean a, boolean b) {
+            switch (this) {
+                case UNION:
+                    return a || b;
+                case INTERSECTION:
+                    return a && b;
+                default:
+                    return a && !b;
+            }
+        }
+    }
+
+    /**
+     * 按坐标归并两组边界，每经过一个边界翻转对应集合的内外状态，结果状态变化处即输出边界
+     * 同一坐标上的边界一并处理，输出仍严格递增
+     */
+    private IntervalSet combine(IntervalSet other, Operation operation) {
+        long[] a = bounds;
+        long[] b = other.bounds;
+        LongArrayBuilder result = new LongArrayBuilder(a.length + b.length);
+        boolean inA = false;
+        boolean inB = false;
+        boolean inResult = false;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            long point = j >= b.length || (i < a.length && a[i] <= b[j]) ? a[i] : b[j];
+            if (i < a.length && a[i] == point) {
+                inA = !inA;
+                i++;
+            }
+            if (j < b.length && b[j] == point) {
+                inB = !inB;
+                j++;
+            }
+            boolean in = operation.test(inA, inB);
+            if (in != inResult) {
+                result.add(point);
+                inResult = in;
+            }
+        }
+        return result.size() == 0 ? EMPTY : new IntervalSet(result.toArray());
+    }
+
+    static void checkLengths(int starts, int ends) {
+        if (starts != ends) {
+            throw new IllegalArgumentException("starts and ends differ in length: " + starts + ", " + ends);
+        }
+    }
+
+    static void checkRange(long start, long end) {
+        if (start > end) {
+            throw new IllegalArgumentException("start " + start + " is after end " + end);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size());
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof IntervalSet && Arrays.equals(bounds, ((IntervalSet) o).bounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bounds);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < bounds.length; i += 2) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('[').append(bounds[i]).append(", ").append(bounds[i + 1]).append(')');
+        }
+        return sb.append('}').toString();
+    }
+}
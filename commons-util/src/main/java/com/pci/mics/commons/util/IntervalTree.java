@@ -0,0 +1,196 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * 静态区间树，回答"哪些区间包含某点"与"哪些区间与[start, end)重叠"
+ * 区间按起点排序存于数组，以区间中点为根的隐式平衡二叉树在每个节点记录子树内的最大终点，
+ * 查询时最大终点不超过查询起点的子树整体跳过，起点超过查询终点的右侧整体跳过，复杂度O(log n + k)
+ * 与IntervalSet不同，重叠、重复的区间均原样保留，结果为输入数组中的下标，按区间起点升序
+ * 批量建立后不可变，可在线程间共享
+ */
+public final class IntervalTree {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final int[] ids;
+    /**
+     * 以各位置为根的子树内的最大终点
+     */
+    private final long[] maxEnds;
+
+    private IntervalTree(long[] starts, long[] ends, int[] ids) {
+        this.starts = starts;
+        this.ends = ends;
+        this.ids = ids;
+        this.maxEnds = new long[starts.length];
+        buildMaxEnds(0, starts.length);
+    }
+
+    /**
+     * 批量建立，O(n log n)；空区间保留但不会被任何查询命中
+     *
+     * @param starts 起点
+     * @param ends   终点(不含)，与起点一一对应
+     * @throws IllegalArgumentException 长度不同或起点大于终点
+     */
+    public static IntervalTree of(long[] starts, long[] ends) {
+        IntervalSet.checkLengths(starts.length, ends.length);
+        for (int i = 0; i < starts.length; i++) {
+            IntervalSet.checkRange(starts[i], ends[i]);
+        }
+        int[] order = sortByKey(starts);
+        long[] sortedStarts = new long[order.length];
+        long[] sortedEnds = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+        }
+        return new IntervalTree(sortedStarts, sortedEnds, order);
+    }
+
+    /**
+     * 由日期时间区间批量建立，按zone换算为纪元毫秒
+     *
+     * @param starts 起点
+     * @param ends   终点(不含)，与起点一一对应
+     * @param zone   时区
+     * @throws IllegalArgumentException 长度不同或起点晚于终点
+     */
+    public static IntervalTree of(LocalDateTime[] starts, LocalDateTime[] ends, ZoneId zone) {
+        IntervalSet.checkLengths(starts.length, ends.length);
+        long[] s = new long[starts.length];
+        long[] e = new long[ends.length];
+        for (int i = 0; i < s.length; i++) {
+            s[i] = EpochTimeUtils.toEpochMillis(starts[i], zone);
+            e[i] = EpochTimeUtils.toEpochMillis(ends[i], zone);
+        }
+        return of(s, e);
+    }
+
+    /**
+     * 区间个数
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * 包含value的区间的下标
+     */
+    public int[] containing(long value) {
+        IntStream.Builder builder = IntStream.builder();
+        forEachContaining(value, builder);
+        return builder.build().toArray();
+    }
+
+    /**
+     * 依次处理包含value的区间的下标，不分配内存
+     */
+    public void forEachContaining(long value, IntConsumer action) {
+        visit(0, starts.length, value, value, action);
+    }
+
+    /**
+     * 与[start, end)重叠的区间的下标，空的查询区间没有结果
+     *
+     * @throws IllegalArgumentException start大于end
+     */
+    public int[] overlapping(long start, long end) {
+        IntStream.Builder builder = IntStream.builder();
+        forEachOverlapping(start, end, builder);
+        return builder.build().toArray();
+    }
+
+    /**
+     * 依次处理与[start, end)重叠的区间的下标，不分配内存
+     *
+     * @throws IllegalArgumentException start大于end
+     */
+    public void forEachOverlapping(long start, long end, IntConsumer action) {
+        IntervalSet.checkRange(start, end);
+        if (start < end) {
+            visit(0, starts.length, end - 1, start, action);
+        }
+    }
+
+    /**
+     * 全部区间合并后的集合
+     */
+    public IntervalSet toIntervalSet() {
+        return IntervalSet.of(starts, ends);
+    }
+
+    /**
+     * 中序遍历[lo, hi)，报告起点不大于maxStart且终点大于minEnd的非空区间
+     */
+    private void visit(int lo, int hi, long maxStart, long minEnd, IntConsumer action) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= minEnd) {
+                return;
+            }
+            visit(lo, mid, maxStart, minEnd, action);
+            if (starts[mid] > maxStart) {
+                return;
+            }
+            if (ends[mid] > minEnd && ends[mid] > starts[mid]) {
+                action.accept(ids[mid]);
+            }
+            lo = mid + 1;
+        }
+    }
+
+    private long buildMaxEnds(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    /**
+     * 按键稳定排序的下标，自底向上归并，不装箱
+     */
+    private static int[] sortByKey(long[] keys) {
+        int n = keys.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] buffer = new int[n];
+        for (int width = 1; width < n; width *= 2) {
+            for (int lo = 0; lo < n - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, n);
+                if (keys[order[mid - 1]] <= keys[order[mid]]) {
+                    continue;
+                }
+                int i = lo;
+                int j = mid;
+                int k = lo;
+                while (i < mid && j < hi) {
+                    buffer[k++] = keys[order[j]] < keys[order[i]] ? order[j++] : order[i++];
+                }
+                while (i < mid) {
+                    buffer[k++] = order[i++];
+                }
+                while (j < hi) {
+                    buffer[k++] = order[j++];
+                }
+                System.arraycopy(buffer, lo, order, lo, hi - lo);
+            }
+        }
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        return "IntervalTree[size=" + starts.length + "]";
+    }
+}
@@ -0,0 +1,206 @@
+package com.pci.mics.commons.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * java.util.Date的格式化与解析，用于替换按调用新建或放在ThreadLocal中的SimpleDateFormat
+ * 模式限DateTimeLayout支持的定长模式，如DateTimePattern中的各模式；纪元毫秒与本地毫秒经ZoneOffsetTable互转，
+ * 字段按整数运算读写，不经过Calendar、LocalDateTime或ZonedDateTime
+ * 结果与同模式、同时区的SimpleDateFormat(宽松模式)一致：
+ * 月、日、时、分、秒越界时向高位进位，如"2019-13-01"为2020年1月1日；夏令时间隙向后顺延，重叠取较晚偏移；
+ * 快速路径只覆盖ZoneOffsetTable的默认年份范围(UTC 1900年至2100年，两端各留出最大偏移18小时)，
+ * 且仅在ZoneOffsetTable.isLegacyCompatible()时启用，如Africa/Windhoek全部交给SimpleDateFormat；
+ * 范围以外，或文本不是定长形式(如缺少前导零、带尾随字符)时交给该线程缓存的SimpleDateFormat处理，
+ * 解析失败同样抛出ParseException
+ * 实例不可变，可在线程间共享
+ */
+public final class LegacyDateFormat {
+
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    /**
+     * 快速路径的纪元毫秒范围
+     */
+    private static final long MIN_EPOCH_MILLIS = ZoneOffsetTable.MIN_INNER_EPOCH_MILLIS;
+    private static final long MAX_EPOCH_MILLIS = ZoneOffsetTable.MAX_INNER_EPOCH_MILLIS;
+    /**
+     * 快速路径的本地毫秒范围，换算出的纪元毫秒不超出[MIN_EPOCH_MILLIS, MAX_EPOCH_MILLIS)
+     */
+    private static final long MIN_LOCAL_MILLIS = MIN_EPOCH_MILLIS + ZoneOffsetTable.MAX_OFFSET_MILLIS;
+    private static final long MAX_LOCAL_MILLIS = MAX_EPOCH_MILLIS - ZoneOffsetTable.MAX_OFFSET_MILLIS;
+
+    private final DateTimeLayout layout;
+    private final ZoneOffsetTable table;
+    /**
+     * ZoneOffsetTable与TimeZone不一致时为false，全部交给SimpleDateFormat
+     */
+    private final boolean fast;
+    /**
+     * 快速路径之外的输入，每个线程一个实例
+     */
+    private final ThreadLocal<SimpleDateFormat> fallback;
+
+    private LegacyDateFormat(DateTimeLayout layout, ZoneId zone) {
+        for (int i = 0; i < layout.length(); i++) {
+            char c = layout.charAt(i);
+            if (c >= '0' && c <= '9') {
+                throw new IllegalArgumentException("Unsupported pattern: " + layout.getPattern());
+            }
+        }
+        this.layout = layout;
+        this.table = ZoneOffsetTable.of(zone);
+        TimeZone timeZone = TimeZone.getTimeZone(zone);
+        this.fast = table.isLegacyCompatible();
+        this.fallback = ThreadLocal.withInitial(() -> {
+            SimpleDateFormat format = new SimpleDateFormat(layout.getPattern(), Locale.ROOT);
+            format.setTimeZone(timeZone);
+            return format;
+        });
+    }
+
+    /**
+     * 系统默认时区的实例，同new SimpleDateFormat(pattern)
+     *
+     * @param pattern 模式，如DateTimePattern.LONG_DATETIME_PATTERN
+     * @throws IllegalArgumentException 模式不受支持
+     */
+    public static LegacyDateFormat of(String pattern) {
+        return of(pattern, ZoneId.systemDefault());
+    }
+
+    /**
+     * 指定时区的实例
+     *
+     * @param pattern 模式
+     * @param zone    时区
+     * @throws IllegalArgumentException 模式不受支持
+     */
+    public static LegacyDateFormat of(String pattern, ZoneId zone) {
+        DateTimeLayout layout = DateTimeLayout.lookup(pattern);
+        if (layout == null) {
+            throw new IllegalArgumentException("Unsupported pattern: " + pattern);
+        }
+        return of(layout, zone);
+    }
+
+    /**
+     * 指定布局与时区的实例
+     *
+     * @param layout 布局
+     * @param zone   时区
+     * @throws IllegalArgumentException 布局含数字分隔符
+     */
+    public static LegacyDateFormat of(DateTimeLayout layout, ZoneId zone) {
+        if (layout == null || zone == null) {
+            throw new IllegalArgumentException("layout and zone must not be null");
+        }
+        return new LegacyDateFormat(layout, zone);
+    }
+
+    public String getPattern() {
+        return layout.getPattern();
+    }
+
+    public ZoneId getZone() {
+        return table.getZone();
+    }
+
+    /**
+     * 格式化，同SimpleDateFormat.format(Date)
+     *
+     * @param date 日期
+     */
+    public String format(Date date) {
+        return format(date.getTime());
+    }
+
+    /**
+     * 格式化纪元毫秒
+     *
+     * @param epochMillis 纪元毫秒
+     */
+    public String format(long epochMillis) {
+        if (!fast || epochMillis < MIN_EPOCH_MILLIS || epochMillis >= MAX_EPOCH_MILLIS) {
+            return fallback.get().format(new Date(epochMillis));
+        }
+        long localMillis = table.toLocalMillis(epochMillis);
+        int date = CivilCalendar.toDateInt(Math.floorDiv(localMillis, CivilCalendar.MILLIS_PER_DAY));
+        int millisOfDay = (int) Math.floorMod(localMillis, CivilCalendar.MILLIS_PER_DAY);
+        char[] chars = new char[layout.length()];
+        DateTimeWriter.write(chars, 0, layout, CivilCalendar.dateYear(date), CivilCalendar.dateMonth(date),
+                             CivilCalendar.dateDay(date), millisOfDay / (int) MILLIS_PER_HOUR,
+                             millisOfDay / (int) MILLIS_PER_MINUTE % 60, millisOfDay / (int) MILLIS_PER_SECOND % 60,
+                             millisOfDay % (int) MILLIS_PER_SECOND);
+        return new String(chars);
+    }
+
+    /**
+     * 解析，同SimpleDateFormat.parse(String)
+     *
+     * @param text 文本
+     * @throws ParseException 文本不合法
+     */
+    public Date parse(String text) throws ParseException {
+        return new Date(parseEpochMillis(text));
+    }
+
+    /**
+     * 解析为纪元毫秒
+     *
+     * @param text 文本
+     * @throws ParseException 文本不合法
+     */
+    public long parseEpochMillis(String text) throws ParseException {
+        long localMillis = fast ? parseLocalMillis(text) : Long.MIN_VALUE;
+        if (localMillis < MIN_LOCAL_MILLIS || localMillis >= MAX_LOCAL_MILLIS) {
+            return fallback.get().parse(text).getTime();
+        }
+        return table.toEpochMillis(localMillis, ZoneOffsetTable.TransitionPolicy.LATER);
+    }
+
+    /**
+     * 定长形式的文本按宽松规则换算本地毫秒，不是定长形式时返回Long.MIN_VALUE
+     */
+    private long parseLocalMillis(String text) {
+        if (text.length() != layout.length()) {
+            return Long.MIN_VALUE;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char expected = layout.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            if (Character.isLetter(expected) ? !digit : c != expected) {
+                return Long.MIN_VALUE;
+            }
+        }
+        long months = DateTimeReader.read(text, layout.yearOffset, 4) * (long) MONTHS_PER_YEAR
+                + read(text, layout.monthOffset, 2, 1) - 1;
+        long epochDay = CivilCalendar.toEpochDay(Math.floorDiv(months, MONTHS_PER_YEAR),
+                                                 (int) Math.floorMod(months, MONTHS_PER_YEAR) + 1, 1)
+                + read(text, layout.dayOffset, 2, 1) - 1;
+        return epochDay * CivilCalendar.MILLIS_PER_DAY
+                + read(text, layout.hourOffset, 2, 0) * MILLIS_PER_HOUR
+                + read(text, layout.minuteOffset, 2, 0) * MILLIS_PER_MINUTE
+                + read(text, layout.secondOffset, 2, 0) * MILLIS_PER_SECOND
+                + read(text, layout.milliOffset, 3, 0);
+    }
+
+    /**
+     * 读取字段，布局中没有该字段时取Calendar的默认值
+     */
+    private static int read(String text, int offset, int width, int absent) {
+        return offset >= 0 ? DateTimeReader.read(text, offset, width) : absent;
+    }
+
+    @Override
+    public String toString() {
+        return "LegacyDateFormat{pattern=" + layout.getPattern() + ", zone=" + table.getZone() + '}';
+    }
+}
@@ -0,0 +1,218 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LocalDate享元缓存
+ * 范围内每天预建一个LocalDate实例，解析结果统一返回该实例，大量重复日期只占一份堆内存；
+ * 范围内日期按DateTimePattern中的日期模式格式化的字符串在首次使用时缓存
+ * 非定长模式(需DateTimeFormatter解析)另按原始字符串做有界记忆，淘汰策略同BoundedCache
+ * 线程安全
+ */
+public final class LocalDateCache {
+
+    public static final String FIRST_YEAR_PROPERTY = "pci.commons.datetime.dateCache.firstYear";
+    public static final String LAST_YEAR_PROPERTY = "pci.commons.datetime.dateCache.lastYear";
+    public static final String MEMO_SIZE_PROPERTY = "pci.commons.datetime.dateCache.memoSize";
+
+    private static final int DEFAULT_FIRST_YEAR = 1970;
+    private static final int DEFAULT_LAST_YEAR = 2069;
+    private static final int DEFAULT_MEMO_SIZE = 4096;
+    /**
+     * 单独记忆的模式数上限
+     */
+    private static final int MAXIMUM_MEMO_PATTERNS = 64;
+
+    private final long firstEpochDay;
+    private final LocalDate[] dates;
+    /**
+     * 各日期布局的格式化结果，按天懒加载；String不可变，并发写入同一位置只会写入相同内容
+     */
+    private final Map<DateTimeLayout, String[]> formatted = new ConcurrentHashMap<>();
+    private final BoundedCache<String, BoundedCache<String, LocalDate>> memos =
+            new BoundedCache<>(MAXIMUM_MEMO_PATTERNS);
+    private final int memoSize;
+
+    private LocalDateCache(LocalDate first, LocalDate last, int memoSize) {
+        if (first == null || last == null || last.isBefore(first)) {
+            throw new IllegalArgumentException("Invalid range: " + first + " to " + last);
+        }
+        long days = last.toEpochDay() - first.toEpochDay() + 1;
+        if (days > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Range too large: " + first + " to " + last);
+        }
+        if (memoSize <= 0) {
+            throw new IllegalArgumentException("memoSize must be positive");
+        }
+        this.firstEpochDay = first.toEpochDay();
+        this.dates = new LocalDate[(int) days];
+        LocalDate date = first;
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = date;
+            date = date.plusDays(1);
+        }
+        this.memoSize = memoSize;
+    }
+
+    /**
+     * 默认实例，范围与记忆容量由系统属性配置，默认1970至2069年、每个模式记忆4096个字符串
+     */
+    public static LocalDateCache getDefault() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * @param first    范围内第一天
+     * @param last     范围内最后一天
+     * @param memoSize 每个非定长模式记忆的字符串数
+     * @throws IllegalArgumentException 范围或容量不合法
+     */
+    public static LocalDateCache of(LocalDate first, LocalDate last, int memoSize) {
+        return new LocalDateCache(first, last, memoSize);
+    }
+
+    public LocalDate getFirst() {
+        return dates[0];
+    }
+
+    public LocalDate getLast() {
+        return dates[dates.length - 1];
+    }
+
+    /**
+     * 是否在缓存范围内
+     */
+    public boolean contains(long epochDay) {
+        return epochDay - firstEpochDay >= 0 && epochDay - firstEpochDay < dates.length;
+    }
+
+    /**
+     * 按纪元日取日期，范围外新建
+     *
+     * @param epochDay 纪元日
+     */
+    public LocalDate ofEpochDay(long epochDay) {
+        return contains(epochDay) ? dates[(int) (epochDay - firstEpochDay)] : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * 按年月日取日期，范围外新建
+     *
+     * @throws java.time.DateTimeException 日期不合法
+     */
+    public LocalDate of(int year, int month, int day) {
+        if (month >= 1 && month <= 12 && day >= 1 && day <= CivilCalendar.lengthOfMonth(year, month)) {
+            long epochDay = CivilCalendar.toEpochDay(year, month, day);
+            if (contains(epochDay)) {
+                return dates[(int) (epochDay - firstEpochDay)];
+            }
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * 范围内的日期换成共享实例，范围外原样返回
+     *
+     * @param date 日期
+     */
+    public LocalDate canonical(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+        long epochDay = date.toEpochDay();
+        return contains(epochDay) ? dates[(int) (epochDay - firstEpochDay)] : date;
+    }
+
+    /**
+     * 格式化，结果与DateTimeWriter.format一致；DateTimePattern中不含时间的布局复用缓存的字符串
+     *
+     * @param date   日期
+     * @param layout 布局
+     */
+    public String format(LocalDate date, DateTimeLayout layout) {
+        long epochDay = date.toEpochDay();
+        if (!contains(epochDay) || layout.hasTime() || DateTimeLayout.forPattern(layout.getPattern()) != layout) {
+            return DateTimeWriter.format(date, layout);
+        }
+        String[] strings = formatted.get(layout);
+        if (strings == null) {
+            strings = formatted.computeIfAbsent(layout, l -> new String[dates.length]);
+        }
+        int index = (int) (epochDay - firstEpochDay);
+        String text = strings[index];
+        if (text == null) {
+            text = DateTimeWriter.format(date, layout);
+            strings[index] = text;
+        }
+        return text;
+    }
+
+    /**
+     * 按布局解析，与DateTimeReader.parseLocalDate一致，范围内返回共享实例
+     *
+     * @param text   文本
+     * @param layout 布局
+     * @throws java.time.format.DateTimeParseException 文本不合法
+     */
+    public LocalDate parse(CharSequence text, DateTimeLayout layout) {
+        long fields = DateTimeReader.parseFields(text, 0, text.length(), layout);
+        if (fields != DateTimeReader.INVALID) {
+            return of(DateTimeReader.year(fields), DateTimeReader.month(fields), DateTimeReader.day(fields));
+        }
+        return canonical(DateTimeReader.parseLocalDate(text, layout));
+    }
+
+    /**
+     * 按模式解析，与DateTimeUtils.toLocalDate(String, String)一致，范围内返回共享实例
+     * 定长模式及CompiledPattern可编译的模式直接解析；其余模式先查记忆，未命中时由DateTimeFormatter解析，失败的输入不记忆
+     *
+     * @param text    文本，不能为空
+     * @param pattern 模式
+     * @throws java.time.format.DateTimeParseException 文本不合法
+     */
+    public LocalDate parse(String text, String pattern) {
+        DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+        if (layout != null) {
+            return parse(text, layout);
+        }
+        CompiledPattern compiled = pattern != null ? CompiledPattern.compile(pattern) : null;
+        if (compiled != null && compiled.isSpecialized()) {
+            long fields = compiled.parseDateFields(text);
+            if (fields != DateTimeReader.INVALID) {
+                return of(DateTimeReader.year(fields), DateTimeReader.month(fields), DateTimeReader.day(fields));
+            }
+            return canonical(compiled.parseLocalDate(text));
+        }
+        DateTimeFormatter formatter = DateTimeFormatters.ofDatePattern(pattern);
+        BoundedCache<String, LocalDate> memo = memos.get(pattern, p -> new BoundedCache<>(memoSize));
+        return memo.get(text, t -> canonical(LocalDate.parse(t, formatter)));
+    }
+
+    /**
+     * 字符串记忆的命中统计
+     */
+    public CacheStats memoStats() {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        long size = 0;
+        for (BoundedCache<String, LocalDate> memo : memos.values()) {
+            CacheStats stats = memo.stats();
+            hits += stats.getHitCount();
+            misses += stats.getMissCount();
+            evictions += stats.getEvictionCount();
+            size += stats.getSize();
+        }
+        return new CacheStats(hits, misses, evictions, size);
+    }
+
+    private static final class Holder {
+        private static final LocalDateCache DEFAULT = new LocalDateCache(
+                LocalDate.of(Integer.getInteger(FIRST_YEAR_PROPERTY, DEFAULT_FIRST_YEAR), 1, 1),
+                LocalDate.of(Integer.getInteger(LAST_YEAR_PROPERTY, DEFAULT_LAST_YEAR), 12, 31),
+                Integer.getInteger(MEMO_SIZE_PROPERTY, DEFAULT_MEMO_SIZE));
+    }
+}
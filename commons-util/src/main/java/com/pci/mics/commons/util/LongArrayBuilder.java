@@ -0,0 +1,43 @@
+package com.pci.mics.commons.util;
+
+import java.util.Arrays;
+
+/**
+ * 可增长的long数组
+ */
+final class LongArrayBuilder {
+
+    private long[] values;
+    private int size;
+
+    LongArrayBuilder() {
+        this(16);
+    }
+
+    LongArrayBuilder(int initialCapacity) {
+        this.values = new long[Math.max(initialCapacity, 1)];
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    void addAll(LongArrayBuilder other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,250 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 不抛异常的解析结果，可重复使用以避免每行创建对象
+ * 失败时记录原因与出错位置(相对解析区间的起点)，错误信息在调用getErrorMessage时才生成
+ * 非线程安全
+ */
+public final class ParseResult {
+
+    /**
+     * 失败原因
+     */
+    public enum Reason {
+        /**
+         * 成功
+         */
+        NONE,
+        /**
+         * 输入为null或空
+         */
+        EMPTY,
+        /**
+         * 文本与模式不符
+         */
+        INVALID_TEXT,
+        /**
+         * 模式之后存在多余文本
+         */
+        TRAILING_TEXT,
+        INVALID_YEAR,
+        INVALID_MONTH,
+        INVALID_DAY,
+        INVALID_HOUR,
+        INVALID_MINUTE,
+        INVALID_SECOND,
+        /**
+         * 布局不含时间字段，无法得到日期时间
+         */
+        MISSING_TIME,
+        /**
+         * 超出纪元毫秒的表示范围
+         */
+        OUT_OF_RANGE
+    }
+
+    private static final long NANOS_PER_MILLI = 1000_000L;
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private CharSequence text;
+    private int offset;
+    private int length;
+    private DateTimeLayout layout;
+
+    private Reason reason = Reason.NONE;
+    private int errorIndex = -1;
+    private long invalidValue;
+
+    private int year;
+    private int month;
+    private int day;
+    private int hour;
+    private int minute;
+    private int second;
+    private int nano;
+
+    public boolean isSuccess() {
+        return reason == Reason.NONE;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    /**
+     * 出错位置，成功时为-1
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+    /**
+     * 与DateTimeParseException相近的错误信息，成功时为null
+     */
+    public String getErrorMessage() {
+        switch (reason) {
+            case NONE:
+                return null;
+            case EMPTY:
+                return "Text must not be empty";
+            case INVALID_TEXT:
+                return "Text '" + region() + "' could not be parsed at index " + errorIndex;
+            case TRAILING_TEXT:
+                return "Text '" + region() + "' could not be parsed, unparsed text found at index " + errorIndex;
+            case MISSING_TIME:
+                return "Text '" + region() + "' could not be parsed: layout " + layout + " has no time";
+            case OUT_OF_RANGE:
+                return "Text '" + region() + "' could not be parsed: epoch millis overflow";
+            default:
+                return "Text '" + region() + "' could not be parsed: Invalid value for "
+                        + fieldName(reason) + ": " + invalidValue;
+        }
+    }
+
+    /**
+     * 本次解析使用的布局
+     */
+    public DateTimeLayout getLayout() {
+        return layout;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public int getHour() {
+        return hour;
+    }
+
+    public int getMinute() {
+        return minute;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    public int getNano() {
+        return nano;
+    }
+
+    /**
+     * @throws IllegalStateException 解析失败
+     */
+    public LocalDate toLocalDate() {
+        checkSuccess();
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * 仅含日期的布局取当天零点
+     *
+     * @throws IllegalStateException 解析失败
+     */
+    public LocalDateTime toLocalDateTime() {
+        checkSuccess();
+        return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    }
+
+    /**
+     * yyyyMMdd整数
+     *
+     * @throws IllegalStateException 解析失败或年份超出0001-9999
+     */
+    public int toDateInt() {
+        checkSuccess();
+        if (!DateTimeWriter.isWritable(year)) {
+            throw new IllegalStateException("Year out of range for yyyyMMdd: " + year);
+        }
+        return year * 10000 + month * 100 + day;
+    }
+
+    /**
+     * 转纪元毫秒，超出long范围时将结果置为失败(OUT_OF_RANGE)并返回Long.MIN_VALUE
+     *
+     * @param zone 时区
+     * @throws IllegalStateException 此前的解析已失败
+     */
+    public long toEpochMillis(ZoneId zone) {
+        checkSuccess();
+        long epochDay = CivilCalendar.toEpochDay(year, month, day);
+        long millisOfDay = ((hour * 60L + minute) * 60L + second) * MILLIS_PER_SECOND + nano / NANOS_PER_MILLI;
+        if (epochDay > (Long.MAX_VALUE - millisOfDay) / CivilCalendar.MILLIS_PER_DAY) {
+            fail(Reason.OUT_OF_RANGE, 0, 0);
+            return Long.MIN_VALUE;
+        }
+        return EpochTimeUtils.localToEpochMillis(epochDay * CivilCalendar.MILLIS_PER_DAY + millisOfDay, zone);
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess() ? "ParseResult[" + toLocalDateTime() + "]" : "ParseResult[" + getErrorMessage() + "]";
+    }
+
+    void reset(CharSequence text, int offset, int length, DateTimeLayout layout) {
+        this.text = text;
+        this.offset = offset;
+        this.length = length;
+        this.layout = layout;
+        this.reason = Reason.NONE;
+        this.errorIndex = -1;
+        this.invalidValue = 0;
+    }
+
+    boolean fail(Reason reason, int errorIndex, long invalidValue) {
+        this.reason = reason;
+        this.errorIndex = errorIndex;
+        this.invalidValue = invalidValue;
+        return false;
+    }
+
+    boolean succeed(int year, int month, int day, int hour, int minute, int second, int nano) {
+        this.year = year;
+        this.month = month;
+        this.day = day;
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        this.nano = nano;
+        return true;
+    }
+
+    private void checkSuccess() {
+        if (!isSuccess()) {
+            throw new IllegalStateException(getErrorMessage());
+        }
+    }
+
+    private CharSequence region() {
+        return text.subSequence(offset, offset + length);
+    }
+
+    private static String fieldName(Reason reason) {
+        switch (reason) {
+            case INVALID_YEAR:
+                return "YearOfEra";
+            case INVALID_MONTH:
+                return "MonthOfYear";
+            case INVALID_DAY:
+                return "DayOfMonth";
+            case INVALID_HOUR:
+                return "HourOfDay";
+            case INVALID_MINUTE:
+                return "MinuteOfHour";
+            default:
+                return "SecondOfMinute";
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.pci.mics.commons.util;
+
+import java.util.Arrays;
+
+/**
+ * 单个操作与模式的度量快照，不可变
+ * 各计数器分别读取，并发调用时彼此之间可能相差正在进行的少量调用
+ */
+public final class PatternMetrics {
+
+    private final DateTimeMetrics.Operation operation;
+    private final String pattern;
+    private final long callCount;
+    private final long failureCount;
+    private final long totalLatencyNanos;
+    private final long[] latencyHistogram;
+    private final long allocationSampleCount;
+    private final long totalAllocatedBytes;
+
+    PatternMetrics(DateTimeMetrics.Operation operation, String pattern, long callCount, long failureCount,
+                   long totalLatencyNanos, long[] latencyHistogram, long allocationSampleCount,
+                   long totalAllocatedBytes) {
+        this.operation = operation;
+        this.pattern = pattern;
+        this.callCount = callCount;
+        this.failureCount = failureCount;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.latencyHistogram = latencyHistogram;
+        this.allocationSampleCount = allocationSampleCount;
+        this.totalAllocatedBytes = totalAllocatedBytes;
+    }
+
+    public DateTimeMetrics.Operation getOperation() {
+        return operation;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * 调用次数
+     */
+    public long getCallCount() {
+        return callCount;
+    }
+
+    /**
+     * 失败次数
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * 失败率，无调用时为0
+     */
+    public double getFailureRate() {
+        return callCount == 0 ? 0.0 : (double) failureCount / callCount;
+    }
+
+    /**
+     * 被采样耗时的调用次数
+     */
+    public long getSampleCount() {
+        long count = 0;
+        for (long c : latencyHistogram) {
+            count += c;
+        }
+        return count;
+    }
+
+    /**
+     * 采样的平均耗时纳秒，无采样时为0
+     */
+    public double getMeanLatencyNanos() {
+        long samples = getSampleCount();
+        return samples == 0 ? 0.0 : (double) totalLatencyNanos / samples;
+    }
+
+    /**
+     * 耗时分位数的上界纳秒，即该分位所在桶的上沿，无采样时为0
+     *
+     * @param quantile 分位，0到1
+     */
+    public long getLatencyQuantileNanos(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be in [0, 1]: " + quantile);
+        }
+        long samples = getSampleCount();
+        if (samples == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * samples));
+        long seen = 0;
+        for (int i = 0; i < latencyHistogram.length; i++) {
+            seen += latencyHistogram[i];
+            if (seen >= rank) {
+                return i == latencyHistogram.length - 1 ? Long.MAX_VALUE : (2L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 耗时直方图，第i个元素为耗时落在[2^i, 2^(i+1))纳秒的采样数
+     */
+    public long[] getLatencyHistogram() {
+        return latencyHistogram.clone();
+    }
+
+    /**
+     * 采样的平均分配字节数，无采样或JVM不支持时为-1
+     */
+    public double getMeanAllocatedBytes() {
+        return allocationSampleCount == 0 ? -1.0 : (double) totalAllocatedBytes / allocationSampleCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PatternMetrics{" + operation + " '" + pattern + "', calls=" + callCount
+                + ", failures=" + failureCount + ", samples=" + getSampleCount()
+                + ", meanLatencyNanos=" + getMeanLatencyNanos()
+                + ", p99LatencyNanos=" + getLatencyQuantileNanos(0.99)
+                + ", meanAllocatedBytes=" + getMeanAllocatedBytes()
+                + ", latencyHistogram=" + Arrays.toString(latencyHistogram) + '}';
+    }
+}
@@ -0,0 +1,242 @@
+package com.pci.mics.commons.util;
+
+import java.time.ZoneId;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 按列计算日期、时间间隔，结果与DateTimeUtils.periodDays/periodWeeks/periodMonths/periodYears、
+ * periodMillis/periodSeconds逐行调用一致
+ * 日期列为纪元日int数组，时间列为纪元毫秒long数组；每个方法是一个不分配内存的下标循环，
+ * 天、周、毫秒只做整数减除，JIT可以向量化；月、年由整数运算换算公历年月日，规则同ChronoUnit：
+ * 结束日的日小于起始日时不足一个月，如1月31日到2月28日为0个月
+ * 输入达到并行阈值时按下标区间拆分到ForkJoinPool执行
+ */
+public final class PeriodColumns {
+    /**
+     * 默认并行阈值
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    /**
+     * 最小拆分粒度
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+    /**
+     * 每个工作线程分得的任务数
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private static final PeriodColumns DEFAULT =
+            new PeriodColumns(DEFAULT_PARALLEL_THRESHOLD, ForkJoinPool.commonPool());
+
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelThreshold 输入条数达到该值时并行执行，Integer.MAX_VALUE表示始终在调用线程执行
+     * @param pool              执行并行任务的线程池
+     */
+    public PeriodColumns(int parallelThreshold, ForkJoinPool pool) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("parallelThreshold must be positive");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        this.parallelThreshold = parallelThreshold;
+        this.pool = pool;
+    }
+
+    /**
+     * 默认实例，使用ForkJoinPool.commonPool()
+     */
+    public static PeriodColumns getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 相隔天数，result[i] = end[i] - start[i]；差值超出int范围时溢出
+     *
+     * @param startEpochDays 起始纪元日
+     * @param endEpochDays   结束纪元日
+     * @param result         结果，长度不小于输入
+     * @throws IllegalArgumentException 长度不匹配
+     */
+    public void days(int[] startEpochDays, int[] endEpochDays, int[] result) {
+        checkLengths(startEpochDays.length, endEpochDays.length, result.length);
+        run(startEpochDays.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = endEpochDays[i] - startEpochDays[i];
+            }
+        });
+    }
+
+    /**
+     * 相隔整周数，向零取整
+     *
+     * @param startEpochDays 起始纪元日
+     * @param endEpochDays   结束纪元日
+     * @param result         结果，长度不小于输入
+     * @throws IllegalArgumentException 长度不匹配
+     */
+    public void weeks(int[] startEpochDays, int[] endEpochDays, int[] result) {
+        checkLengths(startEpochDays.length, endEpochDays.length, result.length);
+        run(startEpochDays.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = (endEpochDays[i] - startEpochDays[i]) / DAYS_PER_WEEK;
+            }
+        });
+    }
+
+    /**
+     * 相隔整月数，同LocalDate.until(end, ChronoUnit.MONTHS)
+     *
+     * @param startEpochDays 起始纪元日
+     * @param endEpochDays   结束纪元日
+     * @param result         结果，长度不小于输入
+     * @throws IllegalArgumentException 长度不匹配
+     */
+    public void months(int[] startEpochDays, int[] endEpochDays, int[] result) {
+        checkLengths(startEpochDays.length, endEpochDays.length, result.length);
+        run(startEpochDays.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = monthsBetween(startEpochDays[i], endEpochDays[i]);
+            }
+        });
+    }
+
+    /**
+     * 相隔整年数，同LocalDate.until(end, ChronoUnit.YEARS)
+     *
+     * @param startEpochDays 起始纪元日
+     * @param endEpochDays   结束纪元日
+     * @param result         结果，长度不小于输入
+     * @throws IllegalArgumentException 长度不匹配
+     */
+    public void years(int[] startEpochDays, int[] endEpochDays, int[] result) {
+        checkLengths(startEpochDays.length, endEpochDays.length, result.length);
+        run(startEpochDays.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = monthsBetween(startEpochDays[i], endEpochDays[i]) / MONTHS_PER_YEAR;
+            }
+        });
+    }
+
+    /**
+     * 相隔毫秒，result[i] = end[i] - start[i]
+     *
+     * @param startEpochMillis 起始纪元毫秒
+     * @param endEpochMillis   结束纪元毫秒
+     * @param result           结果，长度不小于输入
+     * @throws IllegalArgumentException 长度不匹配
+     */
+    public void millis(long[] startEpochMillis, long[] endEpochMillis, long[] result) {
+        checkLengths(startEpochMillis.length, endEpochMillis.length, result.length);
+        run(startEpochMillis.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = endEpochMillis[i] - startEpochMillis[i];
+            }
+        });
+    }
+
+    /**
+     * 相隔秒数，向下取整，与Duration.getSeconds一致
+     *
+     * @param startEpochMillis 起始纪元毫秒
+     * @param endEpochMillis   结束纪元毫秒
+     * @param result           结果，长度不小于输入
+     * @throws IllegalArgumentException 长度不匹配
+     */
+    public void seconds(long[] startEpochMillis, long[] endEpochMillis, long[] result) {
+        checkLengths(startEpochMillis.length, endEpochMillis.length, result.length);
+        run(startEpochMillis.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = Math.floorDiv(endEpochMillis[i] - startEpochMillis[i], MILLIS_PER_SECOND);
+            }
+        });
+    }
+
+    /**
+     * 纪元毫秒转时区下的纪元日，用于按日期计算时间列的间隔
+     *
+     * @param epochMillis 纪元毫秒
+     * @param zone        时区
+     * @param result      结果，长度不小于输入
+     * @throws IllegalArgumentException 长度不匹配
+     */
+    public void toEpochDays(long[] epochMillis, ZoneId zone, int[] result) {
+        checkLengths(epochMillis.length, epochMillis.length, result.length);
+        ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+        run(epochMillis.length, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = (int) Math.floorDiv(table.toLocalMillis(epochMillis[i]), CivilCalendar.MILLIS_PER_DAY);
+            }
+        });
+    }
+
+    /**
+     * 同LocalDate.monthsUntil：月序之差，结束日的日小于起始日时少一个月，向零取整
+     */
+    private static int monthsBetween(int startEpochDay, int endEpochDay) {
+        return (int) ((CivilCalendar.monthDayIndex(endEpochDay) - CivilCalendar.monthDayIndex(startEpochDay)) / 32);
+    }
+
+    private static void checkLengths(int starts, int ends, int result) {
+        if (starts != ends) {
+            throw new IllegalArgumentException("starts and ends differ in length: " + starts + ", " + ends);
+        }
+        if (result < starts) {
+            throw new IllegalArgumentException("result is shorter than input: " + result + ", " + starts);
+        }
+    }
+
+    private void run(int size, RangeKernel kernel) {
+        if (size < parallelThreshold) {
+            kernel.apply(0, size);
+        } else {
+            int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD));
+            pool.invoke(new RangeTask(kernel, 0, size, chunkSize));
+        }
+    }
+
+    /**
+     * 处理下标区间[from, to)
+     */
+    @FunctionalInterface
+    private interface RangeKernel {
+        void apply(int from, int to);
+    }
+
+    /**
+     * 按下标区间二分拆分的任务
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeKernel kernel;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        RangeTask(RangeKernel kernel, int from, int to, int chunkSize) {
+            this.kernel = kernel;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunkSize) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(kernel, from, middle, chunkSize), new RangeTask(kernel, middle, to, chunkSize));
+            } else {
+                kernel.apply(from, to);
+            }
+        }
+    }
+}
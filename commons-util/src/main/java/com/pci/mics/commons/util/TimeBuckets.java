@@ -0,0 +1,156 @@
+package com.pci.mics.commons.util;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * 时间分桶
+ * 按本地时钟对齐的固定间隔划分纪元毫秒，桶以起始纪元毫秒标识，与isFiveMinute/isQuarter/isHalfHour/isFullClock的对齐方式一致
+ * 时区偏移的变化量为间隔的整数倍时各桶等长；否则变化点附近的桶以变化后的偏移重新对齐，
+ * 如Australia/Lord_Howe的30分钟夏令时配合60分钟的桶，变化点之后的桶起始可能早于前一个桶
+ * 桶序号按事件时间单调递增、相邻的桶连续：偏移的变化量不是间隔的整数倍时，在变化点处修正序号，
+ * 修正覆盖ZoneOffsetTable的默认年份范围(1900-2100)
+ */
+public final class TimeBuckets {
+    /**
+     * 每分钟毫秒数
+     */
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+    /**
+     * 每秒毫秒数
+     */
+    private static final long MILLIS_PER_SECOND = 1000L;
+
+    private final long intervalMillis;
+    private final ZoneId zone;
+    /**
+     * 变化量不是间隔整数倍的偏移变化点(纪元毫秒)，升序
+     */
+    private final long[] shiftTransitions;
+    /**
+     * corrections[i]为第i个变化点及之后的序号修正量
+     */
+    private final long[] corrections;
+
+    private TimeBuckets(long intervalMillis, ZoneId zone) {
+        if (intervalMillis <= 0 || CivilCalendar.MILLIS_PER_DAY % intervalMillis != 0) {
+            throw new IllegalArgumentException("interval must be positive and divide one day: " + intervalMillis);
+        }
+        if (zone == null) {
+            throw new IllegalArgumentException("zone must not be null");
+        }
+        this.intervalMillis = intervalMillis;
+        this.zone = zone;
+
+        long[] transitions = new long[0];
+        long[] sums = new long[0];
+        int count = 0;
+        long correction = 0;
+        ZoneRules rules = zone.getRules();
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(ZoneOffsetTable.MIN_INNER_EPOCH_MILLIS));
+        while (transition != null && transition.toEpochSecond() * MILLIS_PER_SECOND < ZoneOffsetTable.MAX_INNER_EPOCH_MILLIS) {
+            long shift = (long) (transition.getOffsetAfter().getTotalSeconds()
+                    - transition.getOffsetBefore().getTotalSeconds()) * MILLIS_PER_SECOND;
+            if (shift % intervalMillis != 0) {
+                long at = transition.toEpochSecond() * MILLIS_PER_SECOND;
+                // 变化点之后是新的桶，序号应比变化点之前的桶恰好大1
+                correction += 1 - (floorIndex(at) - floorIndex(at - 1));
+                if (count == transitions.length) {
+                    transitions = Arrays.copyOf(transitions, Math.max(8, count * 2));
+                    sums = Arrays.copyOf(sums, transitions.length);
+                }
+                transitions[count] = at;
+                sums[count] = correction;
+                count++;
+            }
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        this.shiftTransitions = Arrays.copyOf(transitions, count);
+        this.corrections = Arrays.copyOf(sums, count);
+    }
+
+    /**
+     * @param intervalMillis 间隔毫秒，需能整除一天
+     * @param zone           对齐所用的时区
+     */
+    public static TimeBuckets of(long intervalMillis, ZoneId zone) {
+        return new TimeBuckets(intervalMillis, zone);
+    }
+
+    /**
+     * @param minutes 间隔分钟，需能整除一天，如5、15、30、60
+     * @param zone    对齐所用的时区
+     */
+    public static TimeBuckets ofMinutes(int minutes, ZoneId zone) {
+        return new TimeBuckets(minutes * MILLIS_PER_MINUTE, zone);
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * 所在桶的起始纪元毫秒
+     */
+    public long floor(long epochMillis) {
+        return epochMillis - Math.floorMod(EpochTimeUtils.epochToLocalMillis(epochMillis, zone), intervalMillis);
+    }
+
+    /**
+     * 不早于epochMillis的第一个桶边界
+     */
+    public long ceil(long epochMillis) {
+        long floor = floor(epochMillis);
+        return floor == epochMillis ? floor : floor + intervalMillis;
+    }
+
+    /**
+     * 所在桶的序号，随epochMillis单调不减，相邻的桶序号连续
+     */
+    public long index(long epochMillis) {
+        long index = floorIndex(epochMillis);
+        if (shiftTransitions.length == 0 || epochMillis < shiftTransitions[0]) {
+            return index;
+        }
+        int i = Arrays.binarySearch(shiftTransitions, epochMillis);
+        return index + corrections[i >= 0 ? i : -i - 2];
+    }
+
+    /**
+     * 未经修正的序号，仅在偏移不变或变化量为间隔整数倍的区间内连续
+     */
+    private long floorIndex(long epochMillis) {
+        return Math.floorDiv(floor(epochMillis), intervalMillis);
+    }
+
+    /**
+     * 是否为桶边界
+     */
+    public boolean isAligned(long epochMillis) {
+        return floor(epochMillis) == epochMillis;
+    }
+
+    /**
+     * 批量取桶起始，结果写入dst，可与src为同一数组
+     */
+    public void floor(long[] src, long[] dst) {
+        if (dst.length < src.length) {
+            throw new IllegalArgumentException("dst is shorter than src");
+        }
+        for (int i = 0; i < src.length; i++) {
+            dst[i] = floor(src[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TimeBuckets[" + intervalMillis + "ms, " + zone + "]";
+    }
+}
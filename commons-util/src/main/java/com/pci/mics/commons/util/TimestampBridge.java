@@ -0,0 +1,304 @@
+package com.pci.mics.commons.util;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.TimeZone;
+
+/**
+ * java.sql.Timestamp与纪元毫秒、LocalDateTime、定长字符串的批量互转，用于JDBC批量写入与结果列读取
+ * 纪元毫秒与本地时间经ZoneOffsetTable换算，Timestamp只通过setTime、setNanos、getTime、getNanos读写，
+ * 不经过Timestamp.valueOf、toLocalDateTime使用的已废弃字段方法与Calendar；纳秒精度完整保留
+ * 本地时间处于夏令时间隙时向后顺延、重叠取较晚偏移，与Timestamp.valueOf一致
+ * 不带时区的方法按JVM默认时区，仅在ZoneOffsetTable默认范围内且偏移与java.util.TimeZone一致时换算，
+ * 其余交给Timestamp.valueOf、toLocalDateTime，结果与二者完全一致
+ * 写入时可传入可变的Timestamp反复使用，仅适用于在setTimestamp时即复制参数值的驱动
+ */
+public final class TimestampBridge {
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final int NANOS_PER_MILLI = 1000_000;
+    /**
+     * 不带时区的方法在该纪元毫秒范围内换算，范围外交给Timestamp自身(1582年以前为儒略历)
+     */
+    private static final long MIN_EPOCH_MILLIS = ZoneOffsetTable.MIN_INNER_EPOCH_MILLIS;
+    private static final long MAX_EPOCH_MILLIS = ZoneOffsetTable.MAX_INNER_EPOCH_MILLIS;
+    /**
+     * 对应的本地毫秒范围，换算出的纪元毫秒不超出[MIN_EPOCH_MILLIS, MAX_EPOCH_MILLIS)
+     */
+    private static final long MIN_LOCAL_MILLIS = MIN_EPOCH_MILLIS + ZoneOffsetTable.MAX_OFFSET_MILLIS;
+    private static final long MAX_LOCAL_MILLIS = MAX_EPOCH_MILLIS - ZoneOffsetTable.MAX_OFFSET_MILLIS;
+    private static final int MIN_YEAR = ZoneOffsetTable.DEFAULT_MIN_YEAR;
+    private static final int MAX_YEAR = ZoneOffsetTable.DEFAULT_MAX_YEAR;
+
+    private TimestampBridge() {
+    }
+
+    /**
+     * LocalDateTime转Timestamp，按JVM默认时区，与Timestamp.valueOf(LocalDateTime)一致
+     *
+     * @param dateTime 日期时间
+     */
+    public static Timestamp toTimestamp(LocalDateTime dateTime) {
+        ZoneOffsetTable table = defaultTable();
+        if (table == null || dateTime.getYear() < MIN_YEAR || dateTime.getYear() > MAX_YEAR) {
+            return Timestamp.valueOf(dateTime);
+        }
+        int nanos = dateTime.getNano();
+        long localMillis = EpochTimeUtils.toLocalMillis(dateTime) - nanos / NANOS_PER_MILLI;
+        if (localMillis < MIN_LOCAL_MILLIS || localMillis >= MAX_LOCAL_MILLIS) {
+            return Timestamp.valueOf(dateTime);
+        }
+        return set(null, table.toEpochMillis(localMillis, ZoneOffsetTable.TransitionPolicy.LATER), nanos);
+    }
+
+    /**
+     * LocalDateTime转Timestamp
+     *
+     * @param dateTime 日期时间
+     * @param zone     时区
+     * @param holder   写入结果的Timestamp，为null时新建
+     * @return holder或新建的Timestamp
+     * @throws ArithmeticException 超出纪元毫秒的范围
+     */
+    public static Timestamp toTimestamp(LocalDateTime dateTime, ZoneId zone, Timestamp holder) {
+        int nanos = dateTime.getNano();
+        long localMillis = EpochTimeUtils.toLocalMillis(dateTime) - nanos / NANOS_PER_MILLI;
+        long epochMillis = ZoneOffsetTable.of(zone).toEpochMillis(localMillis, ZoneOffsetTable.TransitionPolicy.LATER);
+        return set(holder, epochMillis, nanos);
+    }
+
+    /**
+     * Timestamp转LocalDateTime，按JVM默认时区，与Timestamp.toLocalDateTime()一致
+     *
+     * @param timestamp 时间戳
+     */
+    public static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        ZoneOffsetTable table = defaultTable();
+        long epochMillis = timestamp.getTime();
+        if (table == null || epochMillis < MIN_EPOCH_MILLIS || epochMillis >= MAX_EPOCH_MILLIS) {
+            return timestamp.toLocalDateTime();
+        }
+        return toLocalDateTime(timestamp, table);
+    }
+
+    /**
+     * Timestamp转LocalDateTime，保留纳秒
+     *
+     * @param timestamp 时间戳
+     * @param zone      时区
+     */
+    public static LocalDateTime toLocalDateTime(Timestamp timestamp, ZoneId zone) {
+        return toLocalDateTime(timestamp, ZoneOffsetTable.of(zone));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp, ZoneOffsetTable table) {
+        long epochMillis = Math.floorDiv(timestamp.getTime(), MILLIS_PER_SECOND) * MILLIS_PER_SECOND;
+        return EpochTimeUtils.toLocalDateTime(table.toLocalMillis(epochMillis)).withNano(timestamp.getNanos());
+    }
+
+    /**
+     * 纪元毫秒批量转Timestamp，EpochTimeUtils.INVALID_EPOCH_MILLIS转为null
+     *
+     * @param epochMillis 纪元毫秒
+     */
+    public static Timestamp[] toTimestamps(long[] epochMillis) {
+        Timestamp[] result = new Timestamp[epochMillis.length];
+        for (int i = 0; i < epochMillis.length; i++) {
+            if (epochMillis[i] != EpochTimeUtils.INVALID_EPOCH_MILLIS) {
+                result[i] = new Timestamp(epochMillis[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * LocalDateTime批量转Timestamp，null元素转为null
+     *
+     * @param values 日期时间
+     * @param zone   时区
+     */
+    public static Timestamp[] toTimestamps(LocalDateTime[] values, ZoneId zone) {
+        Timestamp[] result = new Timestamp[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[i] = toTimestamp(values[i], zone, null);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 定长布局字符串批量转Timestamp，null元素转为null；合法的输入与DateTimeReader解析结果一致
+     *
+     * @param texts  字符串
+     * @param layout 布局，如DateTimeLayout.LONG_DATETIME
+     * @param zone   时区
+     * @throws java.time.format.DateTimeParseException 存在不合法的字符串
+     */
+    public static Timestamp[] toTimestamps(CharSequence[] texts, DateTimeLayout layout, ZoneId zone) {
+        ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+        Timestamp[] result = new Timestamp[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            CharSequence text = texts[i];
+            if (text == null) {
+                continue;
+            }
+            long fields = DateTimeReader.parseFields(text, 0, text.length(), layout);
+            long localMillis;
+            if (fields != DateTimeReader.INVALID) {
+                localMillis = EpochTimeUtils.toLocalMillis(fields);
+            } else {
+                LocalDateTime dateTime = layout.hasTime() ? DateTimeReader.parseLocalDateTime(text, layout)
+                        : DateTimeReader.parseLocalDate(text, layout).atStartOfDay();
+                localMillis = EpochTimeUtils.toLocalMillis(dateTime);
+            }
+            result[i] = new Timestamp(table.toEpochMillis(localMillis, ZoneOffsetTable.TransitionPolicy.LATER));
+        }
+        return result;
+    }
+
+    /**
+     * Timestamp批量转纪元毫秒，毫秒以下截断，null元素转为EpochTimeUtils.INVALID_EPOCH_MILLIS
+     *
+     * @param values 时间戳
+     */
+    public static long[] toEpochMillis(Timestamp[] values) {
+        long[] result = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i] != null ? values[i].getTime() : EpochTimeUtils.INVALID_EPOCH_MILLIS;
+        }
+        return result;
+    }
+
+    /**
+     * Timestamp批量转纪元秒与纳秒，保留全部精度；null元素的秒为Long.MIN_VALUE、纳秒为0
+     *
+     * @param values       时间戳
+     * @param epochSeconds 写入纪元秒，长度不小于values
+     * @param nanos        写入秒内纳秒，长度不小于values
+     */
+    public static void toEpochSeconds(Timestamp[] values, long[] epochSeconds, int[] nanos) {
+        if (epochSeconds.length < values.length || nanos.length < values.length) {
+            throw new IllegalArgumentException("Output arrays are shorter than " + values.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            Timestamp value = values[i];
+            if (value == null) {
+                epochSeconds[i] = Long.MIN_VALUE;
+                nanos[i] = 0;
+            } else {
+                epochSeconds[i] = Math.floorDiv(value.getTime(), MILLIS_PER_SECOND);
+                nanos[i] = value.getNanos();
+            }
+        }
+    }
+
+    /**
+     * Timestamp批量转LocalDateTime，保留纳秒，null元素转为null
+     *
+     * @param values 时间戳
+     * @param zone   时区
+     */
+    public static LocalDateTime[] toLocalDateTimes(Timestamp[] values, ZoneId zone) {
+        LocalDateTime[] result = new LocalDateTime[values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                result[i] = toLocalDateTime(values[i], zone);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 设置TIMESTAMP参数，value为null时设置为NULL
+     *
+     * @param statement 语句
+     * @param index     参数位置，从1开始
+     * @param value     日期时间
+     * @param zone      时区
+     * @param holder    反复使用的Timestamp，为null时每次新建
+     */
+    public static void setTimestamp(PreparedStatement statement, int index, LocalDateTime value, ZoneId zone,
+                                    Timestamp holder) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.TIMESTAMP);
+        } else {
+            statement.setTimestamp(index, toTimestamp(value, zone, holder));
+        }
+    }
+
+    /**
+     * 设置TIMESTAMP参数，epochMillis为EpochTimeUtils.INVALID_EPOCH_MILLIS时设置为NULL
+     *
+     * @param statement   语句
+     * @param index       参数位置，从1开始
+     * @param epochMillis 纪元毫秒
+     * @param holder      反复使用的Timestamp，为null时每次新建
+     */
+    public static void setTimestamp(PreparedStatement statement, int index, long epochMillis, Timestamp holder)
+            throws SQLException {
+        if (epochMillis == EpochTimeUtils.INVALID_EPOCH_MILLIS) {
+            statement.setNull(index, Types.TIMESTAMP);
+        } else if (holder == null) {
+            statement.setTimestamp(index, new Timestamp(epochMillis));
+        } else {
+            holder.setTime(epochMillis);
+            statement.setTimestamp(index, holder);
+        }
+    }
+
+    /**
+     * 读取TIMESTAMP列为纪元毫秒，NULL返回EpochTimeUtils.INVALID_EPOCH_MILLIS
+     *
+     * @param resultSet 结果集
+     * @param column    列位置，从1开始
+     */
+    public static long getEpochMillis(ResultSet resultSet, int column) throws SQLException {
+        Timestamp value = resultSet.getTimestamp(column);
+        return value != null ? value.getTime() : EpochTimeUtils.INVALID_EPOCH_MILLIS;
+    }
+
+    /**
+     * 读取TIMESTAMP列为LocalDateTime，保留纳秒，NULL返回null
+     *
+     * @param resultSet 结果集
+     * @param column    列位置，从1开始
+     * @param zone      时区
+     */
+    public static LocalDateTime getLocalDateTime(ResultSet resultSet, int column, ZoneId zone) throws SQLException {
+        Timestamp value = resultSet.getTimestamp(column);
+        return value != null ? toLocalDateTime(value, zone) : null;
+    }
+
+    /**
+     * JVM默认时区的转换表，与Timestamp使用的java.util.TimeZone不一致时返回null
+     */
+    private static ZoneOffsetTable defaultTable() {
+        TimeZone timeZone = TimeZone.getDefault();
+        ZoneId zone = timeZone.toZoneId();
+        if (!zone.getId().equals(timeZone.getID())) {
+            return null;
+        }
+        ZoneOffsetTable table = ZoneOffsetTable.of(zone);
+        return table.isLegacyCompatible() ? table : null;
+    }
+
+    /**
+     * 写入整秒的纪元毫秒与秒内纳秒
+     */
+    private static Timestamp set(Timestamp holder, long epochMillis, int nanos) {
+        Timestamp timestamp = holder;
+        if (timestamp == null) {
+            timestamp = new Timestamp(epochMillis);
+        } else {
+            timestamp.setTime(epochMillis);
+        }
+        timestamp.setNanos(nanos);
+        return timestamp;
+    }
+}
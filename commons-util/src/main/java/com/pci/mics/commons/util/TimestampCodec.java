@@ -0,0 +1,171 @@
+package com.pci.mics.commons.util;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 时间戳列的紧凑二进制编码
+ * 按块编码：块首值写入定长索引，块内其余值写二阶差分(相邻差值之差)的zigzag变长整数；
+ * 二阶差分为0(固定间隔，如每5、15、30、60分钟的采集点)的连续值合并为一个游程，整块通常只需几个字节
+ * 差分按long溢出回绕计算，任意long序列均可无损往返，有序序列压缩效果最好
+ * <p>
+ * 格式(大端)：魔数'T' 版本 类型 保留 | int个数 | int块大小 | 每块(long首值, int数据偏移) | 数据
+ */
+public final class TimestampCodec {
+
+    /**
+     * 默认每块的值个数
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    static final byte MAGIC = 'T';
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = 12;
+    static final int INDEX_ENTRY_SIZE = 12;
+
+    private TimestampCodec() {
+    }
+
+    /**
+     * 编码纪元毫秒
+     *
+     * @param epochMillis 纪元毫秒
+     */
+    public static byte[] encodeEpochMillis(long[] epochMillis) {
+        return encode(TimestampColumn.Kind.EPOCH_MILLIS, epochMillis, 0, epochMillis.length, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * 编码纪元毫秒的一段
+     *
+     * @param epochMillis 纪元毫秒
+     * @param offset      起始位置
+     * @param length      个数
+     * @param blockSize   每块的值个数，越小随机访问越快、索引越大
+     * @throws IllegalArgumentException 区间或块大小不合法
+     */
+    public static byte[] encodeEpochMillis(long[] epochMillis, int offset, int length, int blockSize) {
+        return encode(TimestampColumn.Kind.EPOCH_MILLIS, epochMillis, offset, length, blockSize);
+    }
+
+    /**
+     * 编码日期时间，按本地毫秒存储，毫秒以下截断
+     *
+     * @param dateTimes 日期时间，不能含null
+     */
+    public static byte[] encode(LocalDateTime[] dateTimes) {
+        long[] localMillis = new long[dateTimes.length];
+        for (int i = 0; i < dateTimes.length; i++) {
+            localMillis[i] = EpochTimeUtils.toLocalMillis(dateTimes[i]);
+        }
+        return encode(TimestampColumn.Kind.LOCAL_MILLIS, localMillis, 0, localMillis.length, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * 编码日期，按纪元日存储
+     *
+     * @param dates 日期，不能含null
+     */
+    public static byte[] encode(LocalDate[] dates) {
+        long[] epochDays = new long[dates.length];
+        for (int i = 0; i < dates.length; i++) {
+            epochDays[i] = dates[i].toEpochDay();
+        }
+        return encode(TimestampColumn.Kind.EPOCH_DAY, epochDays, 0, epochDays.length, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * 读取编码结果，不复制数组
+     *
+     * @param encoded 编码结果
+     * @throws IllegalArgumentException 格式不合法
+     */
+    public static TimestampColumn open(byte[] encoded) {
+        return new TimestampColumn(encoded);
+    }
+
+    static byte[] encode(TimestampColumn.Kind kind, long[] values, int offset, int length, int blockSize) {
+        if (offset < 0 || length < 0 || offset + length > values.length || offset + length < 0) {
+            throw new IllegalArgumentException("Invalid range: offset=" + offset + ", length=" + length);
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        int blockCount = (int) (((long) length + blockSize - 1) / blockSize);
+        long indexEnd = HEADER_SIZE + (long) blockCount * INDEX_ENTRY_SIZE;
+        if (indexEnd + length > Integer.MAX_VALUE - 16) {
+            throw new IllegalArgumentException("Too many values for blockSize " + blockSize + ": " + length);
+        }
+        int dataStart = (int) indexEnd;
+        Output out = new Output(dataStart + length);
+        ByteBuffer header = ByteBuffer.wrap(out.bytes);
+        header.put(MAGIC).put(VERSION).put((byte) kind.ordinal()).put((byte) 0)
+              .putInt(length).putInt(blockSize);
+        out.position = dataStart;
+        for (int b = 0; b < blockCount; b++) {
+            int from = offset + b * blockSize;
+            int to = from + Math.min(blockSize, offset + length - from);
+            int entry = HEADER_SIZE + b * INDEX_ENTRY_SIZE;
+            // 写数据前可能扩容，索引项在扩容后的数组上写入
+            int dataOffset = out.position - dataStart;
+            encodeBlock(values, from, to, out);
+            ByteBuffer.wrap(out.bytes).putLong(entry, values[from]).putInt(entry + 8, dataOffset);
+        }
+        return Arrays.copyOf(out.bytes, out.position);
+    }
+
+    private static void encodeBlock(long[] values, int from, int to, Output out) {
+        long previousDelta = 0;
+        int run = 0;
+        for (int i = from + 1; i < to; i++) {
+            long delta = values[i] - values[i - 1];
+            long deltaOfDelta = delta - previousDelta;
+            previousDelta = delta;
+            if (deltaOfDelta == 0) {
+                run++;
+                continue;
+            }
+            if (run > 0) {
+                out.writeRun(run);
+                run = 0;
+            }
+            out.writeVarLong((deltaOfDelta << 1) ^ (deltaOfDelta >> 63));
+        }
+        if (run > 0) {
+            out.writeRun(run);
+        }
+    }
+
+    /**
+     * 可扩容的输出缓冲
+     */
+    private static final class Output {
+        private byte[] bytes;
+        private int position;
+
+        private Output(int initialSize) {
+            bytes = new byte[Math.max(initialSize, 16)];
+        }
+
+        /**
+         * 二阶差分为0的游程：zigzag值0之后跟游程长度
+         */
+        private void writeRun(int run) {
+            writeVarLong(0);
+            writeVarLong(run);
+        }
+
+        private void writeVarLong(long value) {
+            if (bytes.length - position < 10) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + 10));
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.pci.mics.commons.util;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * TimestampCodec编码结果的只读视图
+ * 按块索引定位，随机访问只需解码目标所在的块；批量读取直接解码为long数组或LongStream，不装箱
+ * 实例不可变，可在线程间共享；不复制也不修改底层数组
+ */
+public final class TimestampColumn {
+
+    /**
+     * 值的含义
+     */
+    public enum Kind {
+        /**
+         * 纪元毫秒
+         */
+        EPOCH_MILLIS,
+        /**
+         * 本地毫秒，即LocalDateTime按UTC计的纪元毫秒
+         */
+        LOCAL_MILLIS,
+        /**
+         * 纪元日
+         */
+        EPOCH_DAY
+    }
+
+    private final byte[] data;
+    private final Kind kind;
+    private final int size;
+    private final int blockSize;
+    private final int blockCount;
+    private final int dataStart;
+
+    TimestampColumn(byte[] data) {
+        if (data == null || data.length < TimestampCodec.HEADER_SIZE
+                || data[0] != TimestampCodec.MAGIC || data[1] != TimestampCodec.VERSION
+                || data[2] < 0 || data[2] >= Kind.values().length) {
+            throw new IllegalArgumentException("Not an encoded timestamp column");
+        }
+        ByteBuffer header = ByteBuffer.wrap(data);
+        this.data = data;
+        this.kind = Kind.values()[data[2]];
+        this.size = header.getInt(4);
+        this.blockSize = header.getInt(8);
+        if (size < 0 || blockSize <= 0) {
+            throw new IllegalArgumentException("Corrupted header: size=" + size + ", blockSize=" + blockSize);
+        }
+        this.blockCount = (int) (((long) size + blockSize - 1) / blockSize);
+        long indexEnd = TimestampCodec.HEADER_SIZE + (long) blockCount * TimestampCodec.INDEX_ENTRY_SIZE;
+        if (indexEnd > data.length) {
+            throw new IllegalArgumentException("Truncated index");
+        }
+        this.dataStart = (int) indexEnd;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * 值的个数
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * 编码后的字节数
+     */
+    public int getEncodedSize() {
+        return data.length;
+    }
+
+    /**
+     * 第index个值，需解码其所在块中此前的值，批量读取请用toArray或stream
+     *
+     * @throws IndexOutOfBoundsException 下标越界
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        int block = index / blockSize;
+        int inBlock = index - block * blockSize;
+        if (inBlock == 0) {
+            return firstValue(block);
+        }
+        long[] value = new long[1];
+        decodeBlock(block, inBlock, inBlock + 1, value, 0);
+        return value[0];
+    }
+
+    /**
+     * 第index个日期时间，仅用于LOCAL_MILLIS
+     *
+     * @throws IllegalStateException 类型不是LOCAL_MILLIS
+     */
+    public LocalDateTime getLocalDateTime(int index) {
+        checkKind(Kind.LOCAL_MILLIS);
+        return EpochTimeUtils.toLocalDateTime(get(index));
+    }
+
+    /**
+     * 第index个日期，仅用于EPOCH_DAY
+     *
+     * @throws IllegalStateException 类型不是EPOCH_DAY
+     */
+    public LocalDate getLocalDate(int index) {
+        checkKind(Kind.EPOCH_DAY);
+        return LocalDateCache.getDefault().ofEpochDay(get(index));
+    }
+
+    /**
+     * 全部解码
+     */
+    public long[] toArray() {
+        return toArray(0, size);
+    }
+
+    /**
+     * 解码[from, to)
+     *
+     * @throws IndexOutOfBoundsException 区间越界
+     */
+    public long[] toArray(int from, int to) {
+        long[] values = new long[checkRange(from, to)];
+        decode(from, to, values, 0);
+        return values;
+    }
+
+    /**
+     * 解码[from, to)写入dst
+     *
+     * @return 写入的个数
+     * @throws IndexOutOfBoundsException 区间越界或dst空间不足
+     */
+    public int decode(int from, int to, long[] dst, int dstOffset) {
+        int length = checkRange(from, to);
+        if (dstOffset < 0 || dstOffset + length > dst.length) {
+            throw new IndexOutOfBoundsException("dst too small: " + dst.length + " for " + length + " at " + dstOffset);
+        }
+        int index = from;
+        while (index < to) {
+            int block = index / blockSize;
+            int blockStart = block * blockSize;
+            int end = Math.min(to - blockStart, blockSize);
+            decodeBlock(block, index - blockStart, end, dst, dstOffset + index - from);
+            index = blockStart + end;
+        }
+        return length;
+    }
+
+    /**
+     * 按块解码的LongStream，并行时按块拆分
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(new BlockSpliterator(0, blockCount), false);
+    }
+
+    /**
+     * 第一个不小于value的下标，要求值按升序排列；先在块首值上二分，再解码一个块
+     *
+     * @param value 值
+     * @return 下标，全部小于value时返回size()
+     */
+    public int lowerBound(long value) {
+        int lo = 0;
+        int hi = blockCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (firstValue(mid) < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        // 目标在第lo-1块之内或第lo块的首个值
+        if (lo == 0) {
+            return 0;
+        }
+        int block = lo - 1;
+        int count = blockLength(block);
+        long[] values = new long[count];
+        decodeBlock(block, 0, count, values, 0);
+        for (int i = 0; i < count; i++) {
+            if (values[i] >= value) {
+                return block * blockSize + i;
+            }
+        }
+        return block * blockSize + count;
+    }
+
+    private long firstValue(int block) {
+        return ByteBuffer.wrap(data).getLong(TimestampCodec.HEADER_SIZE + block * TimestampCodec.INDEX_ENTRY_SIZE);
+    }
+
+    private int blockLength(int block) {
+        return Math.min(blockSize, size - block * blockSize);
+    }
+
+    /**
+     * 解码块内[from, to)，写入dst
+     */
+    private void decodeBlock(int block, int from, int to, long[] dst, int dstOffset) {
+        int entry = TimestampCodec.HEADER_SIZE + block * TimestampCodec.INDEX_ENTRY_SIZE;
+        ByteBuffer index = ByteBuffer.wrap(data);
+        long value = index.getLong(entry);
+        int position = dataStart + index.getInt(entry + 8);
+        if (from == 0) {
+            dst[dstOffset++] = value;
+        }
+        long delta = 0;
+        int i = 1;
+        int[] cursor = {position};
+        while (i < to) {
+            long zigzag = readVarLong(cursor);
+            if (zigzag == 0) {
+                long run = readVarLong(cursor);
+                if (run <= 0 || i + run > blockLength(block)) {
+                    throw new IllegalArgumentException("Corrupted run length " + run + " in block " + block);
+                }
+                for (long k = 0; k < run && i < to; k++, i++) {
+                    value += delta;
+                    if (i >= from) {
+                        dst[dstOffset++] = value;
+                    }
+                }
+            } else {
+                delta += (zigzag >>> 1) ^ -(zigzag & 1);
+                value += delta;
+                if (i >= from) {
+                    dst[dstOffset++] = value;
+                }
+                i++;
+            }
+        }
+    }
+
+    private long readVarLong(int[] cursor) {
+        int position = cursor[0];
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated data");
+            }
+            byte b = data[position++];
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                cursor[0] = position;
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at " + position);
+    }
+
+    private int checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", size " + size);
+        }
+        return to - from;
+    }
+
+    private void checkKind(Kind expected) {
+        if (kind != expected) {
+            throw new IllegalStateException("Column kind is " + kind + ", not " + expected);
+        }
+    }
+
+    /**
+     * 覆盖[blockFrom, blockTo)块的Spliterator，逐块解码到缓冲区
+     */
+    private final class BlockSpliterator implements Spliterator.OfLong {
+        private int block;
+        private final int blockTo;
+        private long[] buffer;
+        private int bufferIndex;
+        private int bufferLength;
+
+        private BlockSpliterator(int blockFrom, int blockTo) {
+            this.block = blockFrom;
+            this.blockTo = blockTo;
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (bufferIndex == bufferLength && !fill()) {
+                return false;
+            }
+            action.accept(buffer[bufferIndex++]);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            do {
+                while (bufferIndex < bufferLength) {
+                    action.accept(buffer[bufferIndex++]);
+                }
+            } while (fill());
+        }
+
+        private boolean fill() {
+            if (block >= blockTo) {
+                return false;
+            }
+            bufferLength = blockLength(block);
+            if (buffer == null || buffer.length < bufferLength) {
+                // 块大小可能远大于实际值个数，按块的实际长度分配
+                buffer = new long[bufferLength];
+            }
+            decodeBlock(block, 0, bufferLength, buffer, 0);
+            bufferIndex = 0;
+            block++;
+            return true;
+        }
+
+        @Override
+        public Spliterator.OfLong trySplit() {
+            int remaining = blockTo - block;
+            if (bufferIndex < bufferLength || remaining < 2) {
+                return null;
+            }
+            int mid = block + remaining / 2;
+            BlockSpliterator prefix = new BlockSpliterator(block, mid);
+            block = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            long remainingBlocks = block >= blockTo ? 0
+                    : Math.min(blockTo * (long) blockSize, size) - (long) block * blockSize;
+            return remainingBlocks + bufferLength - bufferIndex;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.pci.mics.commons.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * 堆外的有序纪元毫秒索引，每个时间戳只占8字节且不产生对象
+ * 数据存于直接内存或只读映射的文件，另建按UTC整点的小时目录与按时区本地日期的日目录，
+ * 区间查询先经小时目录定位到一小时内再二分；同一天的查询直接由日目录得到区间，与EpochTimeUtils.isSameDay一致
+ * 实例不可变，只做绝对位置读取，可被多个线程同时查询
+ * <p>
+ * 格式(大端)：int魔数 | int版本 | int个数 | int时区名长度 | long首个小时 | int小时目录项数 | int日目录项数 |
+ * long首个纪元日 | 时区名(按8字节对齐) | long值 | int小时目录 | int日目录
+ */
+public final class TimestampIndex {
+
+    private static final int MAGIC = 0x54534958;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    /**
+     * 单个目录的项数上限，时间跨度过大时不建该目录，退化为整体二分
+     */
+    private static final long MAXIMUM_DIRECTORY_ENTRIES = 1L << 22;
+
+    private final ByteBuffer buffer;
+    private final ZoneId zone;
+    private final int size;
+    private final long firstHour;
+    private final int hourEntries;
+    private final long firstDay;
+    private final int dayEntries;
+    private final int valuesOffset;
+    private final int hoursOffset;
+    private final int daysOffset;
+
+    private TimestampIndex(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a timestamp index");
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        int zoneLength = buffer.getInt(12);
+        this.firstHour = buffer.getLong(16);
+        this.hourEntries = buffer.getInt(24);
+        this.dayEntries = buffer.getInt(28);
+        this.firstDay = buffer.getLong(32);
+        if (size < 0 || zoneLength <= 0 || hourEntries < 0 || dayEntries < 0) {
+            throw new IllegalArgumentException("Corrupted timestamp index header");
+        }
+        this.valuesOffset = align(HEADER_SIZE + zoneLength);
+        this.hoursOffset = valuesOffset + size * Long.BYTES;
+        this.daysOffset = hoursOffset + hourEntries * Integer.BYTES;
+        if ((long) daysOffset + (long) dayEntries * Integer.BYTES > buffer.capacity()) {
+            throw new IllegalArgumentException("Truncated timestamp index");
+        }
+        byte[] zoneBytes = new byte[zoneLength];
+        for (int i = 0; i < zoneLength; i++) {
+            zoneBytes[i] = buffer.get(HEADER_SIZE + i);
+        }
+        this.zone = ZoneId.of(new String(zoneBytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 由纪元毫秒建立索引，输入无需有序，不会被修改
+     *
+     * @param epochMillis 纪元毫秒
+     * @param zone        日目录使用的时区
+     * @throws IllegalArgumentException 值过多，超出单个直接缓冲区的容量
+     */
+    public static TimestampIndex of(long[] epochMillis, ZoneId zone) {
+        if (zone == null) {
+            throw new IllegalArgumentException("zone must not be null");
+        }
+        long[] values = epochMillis.clone();
+        Arrays.sort(values);
+        int size = values.length;
+        byte[] zoneBytes = zone.getId().getBytes(StandardCharsets.UTF_8);
+
+        long firstHour = 0;
+        long hourEntries = 0;
+        long firstDay = 0;
+        long dayEntries = 0;
+        if (size > 0) {
+            firstHour = Math.floorDiv(values[0], MILLIS_PER_HOUR);
+            hourEntries = Math.floorDiv(values[size - 1], MILLIS_PER_HOUR) - firstHour + 2;
+            firstDay = localDay(values[0], zone);
+            dayEntries = localDay(values[size - 1], zone) - firstDay + 2;
+        }
+        hourEntries = hourEntries > MAXIMUM_DIRECTORY_ENTRIES ? 0 : hourEntries;
+        dayEntries = dayEntries > MAXIMUM_DIRECTORY_ENTRIES ? 0 : dayEntries;
+
+        long valuesOffset = align(HEADER_SIZE + zoneBytes.length);
+        long capacity = valuesOffset + (long) size * Long.BYTES + (hourEntries + dayEntries) * Integer.BYTES;
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many timestamps for one buffer: " + size);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) capacity);
+        buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, size).putInt(12, zoneBytes.length)
+              .putLong(16, firstHour).putInt(24, (int) hourEntries).putInt(28, (int) dayEntries).putLong(32, firstDay);
+        for (int i = 0; i < zoneBytes.length; i++) {
+            buffer.put(HEADER_SIZE + i, zoneBytes[i]);
+        }
+        int position = (int) valuesOffset;
+        for (long value : values) {
+            buffer.putLong(position, value);
+            position += Long.BYTES;
+        }
+        // 目录项为对应边界的lowerBound，边界单调递增，与有序值归并一次即可
+        int index = 0;
+        for (long h = 0; h < hourEntries; h++) {
+            long boundary = (firstHour + h) * MILLIS_PER_HOUR;
+            while (index < size && values[index] < boundary) {
+                index++;
+            }
+            buffer.putInt(position, index);
+            position += Integer.BYTES;
+        }
+        index = 0;
+        for (long d = 0; d < dayEntries; d++) {
+            long boundary = startOfDay(firstDay + d, zone);
+            while (index < size && values[index] < boundary) {
+                index++;
+            }
+            buffer.putInt(position, index);
+            position += Integer.BYTES;
+        }
+        return new TimestampIndex(buffer);
+    }
+
+    /**
+     * 只读映射writeTo写出的文件，映射在实例被回收前一直有效
+     *
+     * @param file 文件
+     * @throws IllegalArgumentException 文件格式不合法或超过2GB
+     */
+    public static TimestampIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Index file too large: " + file);
+            }
+            return new TimestampIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * 写出到文件，已存在时覆盖
+     *
+     * @param file 文件
+     */
+    public void writeTo(Path file) throws IOException {
+        // 实例从不改变position，副本即覆盖整个缓冲区
+        ByteBuffer source = buffer.duplicate();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 第index个时间戳，按升序
+     *
+     * @throws IndexOutOfBoundsException 下标越界
+     */
+    public long get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return value(index);
+    }
+
+    /**
+     * 第一个不小于epochMillis的下标，全部小于时返回size()
+     *
+     * @param epochMillis 纪元毫秒
+     */
+    public int lowerBound(long epochMillis) {
+        if (hourEntries == 0) {
+            return lowerBound(epochMillis, 0, size);
+        }
+        long hour = Math.floorDiv(epochMillis, MILLIS_PER_HOUR) - firstHour;
+        if (hour < 0) {
+            return 0;
+        }
+        if (hour >= hourEntries - 1) {
+            return size;
+        }
+        return lowerBound(epochMillis, directory(hoursOffset, (int) hour), directory(hoursOffset, (int) hour + 1));
+    }
+
+    /**
+     * [from, to)内的时间戳个数
+     */
+    public int countBetween(long fromEpochMillis, long toEpochMillis) {
+        return Math.max(0, lowerBound(toEpochMillis) - lowerBound(fromEpochMillis));
+    }
+
+    /**
+     * [from, to)内的时间戳，按升序
+     */
+    public LongStream between(long fromEpochMillis, long toEpochMillis) {
+        int from = lowerBound(fromEpochMillis);
+        return stream(from, Math.max(from, lowerBound(toEpochMillis)));
+    }
+
+    /**
+     * 与epochMillis在同一本地日期的时间戳个数
+     *
+     * @param epochMillis 纪元毫秒
+     */
+    public int countOnSameDay(long epochMillis) {
+        return countOnDay(localDay(epochMillis, zone));
+    }
+
+    /**
+     * 与epochMillis在同一本地日期的时间戳，按升序
+     *
+     * @param epochMillis 纪元毫秒
+     */
+    public LongStream onSameDay(long epochMillis) {
+        long day = localDay(epochMillis, zone);
+        return stream(dayStart(day), dayStart(day + 1));
+    }
+
+    /**
+     * 指定本地日期的时间戳个数
+     *
+     * @param date 日期
+     */
+    public int countOnDay(LocalDate date) {
+        return countOnDay(date.toEpochDay());
+    }
+
+    /**
+     * 指定本地日期的时间戳，按升序
+     *
+     * @param date 日期
+     */
+    public LongStream onDay(LocalDate date) {
+        return stream(dayStart(date.toEpochDay()), dayStart(date.toEpochDay() + 1));
+    }
+
+    private int countOnDay(long epochDay) {
+        return dayStart(epochDay + 1) - dayStart(epochDay);
+    }
+
+    /**
+     * 该本地日期第一个时间戳的下标
+     */
+    private int dayStart(long epochDay) {
+        long day = epochDay - firstDay;
+        if (dayEntries == 0 || day < 0 || day >= dayEntries) {
+            return lowerBound(startOfDay(epochDay, zone));
+        }
+        return directory(daysOffset, (int) day);
+    }
+
+    private LongStream stream(int from, int to) {
+        return IntStream.range(from, to).mapToLong(this::value);
+    }
+
+    private int lowerBound(long epochMillis, int from, int to) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (value(mid) < epochMillis) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private long value(int index) {
+        return buffer.getLong(valuesOffset + index * Long.BYTES);
+    }
+
+    private int directory(int offset, int entry) {
+        return buffer.getInt(offset + entry * Integer.BYTES);
+    }
+
+    private static long localDay(long epochMillis, ZoneId zone) {
+        return Math.floorDiv(EpochTimeUtils.epochToLocalMillis(epochMillis, zone), CivilCalendar.MILLIS_PER_DAY);
+    }
+
+    private static long startOfDay(long epochDay, ZoneId zone) {
+        return EpochTimeUtils.localToEpochMillis(epochDay * CivilCalendar.MILLIS_PER_DAY, zone);
+    }
+
+    private static int align(int offset) {
+        return (offset + Long.BYTES - 1) & -Long.BYTES;
+    }
+
+    @Override
+    public String toString() {
+        return "TimestampIndex[size=" + size + ", zone=" + zone + "]";
+    }
+}
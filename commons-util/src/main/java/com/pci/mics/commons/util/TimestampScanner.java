@@ -0,0 +1,348 @@
+package com.pci.mics.commons.util;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 日志/CSV时间戳扫描器
+ * 对内存映射的文件或ByteBuffer按行扫描，直接从ASCII字节解析指定列或指定字段的定长时间戳，
+ * 输出纪元毫秒及行起始位置；时间戳缺失或不合法的行被跳过。实例不可变，可在线程间共享
+ */
+public final class TimestampScanner {
+
+    /**
+     * 时间戳回调
+     */
+    @FunctionalInterface
+    public interface TimestampVisitor {
+        /**
+         * @param lineOffset  行起始位置(相对文件或ByteBuffer起点)
+         * @param epochMillis 纪元毫秒
+         */
+        void visit(long lineOffset, long epochMillis);
+    }
+
+    /**
+     * 单次映射的最大字节数
+     */
+    private static final int MAX_REGION_SIZE = 256 * 1024 * 1024;
+    /**
+     * 查找行边界时每次读取的字节数
+     */
+    private static final int BOUNDARY_READ_SIZE = 8192;
+
+    private static final byte LF = '\n';
+    private static final byte CR = '\r';
+
+    private final DateTimeLayout layout;
+    private final ZoneId zone;
+    private final int column;
+    private final byte delimiter;
+    private final int fieldIndex;
+
+    private TimestampScanner(DateTimeLayout layout, ZoneId zone, int column, byte delimiter, int fieldIndex) {
+        if (layout == null || zone == null) {
+            throw new IllegalArgumentException("layout and zone must not be null");
+        }
+        this.layout = layout;
+        this.zone = zone;
+        this.column = column;
+        this.delimiter = delimiter;
+        this.fieldIndex = fieldIndex;
+    }
+
+    /**
+     * 时间戳位于每行固定的字节偏移处
+     *
+     * @param layout 布局
+     * @param zone   时区
+     * @param column 行内字节偏移
+     */
+    public static TimestampScanner atColumn(DateTimeLayout layout, ZoneId zone, int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("column must not be negative");
+        }
+        return new TimestampScanner(layout, zone, column, (byte) 0, -1);
+    }
+
+    /**
+     * 时间戳为按分隔符划分的第fieldIndex个字段(从0开始)
+     *
+     * @param layout     布局
+     * @param zone       时区
+     * @param delimiter  ASCII分隔符
+     * @param fieldIndex 字段下标
+     */
+    public static TimestampScanner atField(DateTimeLayout layout, ZoneId zone, char delimiter, int fieldIndex) {
+        if (fieldIndex < 0) {
+            throw new IllegalArgumentException("fieldIndex must not be negative");
+        }
+        if (delimiter > 0x7F || delimiter == LF) {
+            throw new IllegalArgumentException("delimiter must be an ASCII character other than line feed");
+        }
+        return new TimestampScanner(layout, zone, -1, (byte) delimiter, fieldIndex);
+    }
+
+    /**
+     * 扫描ByteBuffer中position至limit之间的内容，不改变position
+     *
+     * @return 回调次数
+     */
+    public long scan(ByteBuffer buffer, TimestampVisitor visitor) {
+        return scan(buffer, buffer.position(), buffer.limit(), 0L, Long.MIN_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * 扫描ByteBuffer，仅回调时间戳落在[fromEpochMillis, toEpochMillis)内的行
+     *
+     * @return 回调次数
+     */
+    public long scan(ByteBuffer buffer, long fromEpochMillis, long toEpochMillis, TimestampVisitor visitor) {
+        return scan(buffer, buffer.position(), buffer.limit(), 0L, fromEpochMillis, toEpochMillis, visitor);
+    }
+
+    /**
+     * 顺序扫描文件
+     *
+     * @return 回调次数
+     */
+    public long scan(Path file, TimestampVisitor visitor) throws IOException {
+        return scan(file, Long.MIN_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * 顺序扫描文件，仅回调时间戳落在[fromEpochMillis, toEpochMillis)内的行
+     *
+     * @return 回调次数
+     */
+    public long scan(Path file, long fromEpochMillis, long toEpochMillis, TimestampVisitor visitor)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = split(channel, 1);
+            long count = 0;
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                count += scanRegion(channel, boundaries[i], boundaries[i + 1], fromEpochMillis, toEpochMillis, visitor);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 按行边界将文件切分为chunks段并行扫描，结果按文件顺序返回
+     *
+     * @param file   文件
+     * @param chunks 段数
+     * @param pool   线程池
+     * @return 纪元毫秒，按行顺序
+     */
+    public long[] collectEpochMillis(Path file, int chunks, ForkJoinPool pool) throws IOException {
+        return collect(file, chunks, pool, Long.MIN_VALUE, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * 按行边界将文件切分为chunks段并行扫描，返回时间戳落在[fromEpochMillis, toEpochMillis)内的行起始位置
+     *
+     * @param file   文件
+     * @param chunks 段数
+     * @param pool   线程池
+     * @return 行起始位置，升序
+     */
+    public long[] findLineOffsets(Path file, long fromEpochMillis, long toEpochMillis, int chunks, ForkJoinPool pool)
+            throws IOException {
+        return collect(file, chunks, pool, fromEpochMillis, toEpochMillis, true);
+    }
+
+    private long[] collect(Path file, int chunks, ForkJoinPool pool, long from, long to, boolean lineOffsets)
+            throws IOException {
+        if (chunks <= 0) {
+            throw new IllegalArgumentException("chunks must be positive");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] boundaries = split(channel, chunks);
+            List<RecursiveTask<LongArrayBuilder>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                long start = boundaries[i];
+                long end = boundaries[i + 1];
+                tasks.add(new RecursiveTask<LongArrayBuilder>() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected LongArrayBuilder compute() {
+                        LongArrayBuilder values = new LongArrayBuilder();
+                        try {
+                            scanRegion(channel, start, end, from, to,
+                                       (offset, millis) -> values.add(lineOffsets ? offset : millis));
+                        } catch (IOException e) {
+                            throw new ScanException(e);
+                        }
+                        return values;
+                    }
+                });
+            }
+            LongArrayBuilder result = new LongArrayBuilder();
+            try {
+                for (RecursiveTask<LongArrayBuilder> task : tasks) {
+                    pool.execute(task);
+                }
+                for (RecursiveTask<LongArrayBuilder> task : tasks) {
+                    result.addAll(task.join());
+                }
+            } catch (ScanException e) {
+                throw e.getIOException();
+            }
+            return result.toArray();
+        }
+    }
+
+    private long scanRegion(FileChannel channel, long start, long end, long from, long to, TimestampVisitor visitor)
+            throws IOException {
+        if (end <= start) {
+            return 0L;
+        }
+        if (end - start > Integer.MAX_VALUE) {
+            throw new IOException("Line too long to map at offset " + start);
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        return scan(buffer, 0, buffer.limit(), start, from, to, visitor);
+    }
+
+    /**
+     * 扫描[begin, end)范围内的行
+     *
+     * @param base 行起始位置的基准偏移
+     */
+    private long scan(ByteBuffer buffer, int begin, int end, long base, long from, long to, TimestampVisitor visitor) {
+        long count = 0;
+        int lineStart = begin;
+        while (lineStart < end) {
+            int lineEnd = indexOf(buffer, LF, lineStart, end);
+            int timestampStart = locate(buffer, lineStart, lineEnd);
+            if (timestampStart >= 0) {
+                long fields = DateTimeReader.parseFields(buffer, timestampStart, layout);
+                if (fields != DateTimeReader.INVALID) {
+                    long epochMillis = EpochTimeUtils.localToEpochMillis(EpochTimeUtils.toLocalMillis(fields), zone);
+                    if (epochMillis >= from && epochMillis < to) {
+                        visitor.visit(base + lineStart - begin, epochMillis);
+                        count++;
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return count;
+    }
+
+    /**
+     * 定位行内时间戳的起始位置，不存在时返回-1
+     */
+    private int locate(ByteBuffer buffer, int lineStart, int lineEnd) {
+        int length = layout.length();
+        if (column >= 0) {
+            int start = lineStart + column;
+            return start + length <= lineEnd ? start : -1;
+        }
+        int start = lineStart;
+        for (int field = 0; field < fieldIndex; field++) {
+            int next = indexOf(buffer, delimiter, start, lineEnd);
+            if (next >= lineEnd) {
+                return -1;
+            }
+            start = next + 1;
+        }
+        int fieldEnd = start + length;
+        if (fieldEnd > lineEnd) {
+            return -1;
+        }
+        if (fieldEnd < lineEnd) {
+            byte next = buffer.get(fieldEnd);
+            if (next != delimiter && next != CR) {
+                return -1;
+            }
+        }
+        return start;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte target, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == target) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 按行边界切分文件，返回各段边界(含0与文件长度)；每段不超过映射上限
+     */
+    private static long[] split(FileChannel channel, int chunks) throws IOException {
+        long size = channel.size();
+        long chunkSize = Math.max(1L, Math.min(MAX_REGION_SIZE, (size + chunks - 1) / chunks));
+        LongArrayBuilder boundaries = new LongArrayBuilder();
+        boundaries.add(0L);
+        long position = 0L;
+        ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_READ_SIZE);
+        while (position < size) {
+            long next = position + chunkSize;
+            if (next >= size) {
+                next = size;
+            } else {
+                next = nextLineStart(channel, next, size, probe);
+            }
+            boundaries.add(next);
+            position = next;
+        }
+        return boundaries.toArray();
+    }
+
+    /**
+     * 返回position处或之后第一个行起始位置(换行符的下一个字节)
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer probe)
+            throws IOException {
+        long current = position - 1;
+        while (current < size) {
+            ((Buffer) probe).clear();
+            int read = channel.read(probe, current);
+            if (read <= 0) {
+                return size;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == LF) {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    /**
+     * 在ForkJoin任务中传递IOException
+     */
+    private static final class ScanException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        ScanException(IOException cause) {
+            super(cause);
+        }
+
+        IOException getIOException() {
+            Throwable cause = getCause();
+            while (cause != null && !(cause instanceof IOException)) {
+                cause = cause.getCause();
+            }
+            return cause != null ? (IOException) cause : new IOException(this);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 时间戳数组的基数排序与去重
+ * 值按有符号次序映射为无符号long后做LSD基数排序，每趟8位；所有值在某一字节上相同的趟直接跳过，
+ * 纪元毫秒、本地毫秒等同一时期的值通常只需3到5趟，且不做比较、不装箱
+ * 定长布局的字符串先按DateTimeReader转为本地毫秒再排序
+ * sortedOrder返回稳定的置换，可用reorder按同一次序重排伴随列；parallel版本在ForkJoinPool.commonPool()上分块计数与分发
+ */
+public final class TimestampSort {
+    /**
+     * 达到该长度时parallel版本才并行执行
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    /**
+     * 并行时每块的最小长度
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 14;
+    /**
+     * 每个工作线程分得的块数
+     */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private TimestampSort() {
+    }
+
+    /**
+     * 原地升序排序
+     *
+     * @param values 值
+     */
+    public static void sort(long[] values) {
+        radixSort(toKeys(values), null, values, false);
+    }
+
+    /**
+     * 原地升序排序，长度达到PARALLEL_THRESHOLD时并行
+     *
+     * @param values 值
+     */
+    public static void parallelSort(long[] values) {
+        radixSort(toKeys(values), null, values, true);
+    }
+
+    /**
+     * 原地升序排序，如yyyyMMdd形式的日期整数
+     *
+     * @param values 值
+     */
+    public static void sort(int[] values) {
+        long[] sorted = new long[values.length];
+        radixSort(toKeys(values), null, sorted, false);
+        for (int i = 0; i < values.length; i++) {
+            // 还原toKeys(int[])的映射，低32位即翻转了符号位的原值
+            values[i] = (int) sorted[i] ^ Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * 稳定排序的置换：keys[order[0]] <= keys[order[1]] <= ...，相等的值保持原有先后；keys不被修改
+     *
+     * @param keys 键
+     */
+    public static int[] sortedOrder(long[] keys) {
+        return order(toKeys(keys), false);
+    }
+
+    /**
+     * 同sortedOrder(long[])，长度达到PARALLEL_THRESHOLD时并行
+     */
+    public static int[] parallelSortedOrder(long[] keys) {
+        return order(toKeys(keys), true);
+    }
+
+    /**
+     * 稳定排序的置换，keys不被修改
+     *
+     * @param keys 键
+     */
+    public static int[] sortedOrder(int[] keys) {
+        return order(toKeys(keys), false);
+    }
+
+    /**
+     * 定长布局字符串按时间先后的稳定置换
+     *
+     * @param texts  字符串
+     * @param layout 布局，如DateTimeLayout.LONG_DATETIME、SHORT_DATETIME
+     * @throws java.time.format.DateTimeParseException 存在不合法的字符串
+     */
+    public static int[] sortedOrder(CharSequence[] texts, DateTimeLayout layout) {
+        return sortedOrder(toLocalMillis(texts, layout));
+    }
+
+    /**
+     * 定长布局字符串转本地毫秒，作为排序键；合法的输入与DateTimeReader解析结果一致
+     *
+     * @param texts  字符串
+     * @param layout 布局
+     * @throws java.time.format.DateTimeParseException 存在不合法的字符串
+     */
+    public static long[] toLocalMillis(CharSequence[] texts, DateTimeLayout layout) {
+        long[] keys = new long[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            CharSequence text = texts[i];
+            long fields = DateTimeReader.parseFields(text, 0, text.length(), layout);
+            if (fields != DateTimeReader.INVALID) {
+                keys[i] = EpochTimeUtils.toLocalMillis(fields);
+            } else {
+                // 由JDK抛出异常，或解析5位以上年份等非定长的合法输入
+                LocalDateTime dateTime = layout.hasTime() ? DateTimeReader.parseLocalDateTime(text, layout)
+                        : DateTimeReader.parseLocalDate(text, layout).atStartOfDay();
+                keys[i] = EpochTimeUtils.toLocalMillis(dateTime);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 按置换重排，返回新数组：result[i] = values[order[i]]
+     */
+    public static long[] reorder(long[] values, int[] order) {
+        long[] result = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 按置换重排，返回新数组：result[i] = values[order[i]]
+     */
+    public static int[] reorder(int[] values, int[] order) {
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 按置换重排，返回新数组：result[i] = values[order[i]]
+     */
+    public static <T> T[] reorder(T[] values, int[] order) {
+        T[] result = Arrays.copyOf(values, order.length);
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * 已排序数组的游程去重：各不同值依次移到数组前部，counts(可为null)记录每个值的重复次数
+     *
+     * @param sorted 升序数组，原地修改
+     * @param counts 重复次数，长度不小于不同值的个数，可为null
+     * @return 不同值的个数
+     */
+    public static int dedup(long[] sorted, int[] counts) {
+        int runs = 0;
+        int i = 0;
+        while (i < sorted.length) {
+            long value = sorted[i];
+            int start = i;
+            while (i < sorted.length && sorted[i] == value) {
+                i++;
+            }
+            sorted[runs] = value;
+            if (counts != null) {
+                counts[runs] = i - start;
+            }
+            runs++;
+        }
+        return runs;
+    }
+
+    /**
+     * 已排序数组的游程去重，同dedup(long[], int[])
+     */
+    public static int dedup(int[] sorted, int[] counts) {
+        int runs = 0;
+        int i = 0;
+        while (i < sorted.length) {
+            int value = sorted[i];
+            int start = i;
+            while (i < sorted.length && sorted[i] == value) {
+                i++;
+            }
+            sorted[runs] = value;
+            if (counts != null) {
+                counts[runs] = i - start;
+            }
+            runs++;
+        }
+        return runs;
+    }
+
+    /**
+     * 翻转符号位，有符号次序变为无符号次序
+     */
+    private static long[] toKeys(long[] values) {
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = values[i] ^ Long.MIN_VALUE;
+        }
+        return keys;
+    }
+
+    /**
+     * int按无符号次序放在低32位，高位字节全为0，对应的趟被跳过
+     */
+    private static long[] toKeys(int[] values) {
+        long[] keys = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = (values[i] ^ Integer.MIN_VALUE) & 0xFFFF_FFFFL;
+        }
+        return keys;
+    }
+
+    private static int[] order(long[] keys, boolean parallel) {
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return radixSort(keys, order, null, parallel);
+    }
+
+    /**
+     * LSD基数排序；order非null时随键一起移动，sortedValues非null时写入还原后的有序值
+     *
+     * @return 排序后的order
+     */
+    private static int[] radixSort(long[] keys, int[] order, long[] sortedValues, boolean parallel) {
+        int n = keys.length;
+        long varying = 0;
+        for (int i = 1; i < n; i++) {
+            varying |= keys[i] ^ keys[0];
+        }
+        long[] keyBuffer = new long[n];
+        int[] orderBuffer = order != null ? new int[n] : null;
+        int chunks = 1;
+        if (parallel && n >= PARALLEL_THRESHOLD) {
+            chunks = Math.min(n / MIN_CHUNK_SIZE, ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD);
+        }
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            if ((varying >>> shift & RADIX_MASK) == 0) {
+                continue;
+            }
+            pass(keys, order, keyBuffer, orderBuffer, shift, chunks);
+            long[] k = keys;
+            keys = keyBuffer;
+            keyBuffer = k;
+            int[] o = order;
+            order = orderBuffer;
+            orderBuffer = o;
+        }
+        if (sortedValues != null) {
+            for (int i = 0; i < n; i++) {
+                sortedValues[i] = keys[i] ^ Long.MIN_VALUE;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * 按第shift位起的一个字节做一趟稳定分发；分块时各块先独立计数，按(字节, 块)的次序算出起始位置后并行分发
+     */
+    private static void pass(long[] keys, int[] order, long[] keyDst, int[] orderDst, int shift, int chunks) {
+        int n = keys.length;
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[][] counts = new int[chunks][RADIX];
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        (chunks > 1 ? chunkIndexes.parallel() : chunkIndexes).forEach(c -> {
+            int[] count = counts[c];
+            for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                count[(int) (keys[i] >>> shift) & RADIX_MASK]++;
+            }
+        });
+        int position = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            for (int c = 0; c < chunks; c++) {
+                int count = counts[c][digit];
+                counts[c][digit] = position;
+                position += count;
+            }
+        }
+        IntStream scatterIndexes = IntStream.range(0, chunks);
+        (chunks > 1 ? scatterIndexes.parallel() : scatterIndexes).forEach(c -> {
+            int[] next = counts[c];
+            for (int i = c * chunkSize, end = Math.min(n, i + chunkSize); i < end; i++) {
+                int target = next[(int) (keys[i] >>> shift) & RADIX_MASK]++;
+                keyDst[target] = keys[i];
+                if (order != null) {
+                    orderDst[target] = order[i];
+                }
+            }
+        });
+    }
+}
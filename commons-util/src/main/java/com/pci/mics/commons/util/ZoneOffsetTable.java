@@ -0,0 +1,304 @@
+package com.pci.mics.commons.util;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 时区偏移转换表
+ * 预先计算指定年份范围内的偏移变化点，纪元毫秒与本地毫秒(以UTC计的本地时间)互转只需二分查找与整数运算；
+ * 范围外回退到ZoneRules。实例不可变，可在线程间共享
+ */
+public final class ZoneOffsetTable {
+
+    /**
+     * 本地时间处于夏令时间隙或重叠时的处理方式
+     */
+    public enum TransitionPolicy {
+        /**
+         * 间隙向后顺延间隙长度，重叠取较早偏移(变化前)，与LocalDateTime.atZone一致
+         */
+        EARLIER,
+        /**
+         * 间隙向后顺延间隙长度，重叠取较晚偏移(变化后)，与java.util.Calendar一致
+         */
+        LATER,
+        /**
+         * 间隙或重叠均抛出DateTimeException
+         */
+        STRICT
+    }
+
+    /**
+     * 默认起始年份
+     */
+    public static final int DEFAULT_MIN_YEAR = 1900;
+    /**
+     * 默认结束年份(含)
+     */
+    public static final int DEFAULT_MAX_YEAR = 2100;
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    /**
+     * 偏移的最大绝对值，用于判断本地时间是否落在表范围内
+     */
+    static final long MAX_OFFSET_MILLIS = 18 * 3_600_000L;
+    /**
+     * 默认范围的表两端各除去最大偏移后的纪元毫秒范围[MIN_INNER_EPOCH_MILLIS, MAX_INNER_EPOCH_MILLIS)，
+     * 其中任意时区的本地时间都落在表内
+     */
+    static final long MIN_INNER_EPOCH_MILLIS = LocalDateTime.of(DEFAULT_MIN_YEAR, 1, 1, 0, 0)
+            .toInstant(ZoneOffset.UTC).toEpochMilli() + MAX_OFFSET_MILLIS;
+    static final long MAX_INNER_EPOCH_MILLIS = LocalDateTime.of(DEFAULT_MAX_YEAR + 1, 1, 1, 0, 0)
+            .toInstant(ZoneOffset.UTC).toEpochMilli() - MAX_OFFSET_MILLIS;
+
+    private static final ConcurrentHashMap<ZoneId, ZoneOffsetTable> TABLES = new ConcurrentHashMap<>();
+
+    private static volatile ZoneOffsetTable lastTable;
+
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final long rangeStart;
+    private final long rangeEnd;
+    /**
+     * 偏移变化点(纪元毫秒)，升序
+     */
+    private final long[] transitions;
+    /**
+     * offsets[i]为第i个变化点之前的偏移，offsets[n]为最后一个变化点之后的偏移
+     */
+    private final int[] offsets;
+    /**
+     * 变化点对应的两个本地时间中较早者
+     */
+    private final long[] localStarts;
+    /**
+     * 变化点对应的两个本地时间中较晚者
+     */
+    private final long[] localEnds;
+    /**
+     * 与java.util.TimeZone的偏移是否一致，首次使用时计算
+     */
+    private volatile Boolean legacyCompatible;
+
+    private ZoneOffsetTable(ZoneId zone, int minYear, int maxYear) {
+        if (minYear > maxYear) {
+            throw new IllegalArgumentException("minYear must not be greater than maxYear");
+        }
+        this.zone = zone;
+        this.rules = zone.getRules();
+        this.rangeStart = LocalDateTime.of(minYear, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        this.rangeEnd = LocalDateTime.of(maxYear + 1, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        long[] instants = new long[16];
+        int[] offsetsAfter = new int[17];
+        offsetsAfter[0] = offsetMillis(rules.getOffset(Instant.ofEpochMilli(rangeStart)));
+        int count = 0;
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochMilli(rangeStart));
+        while (transition != null && transition.toEpochSecond() * MILLIS_PER_SECOND < rangeEnd) {
+            if (count == instants.length) {
+                instants = Arrays.copyOf(instants, count * 2);
+                offsetsAfter = Arrays.copyOf(offsetsAfter, count * 2 + 1);
+            }
+            instants[count] = transition.toEpochSecond() * MILLIS_PER_SECOND;
+            offsetsAfter[count + 1] = offsetMillis(transition.getOffsetAfter());
+            count++;
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        this.transitions = Arrays.copyOf(instants, count);
+        this.offsets = Arrays.copyOf(offsetsAfter, count + 1);
+        this.localStarts = new long[count];
+        this.localEnds = new long[count];
+        for (int i = 0; i < count; i++) {
+            long before = transitions[i] + offsets[i];
+            long after = transitions[i] + offsets[i + 1];
+            localStarts[i] = Math.min(before, after);
+            localEnds[i] = Math.max(before, after);
+        }
+    }
+
+    /**
+     * 返回时区的转换表，年份范围为默认的1900-2100，结果被缓存
+     *
+     * @param zone 时区
+     */
+    public static ZoneOffsetTable of(ZoneId zone) {
+        ZoneOffsetTable table = lastTable;
+        if (table != null && table.zone.equals(zone)) {
+            return table;
+        }
+        table = TABLES.get(zone);
+        if (table == null) {
+            ZoneOffsetTable created = new ZoneOffsetTable(zone, DEFAULT_MIN_YEAR, DEFAULT_MAX_YEAR);
+            table = TABLES.putIfAbsent(zone, created);
+            if (table == null) {
+                table = created;
+            }
+        }
+        lastTable = table;
+        return table;
+    }
+
+    /**
+     * 创建指定年份范围的转换表，不缓存
+     *
+     * @param zone    时区
+     * @param minYear 起始年份
+     * @param maxYear 结束年份(含)
+     */
+    public static ZoneOffsetTable of(ZoneId zone, int minYear, int maxYear) {
+        return new ZoneOffsetTable(zone, minYear, maxYear);
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    /**
+     * 表内偏移变化点个数
+     */
+    public int getTransitionCount() {
+        return transitions.length;
+    }
+
+    /**
+     * 纪元毫秒对应的偏移毫秒
+     */
+    public int getOffsetMillis(long epochMillis) {
+        if (epochMillis < rangeStart || epochMillis >= rangeEnd) {
+            return offsetMillis(rules.getOffset(Instant.ofEpochMilli(epochMillis)));
+        }
+        return offsets[upperBound(transitions, epochMillis)];
+    }
+
+    /**
+     * 纪元毫秒转本地毫秒
+     *
+     * @throws ArithmeticException 结果超出long范围
+     */
+    public long toLocalMillis(long epochMillis) {
+        return Math.addExact(epochMillis, getOffsetMillis(epochMillis));
+    }
+
+    /**
+     * 本地毫秒转纪元毫秒，间隙向后顺延、重叠取较早偏移
+     */
+    public long toEpochMillis(long localMillis) {
+        return toEpochMillis(localMillis, TransitionPolicy.EARLIER);
+    }
+
+    /**
+     * 本地毫秒转纪元毫秒
+     *
+     * @param localMillis 本地毫秒
+     * @param policy      间隙、重叠的处理方式
+     */
+    public long toEpochMillis(long localMillis, TransitionPolicy policy) {
+        if (localMillis < rangeStart + MAX_OFFSET_MILLIS || localMillis >= rangeEnd - MAX_OFFSET_MILLIS) {
+            return toEpochMillisByRules(localMillis, policy);
+        }
+        int i = upperBound(localStarts, localMillis) - 1;
+        if (i < 0) {
+            return localMillis - offsets[0];
+        }
+        if (localMillis >= localEnds[i]) {
+            return localMillis - offsets[i + 1];
+        }
+        int before = offsets[i];
+        int after = offsets[i + 1];
+        if (policy == TransitionPolicy.STRICT) {
+            throw new DateTimeException(describe(localMillis, after > before));
+        }
+        if (after > before || policy == TransitionPolicy.EARLIER) {
+            return localMillis - before;
+        }
+        return localMillis - after;
+    }
+
+    /**
+     * 表范围内(两端各除去最大偏移)的偏移是否与TimeZone.getTimeZone(zone)一致
+     * 两者的数据来源不同，如Africa/Windhoek的负夏令时及Africa/Casablanca 2037年以后的转换并不相同；
+     * 首次调用时逐日及在每个变化点前后比较，结果缓存在实例上
+     */
+    boolean isLegacyCompatible() {
+        Boolean compatible = legacyCompatible;
+        if (compatible == null) {
+            compatible = compareWithTimeZone(TimeZone.getTimeZone(zone));
+            legacyCompatible = compatible;
+        }
+        return compatible;
+    }
+
+    private boolean compareWithTimeZone(TimeZone timeZone) {
+        long start = rangeStart + MAX_OFFSET_MILLIS;
+        long end = rangeEnd - MAX_OFFSET_MILLIS;
+        for (long transition : transitions) {
+            if (transition >= start && transition < end
+                    && (getOffsetMillis(transition - 1) != timeZone.getOffset(transition - 1)
+                    || getOffsetMillis(transition) != timeZone.getOffset(transition))) {
+                return false;
+            }
+        }
+        for (long epochMillis = start; epochMillis < end; epochMillis += CivilCalendar.MILLIS_PER_DAY) {
+            if (getOffsetMillis(epochMillis) != timeZone.getOffset(epochMillis)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long toEpochMillisByRules(long localMillis, TransitionPolicy policy) {
+        LocalDateTime dateTime = EpochTimeUtils.toLocalDateTime(localMillis);
+        List<ZoneOffset> validOffsets = rules.getValidOffsets(dateTime);
+        if (validOffsets.size() == 1) {
+            return Math.subtractExact(localMillis, offsetMillis(validOffsets.get(0)));
+        }
+        if (policy == TransitionPolicy.STRICT) {
+            throw new DateTimeException(describe(localMillis, validOffsets.isEmpty()));
+        }
+        ZoneOffsetTransition transition = rules.getTransition(dateTime);
+        if (validOffsets.isEmpty() || policy == TransitionPolicy.EARLIER) {
+            return Math.subtractExact(localMillis, offsetMillis(transition.getOffsetBefore()));
+        }
+        return Math.subtractExact(localMillis, offsetMillis(transition.getOffsetAfter()));
+    }
+
+    private String describe(long localMillis, boolean gap) {
+        return "Local date-time " + EpochTimeUtils.toLocalDateTime(localMillis) + (gap ? " falls in a gap" : " is ambiguous")
+                + " in time-zone " + zone;
+    }
+
+    /**
+     * 第一个大于key的下标
+     */
+    private static int upperBound(long[] array, long key) {
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (array[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int offsetMillis(ZoneOffset offset) {
+        return offset.getTotalSeconds() * (int) MILLIS_PER_SECOND;
+    }
+
+    @Override
+    public String toString() {
+        return "ZoneOffsetTable{zone=" + zone + ", transitions=" + transitions.length + '}';
+    }
+}
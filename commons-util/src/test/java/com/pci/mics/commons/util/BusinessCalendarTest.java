@@ -0,0 +1,117 @@
+package com.pci.mics.commons.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BusinessCalendarTest {
+
+    /**
+     * 与逐日遍历的结果一致
+     */
+    @Test
+    public void testAgainstLoop() {
+        Random random = new Random(15);
+        LocalDate first = LocalDate.of(2018, 12, 30);
+        LocalDate last = LocalDate.of(2021, 3, 7);
+        Set<LocalDate> holidays = new HashSet<>();
+        Set<LocalDate> extra = new HashSet<>();
+        for (int i = 0; i < 60; i++) {
+            holidays.add(first.plusDays(random.nextInt(900)));
+            extra.add(first.plusDays(random.nextInt(900)));
+        }
+        Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+        BusinessCalendar calendar = BusinessCalendar.of(first, last, weekend, holidays, extra);
+
+        int total = 0;
+        for (LocalDate d = first; !d.isAfter(last); d = d.plusDays(1)) {
+            boolean expected = extra.contains(d) || (!weekend.contains(d.getDayOfWeek()) && !holidays.contains(d));
+            Assert.assertEquals(d.toString(), expected, calendar.isWorkingDay(d));
+            total += expected ? 1 : 0;
+        }
+        Assert.assertEquals(total, calendar.getWorkingDayCount());
+        Assert.assertEquals(total, calendar.workingDaysBetween(first, last.plusDays(1)));
+
+        int span = (int) (last.toEpochDay() - first.toEpochDay());
+        for (int i = 0; i < 2000; i++) {
+            LocalDate start = first.plusDays(random.nextInt(span + 1));
+            LocalDate end = first.plusDays(random.nextInt(span + 1));
+            long expected = 0;
+            for (LocalDate d = start; d.isBefore(end); d = d.plusDays(1)) {
+                expected += calendar.isWorkingDay(d) ? 1 : 0;
+            }
+            for (LocalDate d = end; d.isBefore(start); d = d.plusDays(1)) {
+                expected -= calendar.isWorkingDay(d) ? 1 : 0;
+            }
+            Assert.assertEquals(expected, calendar.workingDaysBetween(start, end));
+
+            int n = random.nextInt(41) - 20;
+            LocalDate from = first.plusDays(60 + random.nextInt(span - 120));
+            LocalDate shifted = calendar.addWorkingDays(from, n);
+            Assert.assertEquals(loopAdd(calendar, from, n), shifted);
+            if (n > 0) {
+                Assert.assertEquals(n, calendar.workingDaysBetween(from.plusDays(1), shifted.plusDays(1)));
+            }
+        }
+    }
+
+    /**
+     * 默认周末、调休及范围检查
+     */
+    @Test
+    public void testDefaultsAndRange() {
+        // 2019年国庆：10月1日至7日放假，9月29日(周日)、10月12日(周六)调休上班
+        Set<LocalDate> holidays = new HashSet<>();
+        for (int day = 1; day <= 7; day++) {
+            holidays.add(LocalDate.of(2019, 10, day));
+        }
+        BusinessCalendar calendar = BusinessCalendar.of(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31),
+                EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY), holidays,
+                Arrays.asList(LocalDate.of(2019, 9, 29), LocalDate.of(2019, 10, 12)));
+        Assert.assertTrue(calendar.isWorkingDay(LocalDate.of(2019, 9, 29)));
+        Assert.assertFalse(calendar.isWorkingDay(LocalDate.of(2019, 10, 1)));
+        Assert.assertEquals(LocalDate.of(2019, 10, 8), calendar.addWorkingDays(LocalDate.of(2019, 9, 30), 1));
+        Assert.assertEquals(LocalDate.of(2019, 9, 30), calendar.addWorkingDays(LocalDate.of(2019, 10, 8), -1));
+        Assert.assertEquals(LocalDate.of(2019, 10, 8), calendar.nextOrSameWorkingDay(LocalDate.of(2019, 10, 3)));
+        Assert.assertEquals(LocalDate.of(2019, 9, 30), calendar.previousOrSameWorkingDay(LocalDate.of(2019, 10, 3)));
+        Assert.assertEquals(LocalDate.of(2019, 10, 3), calendar.addWorkingDays(LocalDate.of(2019, 10, 3), 0));
+        Assert.assertEquals(5, calendar.workingDaysBetween(LocalDate.of(2019, 10, 8), LocalDate.of(2019, 10, 14)));
+
+        BusinessCalendar plain = BusinessCalendar.of(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31),
+                Collections.emptyList());
+        Assert.assertEquals(261, plain.getWorkingDayCount());
+        Assert.assertFalse(plain.isWorkingDay(LocalDate.of(2019, 11, 9)));
+        try {
+            plain.isWorkingDay(LocalDate.of(2020, 1, 1));
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 超出范围
+        }
+        try {
+            plain.addWorkingDays(LocalDate.of(2019, 12, 30), 3);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 结果超出范围
+        }
+    }
+
+    private static LocalDate loopAdd(BusinessCalendar calendar, LocalDate date, int n) {
+        LocalDate d = date;
+        int step = n > 0 ? 1 : -1;
+        for (int remaining = Math.abs(n); remaining > 0; ) {
+            d = d.plusDays(step);
+            if (calendar.isWorkingDay(d)) {
+                remaining--;
+            }
+        }
+        return d;
+    }
+}
@@ -0,0 +1,131 @@
+package com.pci.mics.commons.util;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.TimeZone;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CoarseClockTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    /**
+     * 同一精度区间内返回缓存结果，跨区间后刷新
+     */
+    @Test
+    public void testSecondResolution() {
+        MutableClock clock = new MutableClock(LocalDateTime.of(2019, 1, 1, 10, 0, 5, 123_000_000));
+        CoarseClock coarseClock = new CoarseClock(clock, CoarseClock.Resolution.SECONDS);
+
+        String first = coarseClock.currentDateTime(DateTimePattern.LONG_DATETIME_PATTERN);
+        Assert.assertEquals("2019-01-01 10:00:05.000", first);
+        clock.advance(800);
+        Assert.assertSame(first, coarseClock.currentDateTime(DateTimePattern.LONG_DATETIME_PATTERN));
+        clock.advance(100);
+        Assert.assertEquals("2019-01-01 10:00:06.000", coarseClock.currentDateTime(DateTimePattern.LONG_DATETIME_PATTERN));
+        Assert.assertEquals("2019-01-01 10:00", coarseClock.currentDateTime(DateTimePattern.LONG_DATETIME_MINUTE_PATTERN));
+    }
+
+    /**
+     * 毫秒精度与模式精度取较粗者
+     */
+    @Test
+    public void testPatternPrecision() {
+        MutableClock clock = new MutableClock(LocalDateTime.of(2019, 1, 1, 23, 59, 59, 0));
+        CoarseClock coarseClock = new CoarseClock(clock, CoarseClock.Resolution.MILLIS);
+
+        Assert.assertEquals("2019-01-01 23:59:59.000", coarseClock.currentDateTime(DateTimePattern.LONG_DATETIME_PATTERN));
+        String date = coarseClock.currentDate(DateTimePattern.SHORT_DATE_PATTERN);
+        Assert.assertEquals("20190101", date);
+        clock.advance(999);
+        Assert.assertEquals("2019-01-01 23:59:59.999", coarseClock.currentDateTime(DateTimePattern.LONG_DATETIME_PATTERN));
+        Assert.assertSame(date, coarseClock.currentDate(DateTimePattern.SHORT_DATE_PATTERN));
+        clock.advance(1);
+        Assert.assertEquals("20190102", coarseClock.currentDate(DateTimePattern.SHORT_DATE_PATTERN));
+        Assert.assertEquals("2019/01", coarseClock.currentDateTime(DateTimePattern.EN_DATE_MONTH_PATTERN));
+    }
+
+    /**
+     * 任意多的自定义模式不会使缓存无限增长
+     */
+    @Test
+    public void testBoundedPatterns() {
+        MutableClock clock = new MutableClock(LocalDateTime.of(2019, 1, 1, 10, 0, 5, 0));
+        CoarseClock coarseClock = new CoarseClock(clock, CoarseClock.Resolution.SECONDS);
+        for (int i = 0; i < 2000; i++) {
+            String literal = "'" + i + "'";
+            Assert.assertEquals(i + "2019-01-01", coarseClock.currentDateTime(literal + "yyyy-MM-dd"));
+            Assert.assertEquals(i + "2019", coarseClock.currentDate(literal + "yyyy"));
+        }
+        Assert.assertTrue(coarseClock.cachedPatternCount() <= 512);
+        Assert.assertEquals("2019-01-01 10:00:05", coarseClock.currentDateTime(DateTimePattern.LONG_DATETIME_SECOND_PATTERN));
+    }
+
+    /**
+     * 日期模式不支持时间字段，与LocalDate.format一致
+     */
+    @Test(expected = UnsupportedTemporalTypeException.class)
+    public void testDateWithTimePattern() {
+        CoarseClock.getDefault().currentDate(DateTimePattern.LONG_DATETIME_PATTERN);
+    }
+
+    /**
+     * 默认实例跟随TimeZone.setDefault
+     */
+    @Test
+    public void testDefaultZoneChange() {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            // 两时区相差25小时，日期总是不同
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Pago_Pago"));
+            String before = DateTimeUtils.getCurLocalDateStr(DateTimePattern.SHORT_DATE_PATTERN);
+            String minute = DateTimeUtils.getCurLocalDateTimeStr(DateTimePattern.LONG_DATETIME_MINUTE_PATTERN);
+            TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+            Assert.assertNotEquals(before, DateTimeUtils.getCurLocalDateStr(DateTimePattern.SHORT_DATE_PATTERN));
+            Assert.assertNotEquals(minute,
+                    DateTimeUtils.getCurLocalDateTimeStr(DateTimePattern.LONG_DATETIME_MINUTE_PATTERN));
+            Assert.assertEquals(ZoneId.of("Pacific/Kiritimati"), CoarseClock.getDefault().getZone());
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(LocalDateTime start) {
+            this.millis = start.atZone(ZONE).toInstant().toEpochMilli();
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
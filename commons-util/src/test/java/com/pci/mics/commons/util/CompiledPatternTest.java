@@ -0,0 +1,163 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompiledPatternTest {
+
+    private static final String[] SPECIALIZED = {
+            "dd.MM.yyyy", "dd/MM/yy HH:mm", "yyyy'T'HH", "MMddyyyyHHmmss", "yyMMddHHmmssS", "'Date:' yyyy-MM-dd",
+            "HH:mm", "yyyy-MM-dd'T'HH:mm:ss.SS", "uuuu/MM", "yyyyMMddHHmmssSSS", "HH:mm:ss dd-MM-uuuu", "MM-dd",
+            "yyyy-MM-dd HH:ss", "''yy''MM"
+    };
+    private static final String[] GENERIC = {"d MMM uuuu", "yyyy-M-d", "EEE, dd MMM yyyy", "yyyy[-MM]", "yyyy0MM"};
+
+    /**
+     * 可编译与需回退的模式
+     */
+    @Test
+    public void testCompile() {
+        for (String pattern : SPECIALIZED) {
+            Assert.assertTrue(pattern, CompiledPattern.compile(pattern).isSpecialized());
+        }
+        for (String pattern : GENERIC) {
+            Assert.assertFalse(pattern, CompiledPattern.compile(pattern).isSpecialized());
+        }
+        Assert.assertSame(CompiledPattern.compile("dd.MM.yyyy"), CompiledPattern.compile("dd.MM.yyyy"));
+        try {
+            CompiledPattern.compile("yyyy-MM-dd'T");
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 引号未闭合
+        }
+    }
+
+    /**
+     * 格式化结果及异常与DateTimeFormatter一致
+     */
+    @Test
+    public void testFormat() {
+        Random random = new Random(19);
+        for (String pattern : concat(SPECIALIZED, GENERIC)) {
+            CompiledPattern compiled = CompiledPattern.compile(pattern);
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            for (int i = 0; i < 300; i++) {
+                LocalDateTime dateTime = randomDateTime(random);
+                assertSameOutcome(() -> formatter.format(dateTime), () -> compiled.format(dateTime));
+                LocalDate date = dateTime.toLocalDate();
+                assertSameOutcome(() -> formatter.format(date), () -> compiled.format(date));
+            }
+        }
+    }
+
+    /**
+     * 合法、越界及变形的输入，解析结果及异常与JDK一致
+     */
+    @Test
+    public void testParse() {
+        Random random = new Random(190);
+        for (String pattern : concat(SPECIALIZED, GENERIC)) {
+            CompiledPattern compiled = CompiledPattern.compile(pattern);
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+            DateTimeFormatter dateFormatter = DateTimeFormatters.ofDatePattern(pattern);
+            for (int i = 0; i < 500; i++) {
+                String text = mutate(random, formatter.format(randomDateTime(random)));
+                assertSameOutcome(() -> LocalDateTime.parse(text, formatter), () -> compiled.parseLocalDateTime(text));
+                assertSameOutcome(() -> LocalDate.parse(text, dateFormatter), () -> compiled.parseLocalDate(text));
+                assertSameOutcome(() -> DateTimeUtils.toLocalDate(text, pattern),
+                                  () -> LocalDate.parse(text, dateFormatter));
+                if (!DateTimePattern.SHORT_DATETIME_PATTERN.equals(pattern)) {
+                    // yyyyMMddHHmmssSSS的非定长输入沿用原有的转换后解析，见DateTimeUtilsTest
+                    assertSameOutcome(() -> LocalDateTime.parse(text, formatter),
+                                      () -> DateTimeUtils.toLocalDateTime(text, pattern));
+                }
+                Object expected = outcome(() -> DateTimeUtils.toLocalDateTime(text, pattern));
+                Assert.assertEquals(expected instanceof LocalDateTime ? expected : null,
+                                    DateTimeUtils.tryToLocalDateTime(text, pattern));
+            }
+        }
+        CompiledPattern compiled = CompiledPattern.compile("dd/MM/yy HH:mm");
+        Assert.assertEquals(LocalDateTime.of(2019, 11, 8, 0, 0), compiled.parseLocalDateTime("07/11/19 24:00"));
+        Assert.assertEquals(LocalDate.of(2019, 2, 28),
+                            CompiledPattern.compile("dd.MM.yyyy").parseLocalDate("31.02.2019"));
+        Assert.assertEquals("07/11/19 09:05",
+                            DateTimeUtils.toString(LocalDateTime.of(2019, 11, 7, 9, 5), "dd/MM/yy HH:mm"));
+    }
+
+    private static LocalDateTime randomDateTime(Random random) {
+        int year;
+        switch (random.nextInt(8)) {
+            case 0:
+                year = random.nextBoolean() ? 1 : 9999;
+                break;
+            case 1:
+                year = random.nextBoolean() ? 0 : 10000 + random.nextInt(100);
+                break;
+            default:
+                year = 1900 + random.nextInt(200);
+                break;
+        }
+        return LocalDateTime.of(year, 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                                random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000));
+    }
+
+    /**
+     * 随机改写数字、分隔符或长度，产生越界及不合法的输入
+     */
+    private static String mutate(Random random, String text) {
+        if (text.isEmpty()) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text);
+        int index = random.nextInt(sb.length());
+        switch (random.nextInt(7)) {
+            case 0:
+                sb.setCharAt(index, (char) ('0' + random.nextInt(10)));
+                break;
+            case 1:
+                sb.setCharAt(index, "9-/:x +".charAt(random.nextInt(7)));
+                break;
+            case 2:
+                sb.deleteCharAt(index);
+                break;
+            case 3:
+                sb.insert(index, '0');
+                break;
+            case 4:
+                int hour = text.indexOf(':');
+                if (hour >= 2) {
+                    sb.replace(hour - 2, hour, "24");
+                }
+                break;
+            default:
+                break;
+        }
+        return sb.toString();
+    }
+
+    private static String[] concat(String[] a, String[] b) {
+        String[] all = new String[a.length + b.length];
+        System.arraycopy(a, 0, all, 0, a.length);
+        System.arraycopy(b, 0, all, a.length, b.length);
+        return all;
+    }
+
+    private static Object outcome(Callable<?> callable) {
+        try {
+            return callable.call();
+        } catch (Exception e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    private static void assertSameOutcome(Callable<?> expected, Callable<?> actual) {
+        Assert.assertEquals(outcome(expected), outcome(actual));
+    }
+}
@@ -0,0 +1,86 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateTimeBatchTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    /**
+     * 并行解析，失败行按下标返回
+     */
+    @Test
+    public void testParseWithErrors() {
+        String[] values = new String[50_000];
+        LocalDateTime start = LocalDateTime.of(2019, 1, 1, 0, 0);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = DateTimeUtils.toString(start.plusMinutes(i), DateTimePattern.SHORT_DATETIME_PATTERN);
+        }
+        values[7] = "";
+        values[20_001] = "2019x";
+        values[49_999] = null;
+
+        DateTimeBatch batch = new DateTimeBatch(1000, new ForkJoinPool(4));
+        BatchResult<LocalDateTime[]> result = batch.parseLocalDateTimes(values, DateTimePattern.SHORT_DATETIME_PATTERN);
+        Assert.assertEquals(3, result.getErrorCount());
+        Assert.assertArrayEquals(new int[]{7, 20_001, 49_999}, result.getErrorIndexes());
+        Assert.assertTrue(result.isError(20_001));
+        Assert.assertNotNull(result.getErrorMessage(20_001));
+        Assert.assertNull(result.getValues()[20_001]);
+        Assert.assertEquals(start.plusMinutes(30_000), result.getValues()[30_000]);
+
+        BatchResult<long[]> millis = batch.parseEpochMillis(Arrays.asList(values), DateTimePattern.SHORT_DATETIME_PATTERN, ZONE);
+        Assert.assertEquals(3, millis.getErrorCount());
+        Assert.assertEquals(start.plusMinutes(1).atZone(ZONE).toInstant().toEpochMilli(), millis.getValues()[1]);
+    }
+
+    /**
+     * 格式化与逐条转换结果一致
+     */
+    @Test
+    public void testFormat() {
+        LocalDateTime[] values = new LocalDateTime[20_000];
+        long[] millis = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = LocalDateTime.of(2019, 1, 1, 0, 0).plusSeconds(i * 37L);
+            millis[i] = values[i].atZone(ZONE).toInstant().toEpochMilli();
+        }
+        values[3] = null;
+        String[] formatted = DateTimeBatch.getDefault().formatLocalDateTimes(values, DateTimePattern.LONG_DATETIME_PATTERN);
+        String[] formattedMillis = DateTimeBatch.getDefault().formatEpochMillis(millis, "dd.MM.yyyy HH:mm:ss", ZONE);
+        Assert.assertNull(formatted[3]);
+        for (int i = 4; i < values.length; i++) {
+            Assert.assertEquals(DateTimeUtils.toString(values[i]), formatted[i]);
+            Assert.assertEquals(DateTimeUtils.toString(values[i], "dd.MM.yyyy HH:mm:ss"), formattedMillis[i]);
+        }
+    }
+
+    /**
+     * yyyyMMddHHmmssSSS的非定长输入与DateTimeUtils.tryToLocalDateTime判定一致
+     */
+    @Test
+    public void testShortDateTimeCompatibility() {
+        String[] values = {"+106660122163849334", "20190101000012000", "2019010100001200", "201901010000120001",
+                "20190229000000000", "20190101240000000", "-0019010100000000"};
+        DateTimeBatch batch = new DateTimeBatch(1, ForkJoinPool.commonPool());
+        BatchResult<LocalDateTime[]> dateTimes = batch.parseLocalDateTimes(values, DateTimePattern.SHORT_DATETIME_PATTERN);
+        BatchResult<long[]> millis = batch.parseEpochMillis(values, DateTimePattern.SHORT_DATETIME_PATTERN, ZONE);
+        for (int i = 0; i < values.length; i++) {
+            LocalDateTime expected = DateTimeUtils.tryToLocalDateTime(values[i], DateTimePattern.SHORT_DATETIME_PATTERN);
+            Assert.assertEquals(values[i], expected, dateTimes.getValues()[i]);
+            Assert.assertEquals(values[i], expected == null, dateTimes.isError(i));
+            Assert.assertEquals(values[i], expected == null, millis.isError(i));
+            if (expected != null) {
+                Assert.assertEquals(EpochTimeUtils.toEpochMillis(expected, ZONE), millis.getValues()[i]);
+            }
+        }
+        Assert.assertTrue(dateTimes.isError(0));
+    }
+}
@@ -0,0 +1,83 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateTimeDetectorTest {
+
+    private static final LocalDateTime VALUE = LocalDateTime.of(2019, 11, 7, 13, 45, 30, 123_000_000);
+
+    /**
+     * 每个DateTimePattern的输入均识别为对应布局，解析结果与按该模式解析一致
+     */
+    @Test
+    public void testDetectPresets() {
+        DateTimeDetector detector = DateTimeDetector.getDefault();
+        int index = 0;
+        for (DateTimeLayout layout : DateTimeLayout.presets()) {
+            String text = DateTimeWriter.format(VALUE, layout);
+            Assert.assertSame(layout, detector.detect(text));
+            Assert.assertEquals(index++, detector.indexOf(text));
+            Assert.assertEquals(DateTimeReader.parseLocalDate(text, layout), detector.parseLocalDate(text));
+            LocalDateTime expected = layout.hasTime()
+                    ? DateTimeUtils.toLocalDateTime(text, layout.getPattern())
+                    : DateTimeUtils.toLocalDate(text, layout.getPattern()).atStartOfDay();
+            Assert.assertEquals(expected, detector.parseLocalDateTime(text));
+            Assert.assertEquals(expected.toInstant(ZoneOffset.UTC).toEpochMilli(),
+                                detector.parseEpochMillis(text, ZoneOffset.UTC));
+        }
+        Assert.assertNull(detector.detect("2019-11-7"));
+        Assert.assertNull(detector.detect("yyyy-MM-dd"));
+        Assert.assertEquals(-1, detector.indexOf("2019.11.07"));
+    }
+
+    /**
+     * 不合法的数值抛出与JDK一致的异常，无匹配布局同样抛出DateTimeParseException
+     */
+    @Test
+    public void testInvalid() {
+        DateTimeDetector detector = DateTimeDetector.getDefault();
+        try {
+            detector.parseLocalDateTime("2019-13-07 00:00");
+            Assert.fail();
+        } catch (DateTimeParseException e) {
+            Assert.assertTrue(e.getMessage().contains("MonthOfYear"));
+        }
+        try {
+            detector.parseLocalDateTime("07/11/2019");
+            Assert.fail();
+        } catch (DateTimeParseException e) {
+            Assert.assertTrue(e.getMessage().contains("does not match"));
+        }
+    }
+
+    /**
+     * 追加自定义布局，形状相同的布局被拒绝
+     */
+    @Test
+    public void testCustomLayouts() {
+        DateTimeLayout european = DateTimeLayout.of("dd.MM.yyyy HH:mm");
+        DateTimeDetector detector = DateTimeDetector.getDefault().with(european);
+        Assert.assertSame(european, detector.detect("07.11.2019 13:45"));
+        Assert.assertEquals(LocalDateTime.of(2019, 11, 7, 13, 45), detector.parseLocalDateTime("07.11.2019 13:45"));
+        Assert.assertEquals(LocalDate.of(2019, 11, 7), detector.parseLocalDate("20191107"));
+        Assert.assertSame(DateTimeLayout.LONG_DATE, DateTimeLayout.of("yyyy-MM-dd"));
+        try {
+            detector.with(DateTimeLayout.of("MM.dd.yyyy HH:mm"));
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("Ambiguous"));
+        }
+        try {
+            DateTimeLayout.of("yyyy-MM-dd mm");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("contiguous"));
+        }
+    }
+}
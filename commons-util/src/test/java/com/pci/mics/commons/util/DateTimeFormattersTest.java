@@ -0,0 +1,53 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateTimeFormattersTest {
+
+    /**
+     * 预编译模式返回同一实例
+     */
+    @Test
+    public void testPresetPattern() {
+        DateTimeFormatter formatter = DateTimeFormatters.ofPattern(DateTimePattern.LONG_DATETIME_PATTERN);
+        Assert.assertSame(formatter, DateTimeFormatters.ofPattern(DateTimePattern.LONG_DATETIME_PATTERN));
+        Assert.assertTrue(DateTimeFormatters.isPreset(DateTimePattern.SHORT_DATE_MONTH_PATTERN));
+        Assert.assertFalse(DateTimeFormatters.isPreset("dd.MM.yyyy"));
+        Assert.assertEquals(LocalDate.of(2019, 2, 1),
+                            LocalDate.parse("201902", DateTimeFormatters.ofDatePattern(DateTimePattern.SHORT_DATE_MONTH_PATTERN)));
+    }
+
+    /**
+     * 自定义模式缓存及命中统计
+     */
+    @Test
+    public void testCustomPattern() {
+        DateTimeFormatters.clear();
+        DateTimeFormatter formatter = DateTimeFormatters.ofPattern("dd.MM.yyyy");
+        Assert.assertSame(formatter, DateTimeFormatters.ofPattern("dd.MM.yyyy"));
+        Assert.assertEquals("01.02.2019", LocalDate.of(2019, 2, 1).format(formatter));
+        CacheStats stats = DateTimeFormatters.stats();
+        Assert.assertEquals(1, stats.getMissCount());
+        Assert.assertEquals(1, stats.getHitCount());
+        Assert.assertEquals(1, stats.getSize());
+    }
+
+    /**
+     * 超出上限时淘汰
+     */
+    @Test
+    public void testEviction() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(8);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(String.valueOf(i), cache.get(i, String::valueOf));
+        }
+        Assert.assertTrue(cache.size() <= 8);
+        Assert.assertEquals(92, cache.stats().getEvictionCount());
+        Assert.assertEquals(100, cache.stats().getMissCount());
+    }
+}
@@ -0,0 +1,94 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * 开启度量时DateTimeUtils各入口的计数，由pom中单独的surefire执行以pci.commons.datetime.metrics=true运行
+ */
+public class DateTimeMetricsEnabledTest {
+
+    private final DateTimeMetricsRegistry registry = new DateTimeMetricsRegistry();
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(DateTimeMetrics.ENABLED);
+        DateTimeMetrics.setListener(registry);
+    }
+
+    @After
+    public void restoreListener() {
+        DateTimeMetrics.setListener(DateTimeMetrics.getRegistry());
+    }
+
+    /**
+     * 格式化与解析按操作、模式计数，异常与try系列返回null记为失败
+     */
+    @Test
+    public void testFormatAndParse() {
+        String datePattern = DateTimePattern.LONG_DATE_PATTERN;
+        String dateTimePattern = DateTimePattern.LONG_DATETIME_SECOND_PATTERN;
+        LocalDate date = LocalDate.of(2019, 11, 7);
+        LocalDateTime dateTime = date.atTime(8, 30);
+
+        Assert.assertEquals("2019-11-07", DateTimeUtils.toString(date, datePattern));
+        Assert.assertEquals("2019-11-07", DateTimeUtils.toString(date, DateTimeFormatter.ISO_LOCAL_DATE));
+        Assert.assertEquals("2019-11-07 08:30:00", DateTimeUtils.toString(dateTime, dateTimePattern));
+        DateTimeUtils.toString(dateTime, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        Assert.assertEquals(date, DateTimeUtils.toLocalDate("2019-11-07", datePattern));
+        Assert.assertEquals(date, DateTimeUtils.toLocalDate("2019-11-07", DateTimeFormatter.ISO_LOCAL_DATE));
+        Assert.assertEquals(dateTime, DateTimeUtils.toLocalDateTime("2019-11-07 08:30:00", dateTimePattern));
+        Assert.assertEquals(dateTime,
+                            DateTimeUtils.toLocalDateTime("2019-11-07T08:30", DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        try {
+            DateTimeUtils.toLocalDate("2019-13-07", datePattern);
+            Assert.fail();
+        } catch (DateTimeParseException expected) {
+            // 异常原样抛出
+        }
+        Assert.assertNull(DateTimeUtils.tryToLocalDate("2019-13-07", datePattern));
+        Assert.assertNull(DateTimeUtils.tryToLocalDateTime("2019-11-07 25:00:00", dateTimePattern));
+
+        assertCounts(DateTimeMetrics.Operation.FORMAT_DATE, datePattern, 1, 0);
+        assertCounts(DateTimeMetrics.Operation.FORMAT_DATE, DateTimeMetrics.FORMATTER_KEY, 1, 0);
+        assertCounts(DateTimeMetrics.Operation.FORMAT_DATE_TIME, dateTimePattern, 1, 0);
+        assertCounts(DateTimeMetrics.Operation.FORMAT_DATE_TIME, DateTimeMetrics.FORMATTER_KEY, 1, 0);
+        assertCounts(DateTimeMetrics.Operation.PARSE_DATE, datePattern, 3, 2);
+        assertCounts(DateTimeMetrics.Operation.PARSE_DATE, DateTimeMetrics.FORMATTER_KEY, 1, 0);
+        assertCounts(DateTimeMetrics.Operation.PARSE_DATE_TIME, dateTimePattern, 2, 1);
+        assertCounts(DateTimeMetrics.Operation.PARSE_DATE_TIME, DateTimeMetrics.FORMATTER_KEY, 1, 0);
+    }
+
+    /**
+     * 当前时间字符串只记为一次CURRENT调用，CoarseClock刷新缓存不额外计入FORMAT
+     */
+    @Test
+    public void testCurrent() {
+        String pattern = DateTimePattern.LONG_DATETIME_PATTERN;
+        for (int i = 0; i < 3; i++) {
+            DateTimeUtils.getCurLocalDateTimeStr(pattern);
+            DateTimeUtils.getCurLocalDateStr(DateTimePattern.LONG_DATE_PATTERN);
+        }
+        assertCounts(DateTimeMetrics.Operation.CURRENT_DATE_TIME, pattern, 3, 0);
+        assertCounts(DateTimeMetrics.Operation.CURRENT_DATE, DateTimePattern.LONG_DATE_PATTERN, 3, 0);
+        Assert.assertNull(registry.get(DateTimeMetrics.Operation.FORMAT_DATE_TIME, pattern));
+        Assert.assertNull(registry.get(DateTimeMetrics.Operation.FORMAT_DATE, DateTimePattern.LONG_DATE_PATTERN));
+        Assert.assertEquals(2, registry.snapshot().size());
+    }
+
+    private void assertCounts(DateTimeMetrics.Operation operation, String pattern, long calls, long failures) {
+        PatternMetrics metrics = registry.get(operation, pattern);
+        Assert.assertNotNull(operation + " " + pattern, metrics);
+        Assert.assertEquals(operation + " " + pattern, calls, metrics.getCallCount());
+        Assert.assertEquals(operation + " " + pattern, failures, metrics.getFailureCount());
+    }
+}
@@ -0,0 +1,135 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateTimeMetricsTest {
+
+    private static final DateTimeMetrics.Operation PARSE = DateTimeMetrics.Operation.PARSE_DATE;
+
+    @After
+    public void restoreListener() {
+        DateTimeMetrics.setListener(DateTimeMetrics.getRegistry());
+    }
+
+    /**
+     * 成功、异常与try系列返回null分别计数，异常原样抛出
+     */
+    @Test
+    public void testRecord() {
+        DateTimeMetricsRegistry registry = new DateTimeMetricsRegistry();
+        DateTimeMetrics.setListener(registry);
+        String pattern = DateTimePattern.LONG_DATE_PATTERN;
+        Assert.assertEquals(LocalDate.of(2019, 11, 7), DateTimeMetrics.record(PARSE, pattern,
+                () -> DateTimeUtils.toLocalDate("2019-11-07", pattern)));
+        try {
+            DateTimeMetrics.record(PARSE, pattern, () -> DateTimeUtils.toLocalDate("2019-13-07", pattern));
+            Assert.fail();
+        } catch (DateTimeParseException expected) {
+            // 异常不被吞掉
+        }
+        Assert.assertNull(DateTimeMetrics.recordTry(PARSE, pattern,
+                () -> DateTimeUtils.tryToLocalDate("2019-13-07", pattern)));
+        Assert.assertNull(DateTimeMetrics.recordTry(PARSE, null, () -> null));
+
+        PatternMetrics metrics = registry.get(PARSE, pattern);
+        Assert.assertEquals(3, metrics.getCallCount());
+        Assert.assertEquals(2, metrics.getFailureCount());
+        Assert.assertTrue(metrics.getSampleCount() <= 3);
+        Assert.assertEquals(1, registry.get(PARSE, null).getFailureCount());
+        Assert.assertEquals(DateTimeMetricsRegistry.NULL_PATTERN, registry.get(PARSE, null).getPattern());
+        Assert.assertNull(registry.get(DateTimeMetrics.Operation.FORMAT_DATE, pattern));
+        Assert.assertEquals(2, registry.snapshot().size());
+
+        registry.reset();
+        Assert.assertTrue(registry.snapshot().isEmpty());
+        Assert.assertNotNull(DateTimeMetrics.formatterCacheStats());
+    }
+
+    /**
+     * 监听器异常不影响调用
+     */
+    @Test
+    public void testListenerFailure() {
+        DateTimeMetrics.setListener((operation, pattern, success, latencyNanos, allocatedBytes) -> {
+            throw new IllegalStateException("broken");
+        });
+        Assert.assertEquals("x", DateTimeMetrics.record(PARSE, "p", () -> "x"));
+    }
+
+    /**
+     * 直方图分桶与分位数，模式数超过上限后合并
+     */
+    @Test
+    public void testRegistry() {
+        Assert.assertEquals(0, DateTimeMetricsRegistry.bucketOf(0));
+        Assert.assertEquals(0, DateTimeMetricsRegistry.bucketOf(1));
+        Assert.assertEquals(1, DateTimeMetricsRegistry.bucketOf(3));
+        Assert.assertEquals(10, DateTimeMetricsRegistry.bucketOf(1024));
+        Assert.assertEquals(DateTimeMetricsRegistry.BUCKET_COUNT - 1, DateTimeMetricsRegistry.bucketOf(Long.MAX_VALUE));
+
+        DateTimeMetricsRegistry registry = new DateTimeMetricsRegistry();
+        for (int i = 0; i < 99; i++) {
+            registry.onCall(PARSE, "p", true, 100, 48);
+        }
+        registry.onCall(PARSE, "p", true, 5000, 48);
+        registry.onCall(PARSE, "p", true, -1, -1);
+        PatternMetrics metrics = registry.get(PARSE, "p");
+        Assert.assertEquals(101, metrics.getCallCount());
+        Assert.assertEquals(100, metrics.getSampleCount());
+        Assert.assertEquals(127, metrics.getLatencyQuantileNanos(0.5));
+        Assert.assertEquals(127, metrics.getLatencyQuantileNanos(0.99));
+        Assert.assertEquals(8191, metrics.getLatencyQuantileNanos(1.0));
+        Assert.assertEquals(149.0, metrics.getMeanLatencyNanos(), 1e-9);
+        Assert.assertEquals(48.0, metrics.getMeanAllocatedBytes(), 1e-9);
+
+        for (int i = 0; i < DateTimeMetricsRegistry.MAXIMUM_PATTERNS + 10; i++) {
+            registry.onCall(PARSE, "p" + i, false, -1, -1);
+        }
+        Assert.assertEquals(DateTimeMetricsRegistry.MAXIMUM_PATTERNS + 1, registry.snapshot().size());
+        Assert.assertEquals(11, registry.get(PARSE, DateTimeMetricsRegistry.OTHER_PATTERNS).getFailureCount());
+    }
+
+    /**
+     * 并发计数不丢失
+     */
+    @Test
+    public void testConcurrentCounts() throws InterruptedException {
+        DateTimeMetricsRegistry registry = new DateTimeMetricsRegistry();
+        DateTimeMetrics.setListener(registry);
+        int threads = 8;
+        int calls = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < calls; i++) {
+                    DateTimeMetrics.record(DateTimeMetrics.Operation.FORMAT_DATE, DateTimePattern.LONG_DATE_PATTERN,
+                            () -> DateTimeUtils.toString(LocalDate.of(2019, 11, 7)));
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        PatternMetrics metrics = registry.get(DateTimeMetrics.Operation.FORMAT_DATE, DateTimePattern.LONG_DATE_PATTERN);
+        Assert.assertEquals((long) threads * calls, metrics.getCallCount());
+        Assert.assertEquals(0, metrics.getFailureCount());
+        Assert.assertTrue(metrics.getSampleCount() > 0);
+    }
+}
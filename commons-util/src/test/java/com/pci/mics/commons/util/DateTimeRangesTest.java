@@ -0,0 +1,111 @@
+package com.pci.mics.commons.util;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateTimeRangesTest {
+
+    /**
+     * 元素个数与periodDays、periodMonths一致，且与逐个累加的结果相同
+     */
+    @Test
+    public void testCounts() {
+        Random random = new Random(16);
+        for (int i = 0; i < 2000; i++) {
+            LocalDate start = LocalDate.of(2016, 1, 1).plusDays(random.nextInt(1500));
+            LocalDate end = start.plusDays(random.nextInt(800) - 20);
+            Assert.assertEquals(Math.max(0, DateTimeUtils.periodDays(start, end)),
+                    DateTimeRanges.dates(start, end).count());
+            Assert.assertEquals(Math.max(0, DateTimeUtils.periodDays(start, end)),
+                    DateTimeRanges.epochDays(start, end).count());
+
+            long months = DateTimeUtils.periodMonths(start, end);
+            long monthly = DateTimeRanges.dates(start, end, 1, ChronoUnit.MONTHS).count();
+            if (end.isAfter(start)) {
+                Assert.assertEquals(start.plusMonths(months).isBefore(end) ? months + 1 : months, monthly);
+            } else {
+                Assert.assertEquals(0, monthly);
+            }
+            for (ChronoUnit unit : new ChronoUnit[]{ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS}) {
+                int amount = 1 + random.nextInt(3);
+                Assert.assertEquals(iterate(start, end, amount, unit),
+                        DateTimeRanges.dates(start, end, amount, unit).collect(Collectors.toList()));
+            }
+        }
+    }
+
+    /**
+     * 按月步进由起点直接计算，月末不漂移
+     */
+    @Test
+    public void testMonthEnd() {
+        List<LocalDate> dates = DateTimeRanges.dates(LocalDate.of(2019, 1, 31), LocalDate.of(2019, 5, 1),
+                1, ChronoUnit.MONTHS).collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList(LocalDate.of(2019, 1, 31), LocalDate.of(2019, 2, 28),
+                LocalDate.of(2019, 3, 31), LocalDate.of(2019, 4, 30)), dates);
+        Assert.assertArrayEquals(new int[]{20191230, 20191231, 20200101},
+                DateTimeRanges.dateInts(LocalDate.of(2019, 12, 30), LocalDate.of(2020, 1, 2)).toArray());
+    }
+
+    /**
+     * 日期时间与纪元毫秒序列，并行与串行结果一致
+     */
+    @Test
+    public void testParallel() {
+        LocalDateTime start = LocalDateTime.of(2019, 11, 7, 0, 3);
+        LocalDateTime end = LocalDateTime.of(2019, 12, 7, 0, 0);
+        List<LocalDateTime> slots = DateTimeRanges.dateTimes(start, end, 5, ChronoUnit.MINUTES)
+                                                  .collect(Collectors.toList());
+        Assert.assertEquals(30 * 288, slots.size());
+        Assert.assertEquals(LocalDateTime.of(2019, 12, 6, 23, 58), slots.get(slots.size() - 1));
+        Assert.assertEquals(slots, DateTimeRanges.dateTimes(start, end, Duration.ofMinutes(5)).parallel()
+                                                 .collect(Collectors.toList()));
+        Assert.assertEquals(2, DateTimeRanges.dateTimes(start, start.plusNanos(3), Duration.ofNanos(2)).count());
+
+        Spliterator<LocalDateTime> spliterator = DateTimeRanges.dateTimes(start, end, 5, ChronoUnit.MINUTES)
+                                                               .parallel().spliterator();
+        Assert.assertEquals(slots.size(), spliterator.getExactSizeIfKnown());
+        Spliterator<LocalDateTime> prefix = spliterator.trySplit();
+        Assert.assertNotNull(prefix);
+        Assert.assertEquals(slots.size(), prefix.estimateSize() + spliterator.estimateSize());
+
+        long step = 300_000L;
+        long startMillis = 1_573_084_800_000L;
+        long endMillis = startMillis + 30 * 86_400_000L + 1;
+        Assert.assertEquals(30 * 288 + 1, DateTimeRanges.epochMillis(startMillis, endMillis, step).count());
+        long sum = 0;
+        for (long t = startMillis; t < endMillis; t += step) {
+            sum += t;
+        }
+        Assert.assertEquals(sum, DateTimeRanges.epochMillis(startMillis, endMillis, step).parallel().sum());
+        Assert.assertEquals(0, DateTimeRanges.epochMillis(endMillis, startMillis, step).count());
+        try {
+            DateTimeRanges.dates(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 2, 1), 1, ChronoUnit.HOURS);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 日期序列不支持时间单位
+        }
+    }
+
+    private static List<LocalDate> iterate(LocalDate start, LocalDate end, int amount, ChronoUnit unit) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; ; i++) {
+            LocalDate date = start.plus((long) i * amount, unit);
+            if (!date.isBefore(end)) {
+                return dates;
+            }
+            dates.add(date);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateTimeReaderTest {
+
+    private static final DateTimeLayout[] LAYOUTS = {
+            DateTimeLayout.LONG_DATE_MONTH, DateTimeLayout.LONG_DATE,
+            DateTimeLayout.EN_DATE_MONTH, DateTimeLayout.EN_DATE,
+            DateTimeLayout.SHORT_DATE_MONTH, DateTimeLayout.SHORT_DATE,
+            DateTimeLayout.LONG_DATETIME_SECOND, DateTimeLayout.LONG_DATETIME_MINUTE, DateTimeLayout.LONG_DATETIME,
+            DateTimeLayout.EN_DATETIME_SECOND, DateTimeLayout.EN_DATETIME_MINUTE, DateTimeLayout.EN_DATETIME,
+            DateTimeLayout.SHORT_DATETIME_SECOND, DateTimeLayout.SHORT_DATETIME_MINUTE, DateTimeLayout.SHORT_DATETIME
+    };
+
+    /**
+     * 随机生成合法与不合法的输入，与DateTimeFormatter结果逐一比对；
+     * yyyyMMddHHmmssSSS按日期时间解析时与DateTimeUtils一样，先改写为yyyy-MM-dd HH:mm:ss.SSS
+     */
+    @Test
+    public void testMatchesFormatter() {
+        Random random = new Random(7);
+        for (DateTimeLayout layout : LAYOUTS) {
+            boolean shortDateTime = layout == DateTimeLayout.SHORT_DATETIME;
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(
+                    shortDateTime ? DateTimeLayout.LONG_DATETIME.getPattern() : layout.getPattern());
+            DateTimeFormatter dateFormatter = new DateTimeFormatterBuilder().appendPattern(layout.getPattern())
+                                                                            .parseDefaulting(ChronoField.DAY_OF_MONTH, 1)
+                                                                            .toFormatter();
+            for (int i = 0; i < 2000; i++) {
+                String text = randomText(random, layout);
+                String dateTimeText = shortDateTime ? DateTimeUtils.shortPatternToLongPattern(text) : text;
+                Assert.assertEquals(text, parse(() -> LocalDateTime.parse(dateTimeText, formatter)),
+                                    parse(() -> DateTimeReader.parseLocalDateTime(text, layout)));
+                Assert.assertEquals(text, parse(() -> LocalDate.parse(text, dateFormatter)),
+                                    parse(() -> DateTimeReader.parseLocalDate(text, layout)));
+            }
+        }
+    }
+
+    /**
+     * 日超出当月天数、24点
+     */
+    @Test
+    public void testSmartResolve() {
+        Assert.assertEquals(LocalDateTime.of(2019, 2, 28, 0, 0),
+                            DateTimeReader.parseLocalDateTime("2019-02-30 00:00", DateTimeLayout.LONG_DATETIME_MINUTE));
+        Assert.assertEquals(LocalDateTime.of(2020, 1, 1, 0, 0),
+                            DateTimeReader.parseLocalDateTime("20191231240000000", DateTimeLayout.SHORT_DATETIME));
+        Assert.assertEquals(LocalDate.of(2019, 3, 1),
+                            DateTimeReader.parseLocalDate("2019/02/28 24:00", DateTimeLayout.EN_DATETIME_MINUTE));
+    }
+
+    /**
+     * 按偏移与长度解析
+     */
+    @Test
+    public void testOffset() {
+        String line = "INFO|20190101000012345|done";
+        Assert.assertEquals(LocalDateTime.of(2019, 1, 1, 0, 0, 12, 345_000_000),
+                            DateTimeReader.parseLocalDateTime(line, 5, 17, DateTimeLayout.SHORT_DATETIME));
+        Assert.assertEquals(LocalDate.of(2019, 1, 1),
+                            DateTimeReader.parseLocalDate(line, 5, 8, DateTimeLayout.SHORT_DATE));
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void testInvalid() {
+        DateTimeReader.parseLocalDateTime("2019-01-01 12:60:00", DateTimeLayout.LONG_DATETIME_SECOND);
+    }
+
+    private static String randomText(Random random, DateTimeLayout layout) {
+        LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+                                                  1 + random.nextInt(28), random.nextInt(24), random.nextInt(60),
+                                                  random.nextInt(60), random.nextInt(1000) * 1000_000);
+        char[] chars = DateTimeWriter.format(dateTime, layout).toCharArray();
+        int mutations = random.nextInt(3);
+        for (int m = 0; m < mutations; m++) {
+            int index = random.nextInt(chars.length);
+            chars[index] = random.nextInt(10) == 0 ? 'x' : (char) ('0' + random.nextInt(10));
+        }
+        String text = new String(chars);
+        switch (random.nextInt(20)) {
+            case 0:
+                return text.substring(1);
+            case 1:
+                return text + "0";
+            case 2:
+                return "+1" + text;
+            default:
+                return text;
+        }
+    }
+
+    private static Object parse(ParseAction action) {
+        try {
+            return action.parse();
+        } catch (DateTimeParseException e) {
+            return DateTimeParseException.class;
+        }
+    }
+
+    private interface ParseAction {
+        Object parse();
+    }
+}
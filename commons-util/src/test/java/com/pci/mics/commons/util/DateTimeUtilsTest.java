@@ -3,6 +3,8 @@ package com.pci.mics.commons.util;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
 
 import com.pci.mics.commons.contants.DateTimePattern;
@@ -183,4 +185,29 @@ public class DateTimeUtilsTest {
         Assert.assertFalse(DateTimeUtils.isFullClock(dt1));
     }
 
+    /**
+     * yyyyMMddHHmmssSSS的非定长输入与原有的转换后解析一致，带符号的长年份仍被拒绝
+     */
+    @Test
+    public void testShortDateTimeCompatibility() {
+        String[] texts = {"+106660122163849334", "20190101000012000", "2019010100001200", "201901010000120001",
+                "20190229000000000", "20190101240000000", "-0019010100000000"};
+        DateTimeFormatter longFormatter = DateTimeFormatter.ofPattern(DateTimePattern.LONG_DATETIME_PATTERN);
+        for (String text : texts) {
+            LocalDateTime expected;
+            try {
+                expected = LocalDateTime.parse(DateTimeUtils.shortPatternToLongPattern(text), longFormatter);
+            } catch (DateTimeParseException e) {
+                expected = null;
+            }
+            Assert.assertEquals(text, expected, DateTimeUtils.tryToLocalDateTime(text,
+                    DateTimePattern.SHORT_DATETIME_PATTERN));
+            try {
+                Assert.assertEquals(text, expected, DateTimeUtils.toLocalDateTime(text,
+                        DateTimePattern.SHORT_DATETIME_PATTERN));
+            } catch (DateTimeParseException e) {
+                Assert.assertNull(text, expected);
+            }
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.pci.mics.commons.util;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.Random;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DateTimeWriterTest {
+
+    private static final DateTimeLayout[] LAYOUTS = {
+            DateTimeLayout.LONG_DATE_MONTH, DateTimeLayout.LONG_DATE,
+            DateTimeLayout.EN_DATE_MONTH, DateTimeLayout.EN_DATE,
+            DateTimeLayout.SHORT_DATE_MONTH, DateTimeLayout.SHORT_DATE,
+            DateTimeLayout.LONG_DATETIME_SECOND, DateTimeLayout.LONG_DATETIME_MINUTE, DateTimeLayout.LONG_DATETIME,
+            DateTimeLayout.EN_DATETIME_SECOND, DateTimeLayout.EN_DATETIME_MINUTE, DateTimeLayout.EN_DATETIME,
+            DateTimeLayout.SHORT_DATETIME_SECOND, DateTimeLayout.SHORT_DATETIME_MINUTE, DateTimeLayout.SHORT_DATETIME
+    };
+
+    /**
+     * 各输出目标与DateTimeFormatter结果一致
+     */
+    @Test
+    public void testMatchesFormatter() {
+        Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+                                                      1 + random.nextInt(28), random.nextInt(24), random.nextInt(60),
+                                                      random.nextInt(60), random.nextInt(1000_000_000));
+            for (DateTimeLayout layout : LAYOUTS) {
+                String expected = DateTimeFormatter.ofPattern(layout.getPattern()).format(dateTime);
+                Assert.assertEquals(expected, DateTimeWriter.format(dateTime, layout));
+
+                StringBuilder sb = new StringBuilder("#");
+                Assert.assertEquals("#" + expected, DateTimeWriter.format(dateTime, layout, sb).toString());
+
+                StringWriter writer = new StringWriter();
+                DateTimeWriter.formatTo(dateTime, layout, writer);
+                Assert.assertEquals(expected, writer.toString());
+
+                char[] chars = new char[layout.length() + 2];
+                Assert.assertEquals(layout.length() + 1, DateTimeWriter.format(dateTime, layout, chars, 1));
+                Assert.assertEquals(expected, new String(chars, 1, layout.length()));
+
+                ByteBuffer buffer = ByteBuffer.allocate(layout.length());
+                DateTimeWriter.format(dateTime, layout, buffer);
+                Assert.assertEquals(layout.length(), buffer.position());
+                Assert.assertEquals(expected, new String(buffer.array(), StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    /**
+     * 超出4位的年份回退到DateTimeFormatter
+     */
+    @Test
+    public void testYearOutOfRange() {
+        LocalDateTime dateTime = LocalDateTime.of(10000, 1, 1, 0, 0);
+        Assert.assertEquals("+10000-01-01 00:00:00.000", DateTimeWriter.format(dateTime, DateTimeLayout.LONG_DATETIME));
+        Assert.assertEquals("0001-01-01", DateTimeWriter.format(LocalDate.of(0, 1, 1), DateTimeLayout.LONG_DATE));
+    }
+
+    /**
+     * LocalDate不支持时间布局，与DateTimeFormatter行为一致
+     */
+    @Test(expected = UnsupportedTemporalTypeException.class)
+    public void testLocalDateWithTimeLayout() {
+        DateTimeWriter.format(LocalDate.of(2019, 1, 1), DateTimeLayout.LONG_DATETIME);
+    }
+
+    @Test
+    public void testForPattern() {
+        Assert.assertSame(DateTimeLayout.SHORT_DATETIME, DateTimeLayout.forPattern(DateTimePattern.SHORT_DATETIME_PATTERN));
+        Assert.assertNull(DateTimeLayout.forPattern("dd.MM.yyyy"));
+        Assert.assertEquals(17, DateTimeLayout.SHORT_DATETIME.length());
+    }
+}
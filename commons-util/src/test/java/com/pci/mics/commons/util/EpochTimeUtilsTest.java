@@ -0,0 +1,151 @@
+package com.pci.mics.commons.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class EpochTimeUtilsTest {
+
+    private static final ZoneId[] ZONES = {
+            ZoneOffset.UTC, ZoneId.of("Asia/Shanghai"), ZoneId.of("America/New_York"), ZoneId.of("Asia/Kathmandu")
+    };
+
+    /**
+     * 纪元毫秒格式化、解析与java.time结果一致
+     */
+    @Test
+    public void testEpochMillis() {
+        Random random = new Random(3);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DateTimePattern.LONG_DATETIME_PATTERN);
+        for (ZoneId zone : ZONES) {
+            for (int i = 0; i < 2000; i++) {
+                long epochMillis = (long) (random.nextDouble() * 4_000_000_000_000L) - 1_000_000_000_000L;
+                String expected = Instant.ofEpochMilli(epochMillis).atZone(zone).format(formatter);
+                String text = EpochTimeUtils.formatEpochMillis(epochMillis, DateTimeLayout.LONG_DATETIME, zone);
+                Assert.assertEquals(expected, text);
+                Assert.assertEquals(expected, EpochTimeUtils.formatEpochMillis(epochMillis, DateTimeLayout.LONG_DATETIME,
+                                                                               zone, new StringBuilder()).toString());
+
+                long expectedMillis = LocalDateTime.parse(text, formatter).atZone(zone).toInstant().toEpochMilli();
+                Assert.assertEquals(expectedMillis, EpochTimeUtils.parseEpochMillis(text, DateTimeLayout.LONG_DATETIME, zone));
+            }
+        }
+    }
+
+    /**
+     * yyyyMMdd整数
+     */
+    @Test
+    public void testDateInt() {
+        Assert.assertEquals(20190102, EpochTimeUtils.parseDateInt("2019-01-02", DateTimeLayout.LONG_DATE));
+        Assert.assertEquals(20190201, EpochTimeUtils.parseDateInt("201902", DateTimeLayout.SHORT_DATE_MONTH));
+        Assert.assertEquals(20200101, EpochTimeUtils.parseDateInt("20191231240000", DateTimeLayout.SHORT_DATETIME_SECOND));
+        Assert.assertEquals("2019/01/02", EpochTimeUtils.formatDateInt(20190102, DateTimeLayout.EN_DATE));
+        for (long epochDay = -719_162; epochDay < 2_932_897; epochDay += 97) {
+            LocalDate date = LocalDate.ofEpochDay(epochDay);
+            int dateInt = EpochTimeUtils.epochDayToDateInt(epochDay);
+            Assert.assertEquals(EpochTimeUtils.toDateInt(date), dateInt);
+            Assert.assertEquals(epochDay, EpochTimeUtils.dateIntToEpochDay(dateInt));
+        }
+        Assert.assertEquals(366, EpochTimeUtils.periodDays(20200101, 20210101));
+    }
+
+    @Test(expected = java.time.DateTimeException.class)
+    public void testInvalidDateInt() {
+        EpochTimeUtils.dateIntToEpochDay(20190230);
+    }
+
+    /**
+     * 同一天、整点判断
+     */
+    @Test
+    public void testIs() {
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        long t1 = EpochTimeUtils.parseEpochMillis("2019-11-07 00:00:00", DateTimeLayout.LONG_DATETIME_SECOND, zone);
+        long t2 = EpochTimeUtils.parseEpochMillis("2019-11-07 23:59:59", DateTimeLayout.LONG_DATETIME_SECOND, zone);
+        long t3 = EpochTimeUtils.parseEpochMillis("2019-11-08 09:45", DateTimeLayout.LONG_DATETIME_MINUTE, zone);
+        Assert.assertTrue(EpochTimeUtils.isSameDay(t1, t2, zone));
+        Assert.assertFalse(EpochTimeUtils.isSameDay(t2, t3, zone));
+        Assert.assertFalse(EpochTimeUtils.isSameDay(t1, t2, ZoneOffset.UTC));
+        Assert.assertTrue(EpochTimeUtils.isFullClock(t1, zone));
+        Assert.assertTrue(EpochTimeUtils.isQuarter(t3, zone));
+        Assert.assertTrue(EpochTimeUtils.isFiveMinute(t3, zone));
+        Assert.assertFalse(EpochTimeUtils.isHalfHour(t3, zone));
+        Assert.assertEquals(1000L, EpochTimeUtils.periodMillis(t2 - 1000, t2));
+        Assert.assertEquals(-2L, EpochTimeUtils.periodSeconds(1500, 0));
+    }
+
+    /**
+     * long范围两端的Date、LocalDateTime转换与原有的Instant实现结果及异常一致
+     */
+    @Test
+    public void testExtremes() {
+        ZoneId[] zones = {ZoneId.of("Asia/Shanghai"), ZoneId.of("America/New_York"), ZoneOffset.ofHours(18),
+                ZoneOffset.ofHours(-18), ZoneOffset.UTC};
+        long[] millis = {Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 3_600_000L, Long.MIN_VALUE + 3_600_000L,
+                Long.MAX_VALUE - 100_000_000L, Long.MIN_VALUE + 100_000_000L};
+        for (ZoneId zone : zones) {
+            for (long epochMillis : millis) {
+                Date date = new Date(epochMillis);
+                Assert.assertEquals(date.toInstant().atZone(zone).toLocalDateTime(),
+                                    DateTimeUtils.dateToLocalDateTime(date, zone));
+                LocalDateTime dateTime = date.toInstant().atZone(zone).toLocalDateTime();
+                Assert.assertEquals(date, DateTimeUtils.localDateTimeToDate(dateTime, zone));
+                Assert.assertEquals(outcome(() -> Date.from(dateTime.plusHours(20).atZone(zone).toInstant())),
+                                    outcome(() -> DateTimeUtils.localDateTimeToDate(dateTime.plusHours(20), zone)));
+            }
+            for (LocalDateTime dateTime : new LocalDateTime[]{LocalDateTime.MAX, LocalDateTime.MIN}) {
+                Assert.assertEquals(outcome(() -> Date.from(dateTime.atZone(zone).toInstant())),
+                                    outcome(() -> DateTimeUtils.localDateTimeToDate(dateTime, zone)));
+            }
+        }
+        Assert.assertEquals(new Date(Long.MAX_VALUE).toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime(),
+                            DateTimeUtils.dateToLocalDateTime(new Date(Long.MAX_VALUE)));
+    }
+
+    private static Object outcome(Callable<?> callable) {
+        try {
+            return callable.call();
+        } catch (Exception e) {
+            return e.getClass().getName();
+        }
+    }
+
+    /**
+     * 基于布局的各解析入口对yyyyMMddHHmmssSSS非定长输入的判定与DateTimeUtils一致
+     */
+    @Test
+    public void testShortDateTimeCompatibility() {
+        String[] texts = {"+106660122163849334", "20190101000012000", "2019010100001200", "201901010000120001",
+                "20190229000000000", "20190101240000000", "-0019010100000000"};
+        DateTimeLayout layout = DateTimeLayout.SHORT_DATETIME;
+        ZoneId zone = ZONES[1];
+        String rejected = DateTimeParseException.class.getName();
+        for (String text : texts) {
+            LocalDateTime expected = DateTimeUtils.tryToLocalDateTime(text, DateTimePattern.SHORT_DATETIME_PATTERN);
+            long expectedMillis = expected == null ? EpochTimeUtils.INVALID_EPOCH_MILLIS
+                    : EpochTimeUtils.toEpochMillis(expected, zone);
+            Assert.assertEquals(text, expectedMillis, EpochTimeUtils.tryParseEpochMillis(text, layout, zone));
+            Assert.assertEquals(text, expected == null ? rejected : expected,
+                                outcome(() -> DateTimeReader.parseLocalDateTime(text, layout)));
+            Assert.assertEquals(text, expected == null ? rejected : expectedMillis,
+                                outcome(() -> EpochTimeUtils.parseEpochMillis(text, layout, zone)));
+            Assert.assertEquals(text, expected == null ? rejected : EpochTimeUtils.toLocalMillis(expected),
+                                outcome(() -> TimestampSort.toLocalMillis(new CharSequence[]{text}, layout)[0]));
+            Assert.assertEquals(text, expected == null ? rejected : expectedMillis,
+                                outcome(() -> TimestampBridge.toTimestamps(new CharSequence[]{text}, layout, zone)[0]
+                                        .getTime()));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntervalSetTest {
+
+    private static final int DOMAIN = 200;
+
+    /**
+     * 批量建立、点查询及集合运算与逐点模型一致
+     */
+    @Test
+    public void testAgainstBitSet() {
+        Random random = new Random(20);
+        for (int round = 0; round < 300; round++) {
+            BitSet aBits = new BitSet();
+            BitSet bBits = new BitSet();
+            IntervalSet a = random(random, aBits);
+            IntervalSet b = random(random, bBits);
+            assertSame(aBits, a);
+
+            BitSet union = (BitSet) aBits.clone();
+            union.or(bBits);
+            assertSame(union, a.union(b));
+            BitSet intersection = (BitSet) aBits.clone();
+            intersection.and(bBits);
+            assertSame(intersection, a.intersection(b));
+            BitSet difference = (BitSet) aBits.clone();
+            difference.andNot(bBits);
+            assertSame(difference, a.difference(b));
+
+            int from = random.nextInt(DOMAIN);
+            int to = from + random.nextInt(DOMAIN - from + 1);
+            BitSet range = new BitSet();
+            range.set(from, to);
+            Assert.assertEquals(range.intersects(aBits), a.overlaps(from, to));
+            BitSet missing = (BitSet) range.clone();
+            missing.andNot(aBits);
+            Assert.assertEquals(missing.isEmpty(), a.encloses(from, to));
+        }
+    }
+
+    /**
+     * 相邻区间合并，空区间忽略，日期时间换算
+     */
+    @Test
+    public void testNormalize() {
+        IntervalSet set = IntervalSet.of(new long[]{10, 0, 5, 30, 30}, new long[]{20, 5, 10, 40, 30});
+        Assert.assertEquals(2, set.size());
+        Assert.assertEquals("{[0, 20), [30, 40)}", set.toString());
+        Assert.assertEquals(30, set.totalLength());
+        Assert.assertEquals(IntervalSet.empty(), set.difference(set));
+        Assert.assertEquals(set, IntervalSet.of(0, 20).union(IntervalSet.of(30, 40)));
+        Assert.assertTrue(IntervalSet.of(new long[0], new long[0]).isEmpty());
+
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        LocalDateTime t = LocalDateTime.of(2019, 11, 7, 9, 0);
+        IntervalSet outages = IntervalSet.of(new LocalDateTime[]{t, t.plusMinutes(30)},
+                                             new LocalDateTime[]{t.plusHours(1), t.plusHours(2)}, zone);
+        Assert.assertEquals(1, outages.size());
+        Assert.assertEquals(2 * 3_600_000L, outages.totalLength());
+        Assert.assertTrue(outages.contains(EpochTimeUtils.toEpochMillis(t.plusMinutes(90), zone)));
+        try {
+            IntervalSet.of(5, 4);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 起点大于终点
+        }
+    }
+
+    private static IntervalSet random(Random random, BitSet bits) {
+        int count = random.nextInt(8);
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        for (int i = 0; i < count; i++) {
+            int start = random.nextInt(DOMAIN);
+            int end = start + random.nextInt(Math.min(40, DOMAIN - start) + 1);
+            starts[i] = start;
+            ends[i] = end;
+            bits.set(start, end);
+        }
+        return IntervalSet.of(starts, ends);
+    }
+
+    private static void assertSame(BitSet expected, IntervalSet actual) {
+        for (int i = -1; i <= DOMAIN; i++) {
+            Assert.assertEquals(i >= 0 && expected.get(i), actual.contains(i));
+        }
+        int runs = 0;
+        for (int i = expected.nextSetBit(0); i >= 0; i = expected.nextSetBit(expected.nextClearBit(i))) {
+            Assert.assertEquals(i, actual.getStart(runs));
+            Assert.assertEquals(expected.nextClearBit(i), actual.getEnd(runs));
+            runs++;
+        }
+        Assert.assertEquals(runs, actual.size());
+        Assert.assertEquals(expected.cardinality(), actual.totalLength());
+    }
+}
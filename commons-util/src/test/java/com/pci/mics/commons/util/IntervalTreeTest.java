@@ -0,0 +1,55 @@
+package com.pci.mics.commons.util;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntervalTreeTest {
+
+    /**
+     * 点查询与重叠查询与遍历全部区间一致，结果按起点升序
+     */
+    @Test
+    public void testAgainstScan() {
+        Random random = new Random(21);
+        for (int n : new int[]{0, 1, 2, 7, 100, 3000}) {
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = random.nextInt(10_000);
+                ends[i] = starts[i] + (random.nextInt(10) == 0 ? 2000 : random.nextInt(50));
+            }
+            IntervalTree tree = IntervalTree.of(starts, ends);
+            Assert.assertEquals(n, tree.size());
+            for (int k = 0; k < 200; k++) {
+                long t = random.nextInt(12_000) - 500;
+                int[] expected = IntStream.range(0, n).filter(i -> starts[i] <= t && t < ends[i])
+                                          .boxed().sorted((x, y) -> Long.compare(starts[x], starts[y]))
+                                          .mapToInt(Integer::intValue).toArray();
+                Assert.assertArrayEquals(expected, tree.containing(t));
+
+                long to = t + 1 + random.nextInt(300);
+                int[] overlapping = IntStream.range(0, n).filter(i -> starts[i] < to && ends[i] > t && starts[i] < ends[i])
+                                             .boxed().sorted((x, y) -> Long.compare(starts[x], starts[y]))
+                                             .mapToInt(Integer::intValue).toArray();
+                Assert.assertArrayEquals(overlapping, tree.overlapping(t, to));
+            }
+            Assert.assertEquals(IntervalSet.of(starts, ends), tree.toIntervalSet());
+        }
+    }
+
+    @Test
+    public void testEdges() {
+        IntervalTree tree = IntervalTree.of(new long[]{Long.MIN_VALUE, 5, 5, 9}, new long[]{0, 9, 5, Long.MAX_VALUE});
+        Assert.assertArrayEquals(new int[]{0}, tree.containing(Long.MIN_VALUE));
+        Assert.assertArrayEquals(new int[]{1}, tree.containing(5));
+        Assert.assertArrayEquals(new int[]{3}, tree.containing(9));
+        Assert.assertArrayEquals(new int[0], tree.overlapping(3, 3));
+        Assert.assertArrayEquals(new int[]{1, 3}, tree.overlapping(8, 10));
+        int[] count = new int[1];
+        tree.forEachOverlapping(Long.MIN_VALUE, Long.MAX_VALUE, i -> count[0]++);
+        Assert.assertEquals(3, count[0]);
+    }
+}
@@ -0,0 +1,185 @@
+package com.pci.mics.commons.util;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LegacyDateFormatTest {
+
+    private static final String[] PATTERNS = {
+            DateTimePattern.LONG_DATE_PATTERN, DateTimePattern.LONG_DATETIME_SECOND_PATTERN,
+            DateTimePattern.LONG_DATETIME_PATTERN, DateTimePattern.SHORT_DATETIME_PATTERN,
+            DateTimePattern.SHORT_DATE_PATTERN, "dd.MM.yyyy HH:mm", "yyyy-MM"
+    };
+    private static final String[] ZONES = {
+            "Asia/Shanghai", "America/New_York", "Europe/London", "Europe/Moscow", "Europe/Paris",
+            "Australia/Lord_Howe", "Africa/Windhoek", "Africa/Casablanca", "UTC"
+    };
+
+    /**
+     * 格式化结果与SimpleDateFormat一致，包括1900年以前及9999年以后
+     */
+    @Test
+    public void testFormat() {
+        Random random = new Random(22);
+        for (String zone : ZONES) {
+            for (String pattern : PATTERNS) {
+                LegacyDateFormat format = LegacyDateFormat.of(pattern, ZoneId.of(zone));
+                SimpleDateFormat expected = simpleDateFormat(pattern, zone);
+                for (int i = 0; i < 500; i++) {
+                    long epochMillis = randomEpochMillis(random);
+                    Assert.assertEquals(expected.format(new Date(epochMillis)), format.format(epochMillis));
+                }
+            }
+        }
+    }
+
+    /**
+     * 合法、越界、非定长及不合法的输入，解析结果及异常与SimpleDateFormat一致
+     */
+    @Test
+    public void testParse() {
+        Random random = new Random(220);
+        for (String zone : ZONES) {
+            for (String pattern : PATTERNS) {
+                LegacyDateFormat format = LegacyDateFormat.of(pattern, ZoneId.of(zone));
+                SimpleDateFormat expected = simpleDateFormat(pattern, zone);
+                for (int i = 0; i < 500; i++) {
+                    String text = mutate(random, expected.format(new Date(randomEpochMillis(random))));
+                    assertSameOutcome(() -> expected.parse(text), () -> format.parse(text));
+                }
+            }
+        }
+    }
+
+    /**
+     * 夏令时间隙与重叠，及宽松进位
+     */
+    @Test
+    public void testTransitions() throws ParseException {
+        LegacyDateFormat format = LegacyDateFormat.of(DateTimePattern.LONG_DATETIME_SECOND_PATTERN,
+                                                      ZoneId.of("America/New_York"));
+        SimpleDateFormat expected = simpleDateFormat(DateTimePattern.LONG_DATETIME_SECOND_PATTERN,
+                                                     "America/New_York");
+        String[] texts = {
+                "2019-03-10 02:30:00", "2019-11-03 01:30:00", "2019-03-09 26:30:00", "2019-13-01 00:00:00",
+                "2019-00-00 00:00:00", "2019-02-29 24:60:60", "2019-11-03 01:30:00 EST", "2019-1-1 00:00:00"
+        };
+        for (String text : texts) {
+            Assert.assertEquals(text, expected.parse(text), format.parse(text));
+        }
+        Assert.assertEquals("2019-11-03 01:30:00", format.format(format.parse("2019-11-03 01:30:00")));
+        Assert.assertEquals(expected.parse("2019-11-03 01:30:00").getTime(),
+                            format.parseEpochMillis("2019-11-03 01:30:00"));
+    }
+
+    /**
+     * 1900年1月1日前后：东时区的本地时间早于UTC 1900年，偏移须与TimeZone一致
+     */
+    @Test
+    public void testRangeStart() throws ParseException {
+        long start = LocalDateTime.of(1900, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        for (String zone : ZONES) {
+            LegacyDateFormat format = LegacyDateFormat.of(DateTimePattern.LONG_DATE_PATTERN, ZoneId.of(zone));
+            SimpleDateFormat expected = simpleDateFormat(DateTimePattern.LONG_DATE_PATTERN, zone);
+            for (String text : new String[]{"1900-01-01", "1900-01-02", "1899-12-31"}) {
+                Assert.assertEquals(text + " " + zone, expected.parse(text), format.parse(text));
+            }
+            LegacyDateFormat dateTime = LegacyDateFormat.of(DateTimePattern.LONG_DATETIME_PATTERN, ZoneId.of(zone));
+            SimpleDateFormat expectedDateTime = simpleDateFormat(DateTimePattern.LONG_DATETIME_PATTERN, zone);
+            for (long hours = -24; hours <= 48; hours++) {
+                Date date = new Date(start + hours * 3_600_000L);
+                Assert.assertEquals(zone, expectedDateTime.format(date), dateTime.format(date));
+                Assert.assertEquals(zone, expectedDateTime.parse(expectedDateTime.format(date)),
+                                    dateTime.parse(expectedDateTime.format(date)));
+            }
+        }
+        Assert.assertEquals(-2208992400000L,
+                            LegacyDateFormat.of(DateTimePattern.LONG_DATE_PATTERN, ZoneId.of("Europe/Paris"))
+                                            .parseEpochMillis("1900-01-01"));
+    }
+
+    @Test
+    public void testUnsupportedPattern() {
+        for (String pattern : new String[]{"yyyy-M-d", "dd MMM yyyy", "yyyy0MM", null}) {
+            try {
+                LegacyDateFormat.of(pattern, ZoneId.of("UTC"));
+                Assert.fail(pattern);
+            } catch (IllegalArgumentException expected) {
+                // 非定长模式仍使用SimpleDateFormat
+            }
+        }
+    }
+
+    private static SimpleDateFormat simpleDateFormat(String pattern, String zone) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setTimeZone(TimeZone.getTimeZone(zone));
+        return format;
+    }
+
+    private static long randomEpochMillis(Random random) {
+        int year;
+        switch (random.nextInt(8)) {
+            case 0:
+                year = 1800 + random.nextInt(100);
+                break;
+            case 1:
+                year = 9999 + random.nextInt(2);
+                break;
+            default:
+                year = 1900 + random.nextInt(200);
+                break;
+        }
+        long start = LocalDateTime.of(year, 1, 1, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        return start + (long) (random.nextDouble() * 366 * CivilCalendar.MILLIS_PER_DAY);
+    }
+
+    /**
+     * 随机改写数字、分隔符或长度，产生越界、非定长及不合法的输入
+     */
+    private static String mutate(Random random, String text) {
+        StringBuilder sb = new StringBuilder(text);
+        int index = random.nextInt(sb.length());
+        switch (random.nextInt(6)) {
+            case 0:
+                sb.setCharAt(index, (char) ('0' + random.nextInt(10)));
+                break;
+            case 1:
+                sb.setCharAt(index, "9-/:x +".charAt(random.nextInt(7)));
+                break;
+            case 2:
+                sb.deleteCharAt(index);
+                break;
+            case 3:
+                sb.insert(index, random.nextBoolean() ? '0' : 'x');
+                break;
+            default:
+                break;
+        }
+        return sb.toString();
+    }
+
+    private static Object outcome(Callable<?> callable) {
+        try {
+            return callable.call();
+        } catch (ParseException e) {
+            return e.getMessage() + " at " + e.getErrorOffset();
+        } catch (Exception e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+
+    private static void assertSameOutcome(Callable<?> expected, Callable<?> actual) {
+        Assert.assertEquals(outcome(expected), outcome(actual));
+    }
+}
@@ -0,0 +1,119 @@
+package com.pci.mics.commons.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalDateCacheTest {
+
+    private static final String[] DATE_PATTERNS = {
+            DateTimePattern.LONG_DATE_PATTERN, DateTimePattern.EN_DATE_PATTERN, DateTimePattern.SHORT_DATE_PATTERN,
+            DateTimePattern.LONG_DATE_MONTH_PATTERN, DateTimePattern.LONG_DATETIME_PATTERN, "dd.MM.yyyy"
+    };
+
+    /**
+     * 范围内返回共享实例，范围外新建，结果与不经缓存时一致
+     */
+    @Test
+    public void testCanonical() {
+        LocalDateCache cache = LocalDateCache.of(LocalDate.of(2000, 1, 1), LocalDate.of(2000, 12, 31), 16);
+        Assert.assertSame(cache.getFirst(), cache.of(2000, 1, 1));
+        Assert.assertSame(cache.of(2000, 2, 29), cache.canonical(LocalDate.of(2000, 2, 29)));
+        Assert.assertSame(cache.ofEpochDay(LocalDate.of(2000, 12, 31).toEpochDay()), cache.getLast());
+        Assert.assertTrue(cache.contains(LocalDate.of(2000, 6, 1).toEpochDay()));
+        Assert.assertFalse(cache.contains(LocalDate.of(2001, 1, 1).toEpochDay()));
+        Assert.assertEquals(LocalDate.of(2001, 1, 1), cache.of(2001, 1, 1));
+        Assert.assertNull(cache.canonical(null));
+        try {
+            cache.of(2000, 2, 30);
+            Assert.fail();
+        } catch (DateTimeException expected) {
+            // 与LocalDate.of一致
+        }
+        try {
+            LocalDateCache.of(LocalDate.of(2000, 1, 2), LocalDate.of(2000, 1, 1), 16);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 范围颠倒
+        }
+    }
+
+    /**
+     * 解析与格式化与DateTimeReader、DateTimeWriter及DateTimeFormatter一致
+     */
+    @Test
+    public void testParseAndFormat() {
+        LocalDateCache cache = LocalDateCache.of(LocalDate.of(2010, 1, 1), LocalDate.of(2029, 12, 31), 64);
+        Random random = new Random(14);
+        for (int i = 0; i < 5000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(LocalDate.of(2005, 1, 1).toEpochDay() + random.nextInt(365 * 30));
+            for (String pattern : DATE_PATTERNS) {
+                DateTimeLayout layout = DateTimeLayout.forPattern(pattern);
+                if (layout != null && !layout.hasTime()) {
+                    Assert.assertEquals(DateTimeWriter.format(date, layout), cache.format(date, layout));
+                    if (cache.contains(date.toEpochDay())) {
+                        Assert.assertSame(cache.format(date, layout), cache.format(date, layout));
+                    }
+                }
+                String text = DateTimeFormatters.ofPattern(pattern).format(date.atTime(10, 20, 30));
+                LocalDate expected = LocalDate.parse(text, DateTimeFormatters.ofDatePattern(pattern));
+                LocalDate parsed = cache.parse(text, pattern);
+                Assert.assertEquals(expected, parsed);
+                if (cache.contains(expected.toEpochDay())) {
+                    Assert.assertSame(cache.canonical(expected), parsed);
+                }
+            }
+        }
+        for (String text : new String[]{"2019-02-32", "2019-13-01", "20190101"}) {
+            try {
+                cache.parse(text, DateTimePattern.LONG_DATE_PATTERN);
+                Assert.fail(text);
+            } catch (DateTimeParseException expected) {
+                // 与DateTimeUtils.toLocalDate一致
+            }
+        }
+        Assert.assertSame(cache.of(2019, 2, 28), cache.parse("2019-02-29", DateTimePattern.LONG_DATE_PATTERN));
+    }
+
+    /**
+     * 非定长模式的字符串记忆有界，失败的输入不记忆
+     */
+    @Test
+    public void testMemo() {
+        LocalDateCache cache = LocalDateCache.of(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31), 8);
+        String pattern = "d.M.yyyy";
+        Assert.assertSame(cache.of(2019, 11, 7), cache.parse("07.11.2019", pattern));
+        Assert.assertSame(cache.of(2019, 11, 7), cache.parse("07.11.2019", pattern));
+        CacheStats stats = cache.memoStats();
+        Assert.assertEquals(1, stats.getHitCount());
+        Assert.assertEquals(1, stats.getMissCount());
+        try {
+            cache.parse("32.11.2019", pattern);
+            Assert.fail();
+        } catch (DateTimeParseException expected) {
+            // 不合法的输入抛出异常
+        }
+        for (int day = 1; day <= 28; day++) {
+            cache.parse(String.format("%02d.02.2019", day), pattern);
+        }
+        Assert.assertEquals(8, cache.memoStats().getSize());
+        Assert.assertTrue(cache.memoStats().getEvictionCount() > 0);
+    }
+
+    /**
+     * DateTimeUtils的日期解析与格式化复用默认缓存
+     */
+    @Test
+    public void testDateTimeUtils() {
+        LocalDate parsed = DateTimeUtils.toLocalDate("2019-11-07");
+        Assert.assertSame(parsed, DateTimeUtils.toLocalDate("2019/11/07", DateTimePattern.EN_DATE_PATTERN));
+        Assert.assertSame(parsed, DateTimeUtils.tryToLocalDate("20191107", DateTimePattern.SHORT_DATE_PATTERN));
+        Assert.assertSame(DateTimeUtils.toString(parsed), DateTimeUtils.toString(LocalDate.of(2019, 11, 7)));
+        Assert.assertEquals("2019-11-07", DateTimeUtils.toString(parsed));
+    }
+}
@@ -0,0 +1,137 @@
+package com.pci.mics.commons.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParseResultTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    /**
+     * 对合法值做随机变异，tryXxx与抛异常的方法对每个输入的判定与结果一致
+     */
+    @Test
+    public void testAgreesWithThrowingMethods() {
+        Random random = new Random(12);
+        List<DateTimeLayout> layouts = new ArrayList<>(DateTimeLayout.presets());
+        layouts.add(DateTimeLayout.of("dd.MM.yyyy HH:mm"));
+        for (DateTimeLayout layout : layouts) {
+            String pattern = layout.getPattern();
+            for (String text : inputs(layout, random)) {
+                LocalDate date = null;
+                try {
+                    date = DateTimeUtils.toLocalDate(text, pattern);
+                } catch (DateTimeException | IllegalArgumentException e) {
+                    // 不合法
+                }
+                Assert.assertEquals(text, date, DateTimeUtils.tryToLocalDate(text, pattern));
+
+                LocalDateTime dateTime = null;
+                try {
+                    dateTime = DateTimeUtils.toLocalDateTime(text, pattern);
+                } catch (DateTimeException | IllegalArgumentException e) {
+                    // 不合法
+                }
+                Assert.assertEquals(text, dateTime, DateTimeUtils.tryToLocalDateTime(text, pattern));
+
+                long epochMillis = EpochTimeUtils.INVALID_EPOCH_MILLIS;
+                int dateInt = EpochTimeUtils.INVALID_DATE_INT;
+                if (!text.isEmpty()) {
+                    try {
+                        epochMillis = EpochTimeUtils.parseEpochMillis(text, layout, ZONE);
+                    } catch (DateTimeException e) {
+                        // 不合法
+                    }
+                    try {
+                        dateInt = EpochTimeUtils.parseDateInt(text, layout);
+                    } catch (DateTimeException e) {
+                        // 不合法
+                    }
+                }
+                Assert.assertEquals(text, epochMillis, EpochTimeUtils.tryParseEpochMillis(text, layout, ZONE));
+                Assert.assertEquals(text, dateInt, EpochTimeUtils.tryParseDateInt(text, layout));
+            }
+        }
+    }
+
+    /**
+     * 失败原因与出错位置，结果对象可重复使用
+     */
+    @Test
+    public void testReasonAndPosition() {
+        ParseResult result = new ParseResult();
+        assertFailure(result, "2019-13-07", DateTimeLayout.LONG_DATE, ParseResult.Reason.INVALID_MONTH, 5);
+        Assert.assertTrue(result.getErrorMessage().contains("MonthOfYear"));
+        assertFailure(result, "2019/11/07", DateTimeLayout.LONG_DATE, ParseResult.Reason.INVALID_TEXT, 4);
+        assertFailure(result, "2019-11-07x", DateTimeLayout.LONG_DATE, ParseResult.Reason.TRAILING_TEXT, 10);
+        assertFailure(result, "", DateTimeLayout.LONG_DATE, ParseResult.Reason.EMPTY, 0);
+        assertFailure(result, "+12019-11-07 25:00", DateTimeLayout.LONG_DATETIME_MINUTE,
+                      ParseResult.Reason.INVALID_HOUR, 13);
+        assertFailure(result, "2019-11-07 10:60:00", DateTimeLayout.LONG_DATETIME_SECOND,
+                      ParseResult.Reason.INVALID_MINUTE, 14);
+
+        Assert.assertTrue(DateTimeReader.tryParse("2019-02-31 24:00", DateTimeLayout.LONG_DATETIME_MINUTE, result));
+        Assert.assertEquals(-1, result.getErrorIndex());
+        Assert.assertNull(result.getErrorMessage());
+        Assert.assertEquals(LocalDateTime.of(2019, 3, 1, 0, 0), result.toLocalDateTime());
+        Assert.assertTrue(DateTimeReader.tryParse("x9999-12-31 24:00x", 1, 16, DateTimeLayout.LONG_DATETIME_MINUTE,
+                                                  result));
+        Assert.assertEquals(LocalDateTime.of(10000, 1, 1, 0, 0), result.toLocalDateTime());
+        try {
+            result.toDateInt();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertTrue(e.getMessage().contains("10000"));
+        }
+    }
+
+    private static void assertFailure(ParseResult result, String text, DateTimeLayout layout,
+                                      ParseResult.Reason reason, int errorIndex) {
+        Assert.assertFalse(DateTimeReader.tryParse(text, layout, result));
+        Assert.assertEquals(reason, result.getReason());
+        Assert.assertEquals(errorIndex, result.getErrorIndex());
+    }
+
+    private static List<String> inputs(DateTimeLayout layout, Random random) {
+        List<String> inputs = new ArrayList<>();
+        inputs.add("");
+        inputs.add(DateTimeWriter.format(LocalDateTime.of(9999, 12, 31, 0, 0), layout).replace("00", "24"));
+        inputs.add("+1" + DateTimeWriter.format(LocalDateTime.of(2019, 2, 28, 0, 0), layout));
+        inputs.add("+0" + DateTimeWriter.format(LocalDateTime.of(2019, 2, 28, 0, 0), layout));
+        for (int i = 0; i < 3000; i++) {
+            LocalDateTime value = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+                                                   1 + random.nextInt(28), random.nextInt(24), random.nextInt(60),
+                                                   random.nextInt(60), random.nextInt(1000) * 1000_000);
+            char[] chars = DateTimeWriter.format(value, layout).toCharArray();
+            int mutations = random.nextInt(3);
+            for (int m = 0; m < mutations; m++) {
+                int index = random.nextInt(chars.length);
+                chars[index] = "0123456789-/: .+x".charAt(random.nextInt(17));
+            }
+            String text = new String(chars);
+            switch (random.nextInt(8)) {
+                case 0:
+                    text = text.substring(0, random.nextInt(text.length()));
+                    break;
+                case 1:
+                    text = text + random.nextInt(10);
+                    break;
+                case 2:
+                    text = "+" + (10 + random.nextInt(90)) + text;
+                    break;
+                default:
+                    break;
+            }
+            inputs.add(text);
+        }
+        return inputs;
+    }
+}
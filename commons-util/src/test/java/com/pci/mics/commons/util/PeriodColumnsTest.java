@@ -0,0 +1,113 @@
+package com.pci.mics.commons.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PeriodColumnsTest {
+
+    /**
+     * 与DateTimeUtils逐行计算一致，含月末、闰年及负纪元日
+     */
+    @Test
+    public void testDates() {
+        Random random = new Random(24);
+        int n = 20_000;
+        int[] starts = new int[n];
+        int[] ends = new int[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = randomEpochDay(random);
+            ends[i] = random.nextBoolean() ? randomEpochDay(random) : starts[i] + random.nextInt(800) - 400;
+        }
+        for (PeriodColumns columns : new PeriodColumns[]{PeriodColumns.getDefault(),
+                new PeriodColumns(1000, ForkJoinPool.commonPool())}) {
+            int[] days = new int[n];
+            int[] weeks = new int[n];
+            int[] months = new int[n];
+            int[] years = new int[n];
+            columns.days(starts, ends, days);
+            columns.weeks(starts, ends, weeks);
+            columns.months(starts, ends, months);
+            columns.years(starts, ends, years);
+            for (int i = 0; i < n; i++) {
+                LocalDate start = LocalDate.ofEpochDay(starts[i]);
+                LocalDate end = LocalDate.ofEpochDay(ends[i]);
+                String message = start + " " + end;
+                Assert.assertEquals(message, DateTimeUtils.periodDays(start, end), days[i]);
+                Assert.assertEquals(message, DateTimeUtils.periodWeeks(start, end), weeks[i]);
+                Assert.assertEquals(message, DateTimeUtils.periodMonths(start, end), months[i]);
+                Assert.assertEquals(message, DateTimeUtils.periodYears(start, end), years[i]);
+            }
+        }
+        int[] result = new int[1];
+        PeriodColumns.getDefault().months(new int[]{(int) LocalDate.of(2019, 1, 31).toEpochDay()},
+                                          new int[]{(int) LocalDate.of(2019, 2, 28).toEpochDay()}, result);
+        Assert.assertEquals(0, result[0]);
+    }
+
+    /**
+     * 毫秒、秒与DateTimeUtils一致，纪元日与LocalDate一致
+     */
+    @Test
+    public void testEpochMillis() {
+        Random random = new Random(240);
+        int n = 5000;
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = (long) randomEpochDay(random) * CivilCalendar.MILLIS_PER_DAY + random.nextInt(86_400_000);
+            ends[i] = starts[i] + random.nextInt() * 1000L + random.nextInt(1000) - 500;
+        }
+        PeriodColumns columns = new PeriodColumns(100, ForkJoinPool.commonPool());
+        long[] millis = new long[n];
+        long[] seconds = new long[n];
+        columns.millis(starts, ends, millis);
+        columns.seconds(starts, ends, seconds);
+        ZoneId zone = ZoneId.of("America/New_York");
+        int[] epochDays = new int[n];
+        columns.toEpochDays(starts, zone, epochDays);
+        for (int i = 0; i < n; i++) {
+            LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(starts[i]), ZoneOffset.UTC);
+            LocalDateTime end = LocalDateTime.ofInstant(Instant.ofEpochMilli(ends[i]), ZoneOffset.UTC);
+            Assert.assertEquals(DateTimeUtils.periodMillis(start, end), millis[i]);
+            Assert.assertEquals(DateTimeUtils.periodSeconds(start, end), seconds[i]);
+            Assert.assertEquals(Instant.ofEpochMilli(starts[i]).atZone(zone).toLocalDate().toEpochDay(), epochDays[i]);
+        }
+    }
+
+    @Test
+    public void testLengths() {
+        try {
+            PeriodColumns.getDefault().days(new int[2], new int[3], new int[3]);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 起止长度不同
+        }
+        try {
+            PeriodColumns.getDefault().millis(new long[2], new long[2], new long[1]);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 结果数组过短
+        }
+    }
+
+    private static int randomEpochDay(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return (int) LocalDate.of(-2000 + random.nextInt(4000), 1, 1).toEpochDay() + random.nextInt(366);
+            case 1:
+                // 月末附近
+                LocalDate date = LocalDate.of(1900 + random.nextInt(200), 1 + random.nextInt(12), 1);
+                return (int) date.plusMonths(1).toEpochDay() - 1 - random.nextInt(3);
+            default:
+                return random.nextInt(40_000) - 10_000;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.pci.mics.commons.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimeBucketsTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+
+    /**
+     * floor/ceil与基于LocalDateTime的截断一致，并与isFiveMinute等判断对齐
+     */
+    @Test
+    public void testFloorCeil() {
+        Random random = new Random(5);
+        for (String id : new String[]{"Asia/Shanghai", "Asia/Kathmandu", "America/New_York"}) {
+            ZoneId zone = ZoneId.of(id);
+            TimeBuckets quarter = TimeBuckets.ofMinutes(15, zone);
+            TimeBuckets fiveMinute = TimeBuckets.ofMinutes(5, zone);
+            for (int i = 0; i < 10_000; i++) {
+                long epochMillis = 1_500_000_000_000L + (long) (random.nextDouble() * 100_000_000_000L);
+                LocalDateTime local = EpochTimeUtils.toLocalDateTime(epochMillis, zone);
+                LocalDateTime truncated = local.truncatedTo(ChronoUnit.MINUTES)
+                                               .withMinute(local.getMinute() / 15 * 15);
+                long floor = quarter.floor(epochMillis);
+                Assert.assertEquals(truncated, EpochTimeUtils.toLocalDateTime(floor, zone));
+                Assert.assertTrue(floor <= epochMillis && epochMillis - floor < 15 * 60_000L);
+                Assert.assertTrue(EpochTimeUtils.isQuarter(floor, zone));
+                Assert.assertTrue(EpochTimeUtils.isFiveMinute(fiveMinute.floor(epochMillis), zone));
+                long ceil = quarter.ceil(epochMillis);
+                Assert.assertTrue(ceil >= epochMillis && quarter.isAligned(ceil));
+                Assert.assertEquals(quarter.index(floor) + (ceil == floor ? 0 : 1), quarter.index(ceil));
+            }
+        }
+        try {
+            TimeBuckets.ofMinutes(7, ZONE);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage().contains("divide"));
+        }
+    }
+
+    /**
+     * 乱序事件、延迟丢弃与桶关闭回调
+     */
+    @Test
+    public void testAggregatorLateness() {
+        TimeBuckets buckets = TimeBuckets.ofMinutes(5, ZONE);
+        long start = millis("2019-11-07T00:00:00Z");
+        List<long[]> closed = new ArrayList<>();
+        BucketAggregator aggregator = new BucketAggregator(buckets, 3, 60_000L, (bucketStart, count, sum, min, max) ->
+                closed.add(new long[]{bucketStart, count, (long) sum, (long) min, (long) max}));
+
+        Assert.assertTrue(aggregator.add(start + 10_000, 4));
+        Assert.assertTrue(aggregator.add(start + 290_000, 1));
+        Assert.assertTrue(aggregator.add(start + 330_000, 7));
+        Assert.assertTrue(aggregator.add(start + 280_000, 2));
+        Assert.assertTrue(closed.isEmpty());
+
+        Assert.assertTrue(aggregator.add(start + 361_000, 3));
+        Assert.assertEquals(1, closed.size());
+        Assert.assertArrayEquals(new long[]{start, 3, 7, 1, 4}, closed.get(0));
+        Assert.assertFalse(aggregator.add(start + 299_000, 100));
+        Assert.assertEquals(1, aggregator.getDroppedCount());
+
+        aggregator.flush();
+        Assert.assertEquals(2, closed.size());
+        Assert.assertArrayEquals(new long[]{start + 300_000, 2, 10, 3, 7}, closed.get(1));
+    }
+
+    /**
+     * 事件时间跳过的桶数超过环形容量时，未关闭的桶仍按序回调
+     */
+    @Test
+    public void testAggregatorJump() {
+        TimeBuckets buckets = TimeBuckets.ofMinutes(5, ZONE);
+        long start = millis("2019-11-07T00:00:00Z");
+        List<Long> closed = new ArrayList<>();
+        BucketAggregator aggregator = new BucketAggregator(buckets, 1, 0L, (bucketStart, count, sum, min, max) ->
+                closed.add(bucketStart));
+        aggregator.add(start, 1);
+        aggregator.add(start + 60_000L, 1);
+        aggregator.add(start + 300_000L, 1);
+        aggregator.add(start + 86_400_000L, 1);
+        Assert.assertEquals(Arrays.asList(start, start + 300_000L), closed);
+
+        closed.clear();
+        aggregator = new BucketAggregator(buckets, 12, 600_000L, (bucketStart, count, sum, min, max) ->
+                closed.add(bucketStart));
+        aggregator.add(start, 1);
+        aggregator.add(start + 600_000L, 1);
+        aggregator.add(start + 7_200_000L, 1);
+        Assert.assertEquals(Arrays.asList(start, start + 600_000L), closed);
+        aggregator.flush();
+        Assert.assertEquals(Arrays.asList(start, start + 600_000L, start + 7_200_000L), closed);
+    }
+
+    /**
+     * 滚动窗口随水位线推进逐桶移出
+     */
+    @Test
+    public void testRollingWindow() {
+        TimeBuckets buckets = TimeBuckets.ofMinutes(15, ZONE);
+        long start = millis("2019-11-07T00:00:00Z");
+        BucketAggregator aggregator = new BucketAggregator(buckets, 4, 0L, null);
+        for (int i = 0; i < 8; i++) {
+            aggregator.add(start + i * 900_000L, i);
+            aggregator.add(start + i * 900_000L + 1, 10 * i);
+        }
+        Assert.assertEquals(8, aggregator.getWindowCount());
+        Assert.assertEquals(11 * (4 + 5 + 6 + 7), aggregator.getWindowSum(), 0);
+        Assert.assertEquals(4, aggregator.getWindowMin(), 0);
+        Assert.assertEquals(70, aggregator.getWindowMax(), 0);
+        Assert.assertEquals(start + 4 * 900_000L, aggregator.getWindowStart());
+        Assert.assertEquals(start + 8 * 900_000L, aggregator.getWindowEnd());
+
+        List<Long> starts = new ArrayList<>();
+        aggregator.forEachWindowBucket((bucketStart, count, sum, min, max) -> starts.add(bucketStart));
+        Assert.assertEquals(4, starts.size());
+        Assert.assertEquals(Long.valueOf(start + 4 * 900_000L), starts.get(0));
+
+        aggregator.advanceTo(start + 9 * 900_000L);
+        Assert.assertEquals(4, aggregator.getWindowCount());
+        Assert.assertEquals(11 * (6 + 7), aggregator.getWindowSum(), 0);
+        Assert.assertEquals(6, aggregator.getWindowMin(), 0);
+        aggregator.advanceTo(start + 100 * 900_000L);
+        Assert.assertEquals(0, aggregator.getWindowCount());
+        Assert.assertTrue(Double.isNaN(aggregator.getWindowMax()));
+    }
+
+    @Test
+    public void testIndexAcrossPartialShift() {
+        // Lord_Howe的夏令时为30分钟，Kathmandu在1986年由+05:30改为+05:45
+        String[][] cases = {
+                {"Australia/Lord_Howe", "2019-04-06T12:00:00Z"},
+                {"Australia/Lord_Howe", "2019-10-05T12:00:00Z"},
+                {"Asia/Kathmandu", "1985-12-31T12:00:00Z"},
+                {"America/New_York", "2019-11-03T00:00:00Z"},
+        };
+        for (String[] c : cases) {
+            TimeBuckets buckets = TimeBuckets.ofMinutes(60, ZoneId.of(c[0]));
+            long start = millis(c[1]);
+            long previousIndex = buckets.index(start);
+            long previousFloor = buckets.floor(start);
+            for (long t = start; t < start + 86_400_000L; t += 60_000L) {
+                long index = buckets.index(t);
+                long floor = buckets.floor(t);
+                Assert.assertEquals(c[0] + " " + Instant.ofEpochMilli(t),
+                        floor == previousFloor ? previousIndex : previousIndex + 1, index);
+                previousIndex = index;
+                previousFloor = floor;
+            }
+        }
+
+        // 变化点前后的桶不合并
+        TimeBuckets buckets = TimeBuckets.ofMinutes(60, ZoneId.of("Australia/Lord_Howe"));
+        long start = millis("2019-04-06T13:00:00Z");
+        List<Long> closed = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        BucketAggregator aggregator = new BucketAggregator(buckets, 4, 0L, (bucketStart, count, sum, min, max) -> {
+            closed.add(bucketStart);
+            counts.add(count);
+        });
+        for (long t = start; t < start + 4 * 3_600_000L; t += 600_000L) {
+            aggregator.add(t, 1);
+        }
+        aggregator.flush();
+        // 02:00(+11:00)回拨至01:30(+10:30)，01:30-02:00的桶以变化后的偏移对齐到01:00
+        Assert.assertEquals(Arrays.asList(start, start + 3_600_000L, start + 5_400_000L, start + 9_000_000L,
+                start + 12_600_000L), closed);
+        Assert.assertEquals(Arrays.asList(6L, 6L, 3L, 6L, 3L), counts);
+    }
+
+    private static long millis(String instant) {
+        return Instant.parse(instant).toEpochMilli();
+    }
+}
@@ -0,0 +1,164 @@
+package com.pci.mics.commons.util;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TimestampBridgeTest {
+
+    /**
+     * 默认时区下与Timestamp.valueOf、toLocalDateTime一致，包括夏令时间隙、重叠、1900年1月1日前后，
+     * 及偏移与java.util.TimeZone不一致的时区
+     */
+    @Test
+    public void testDefaultZone() {
+        TimeZone original = TimeZone.getDefault();
+        Random random = new Random(23);
+        try {
+            for (String zone : new String[]{"America/New_York", "Australia/Lord_Howe", "Asia/Shanghai",
+                    "Africa/Casablanca", "Africa/Windhoek"}) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                for (int i = 0; i < 2000; i++) {
+                    LocalDateTime dateTime = randomDateTime(random);
+                    Timestamp expected = Timestamp.valueOf(dateTime);
+                    Timestamp actual = TimestampBridge.toTimestamp(dateTime);
+                    Assert.assertEquals(dateTime + " " + zone, expected, actual);
+                    Assert.assertEquals(expected.toLocalDateTime(), TimestampBridge.toLocalDateTime(actual));
+                }
+                for (String text : new String[]{"2019-03-10T02:30:00.5", "2019-11-03T01:30:00.000000001",
+                        "2019-04-07T01:45", "2019-10-06T02:15:00.999999999", "1900-01-01T00:00",
+                        "1900-01-01T05:30:00.1", "1900-01-02T00:00", "2040-10-14T12:00", "2087-06-01T00:00"}) {
+                    LocalDateTime dateTime = LocalDateTime.parse(text);
+                    Timestamp expected = Timestamp.valueOf(dateTime);
+                    Assert.assertEquals(text + " " + zone, expected, DateTimeUtils.localDateTimeToTimestamp(dateTime));
+                    Assert.assertEquals(text + " " + zone, expected.toLocalDateTime(),
+                                        DateTimeUtils.timestampToLocalDateTime(expected));
+                }
+            }
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+
+    /**
+     * 列的批量转换，纳秒与null保留，可变Timestamp反复使用
+     */
+    @Test
+    public void testColumns() {
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        LocalDateTime[] values = {
+                LocalDateTime.of(2019, 1, 1, 0, 0, 0, 123_456_789), null, LocalDateTime.of(1969, 12, 31, 23, 59, 59, 1)
+        };
+        Timestamp[] timestamps = TimestampBridge.toTimestamps(values, zone);
+        Assert.assertNull(timestamps[1]);
+        Assert.assertEquals(123_456_789, timestamps[0].getNanos());
+        Assert.assertArrayEquals(values, TimestampBridge.toLocalDateTimes(timestamps, zone));
+
+        long[] epochSeconds = new long[3];
+        int[] nanos = new int[3];
+        TimestampBridge.toEpochSeconds(timestamps, epochSeconds, nanos);
+        Assert.assertEquals(values[2].atZone(zone).toEpochSecond(), epochSeconds[2]);
+        Assert.assertEquals(Long.MIN_VALUE, epochSeconds[1]);
+        Assert.assertArrayEquals(new int[]{123_456_789, 0, 1}, nanos);
+
+        long[] millis = TimestampBridge.toEpochMillis(timestamps);
+        Assert.assertEquals(EpochTimeUtils.INVALID_EPOCH_MILLIS, millis[1]);
+        Assert.assertEquals(values[0].atZone(zone).toInstant().toEpochMilli(), millis[0]);
+        Timestamp[] fromMillis = TimestampBridge.toTimestamps(millis);
+        Assert.assertNull(fromMillis[1]);
+        Assert.assertEquals(123_000_000, fromMillis[0].getNanos());
+        Assert.assertEquals(millis[2], fromMillis[2].getTime());
+
+        String[] texts = {"2019-01-01 08:00:00.250", null, "2019-06-30 23:59:59.999"};
+        Timestamp[] parsed = TimestampBridge.toTimestamps(texts, DateTimeLayout.LONG_DATETIME, zone);
+        Assert.assertNull(parsed[1]);
+        Assert.assertEquals(LocalDateTime.of(2019, 1, 1, 8, 0, 0, 250_000_000).atZone(zone).toInstant(),
+                            parsed[0].toInstant());
+        Assert.assertEquals(999_000_000, parsed[2].getNanos());
+
+        Timestamp holder = new Timestamp(0);
+        Assert.assertSame(holder, TimestampBridge.toTimestamp(values[0], zone, holder));
+        Assert.assertEquals(timestamps[0], holder);
+        TimestampBridge.toTimestamp(values[2], zone, holder);
+        Assert.assertEquals(timestamps[2], holder);
+    }
+
+    /**
+     * 以Mockito模拟的驱动写入批次、读取结果列
+     */
+    @Test
+    public void testJdbc() throws SQLException {
+        ZoneId zone = ZoneId.of("Europe/Paris");
+        PreparedStatement statement = mock(PreparedStatement.class);
+        List<Timestamp> bound = new ArrayList<>();
+        // 模拟在setTimestamp时复制参数值的驱动
+        doAnswer(invocation -> {
+            Timestamp value = invocation.getArgument(1);
+            Timestamp copy = new Timestamp(value.getTime());
+            copy.setNanos(value.getNanos());
+            bound.add(copy);
+            return null;
+        }).when(statement).setTimestamp(anyInt(), any(Timestamp.class));
+
+        LocalDateTime[] rows = {
+                LocalDateTime.of(2019, 3, 31, 2, 30), LocalDateTime.of(2019, 10, 27, 2, 30, 0, 1), null
+        };
+        Timestamp holder = new Timestamp(0);
+        for (LocalDateTime row : rows) {
+            TimestampBridge.setTimestamp(statement, 1, row, zone, holder);
+        }
+        TimestampBridge.setTimestamp(statement, 2, 1_000L, holder);
+        TimestampBridge.setTimestamp(statement, 2, EpochTimeUtils.INVALID_EPOCH_MILLIS, null);
+        verify(statement).setNull(1, Types.TIMESTAMP);
+        verify(statement).setNull(2, Types.TIMESTAMP);
+        Assert.assertEquals(3, bound.size());
+        // 间隙向后顺延，重叠取较晚偏移
+        Assert.assertEquals(LocalDateTime.of(2019, 3, 31, 3, 30), TimestampBridge.toLocalDateTime(bound.get(0), zone));
+        Assert.assertEquals(LocalDateTime.of(2019, 10, 27, 1, 30).atZone(ZoneId.of("UTC")).toInstant(),
+                            bound.get(1).toInstant().minusNanos(1));
+        Assert.assertEquals(1_000L, bound.get(2).getTime());
+
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getTimestamp(1)).thenReturn(bound.get(1));
+        when(resultSet.getTimestamp(2)).thenReturn(null);
+        Assert.assertEquals(rows[1], TimestampBridge.getLocalDateTime(resultSet, 1, zone));
+        Assert.assertNull(TimestampBridge.getLocalDateTime(resultSet, 2, zone));
+        Assert.assertEquals(bound.get(1).getTime(), TimestampBridge.getEpochMillis(resultSet, 1));
+        Assert.assertEquals(EpochTimeUtils.INVALID_EPOCH_MILLIS, TimestampBridge.getEpochMillis(resultSet, 2));
+    }
+
+    private static LocalDateTime randomDateTime(Random random) {
+        int year;
+        switch (random.nextInt(10)) {
+            case 0:
+                year = 1500 + random.nextInt(400);
+                break;
+            case 1:
+                year = 9990 + random.nextInt(20);
+                break;
+            default:
+                year = 1900 + random.nextInt(200);
+                break;
+        }
+        return LocalDateTime.of(year, 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                                random.nextInt(60), random.nextInt(60), random.nextInt(1_000_000_000));
+    }
+}
@@ -0,0 +1,126 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimestampCodecTest {
+
+    /**
+     * 各种序列无损往返，随机访问、区间解码与流一致
+     */
+    @Test
+    public void testRoundTrip() {
+        Random random = new Random(17);
+        long[][] inputs = {
+                new long[0],
+                {42L},
+                {Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE},
+                cadence(1_573_084_800_000L, 300_000L, 10_000),
+                jittered(random, 5000),
+                random.longs(3000).toArray()
+        };
+        for (long[] values : inputs) {
+            for (int blockSize : new int[]{1, 7, 64, TimestampCodec.DEFAULT_BLOCK_SIZE}) {
+                TimestampColumn column = TimestampCodec.open(
+                        TimestampCodec.encodeEpochMillis(values, 0, values.length, blockSize));
+                Assert.assertEquals(values.length, column.size());
+                Assert.assertArrayEquals(values, column.toArray());
+                Assert.assertArrayEquals(values, column.stream().toArray());
+                Assert.assertArrayEquals(values, column.stream().parallel().toArray());
+                for (int k = 0; k < 50 && values.length > 0; k++) {
+                    int i = random.nextInt(values.length);
+                    Assert.assertEquals(values[i], column.get(i));
+                    int j = i + random.nextInt(values.length - i + 1);
+                    Assert.assertArrayEquals(Arrays.copyOfRange(values, i, j), column.toArray(i, j));
+                }
+            }
+        }
+    }
+
+    /**
+     * 非零起始下标配合接近Integer.MAX_VALUE的块大小，块的结束下标不溢出
+     */
+    @Test
+    public void testOffsetWithHugeBlockSize() {
+        long[] values = jittered(new Random(170), 20);
+        for (int blockSize : new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE - 3, 8}) {
+            TimestampColumn column = TimestampCodec.open(TimestampCodec.encodeEpochMillis(values, 5, 10, blockSize));
+            Assert.assertArrayEquals(Arrays.copyOfRange(values, 5, 15), column.toArray());
+            Assert.assertArrayEquals(Arrays.copyOfRange(values, 5, 15), column.stream().parallel().toArray());
+            Assert.assertEquals(values[14], column.get(9));
+        }
+    }
+
+    /**
+     * 固定间隔序列几乎不占空间，带抖动的有序序列远小于8字节/值
+     */
+    @Test
+    public void testCompression() {
+        TimestampColumn regular = TimestampCodec.open(
+                TimestampCodec.encodeEpochMillis(cadence(1_573_084_800_000L, 900_000L, 100_000)));
+        Assert.assertTrue(regular.getEncodedSize() < 100_000 / TimestampCodec.DEFAULT_BLOCK_SIZE * 20 + 100);
+
+        TimestampColumn jittered = TimestampCodec.open(
+                TimestampCodec.encodeEpochMillis(jittered(new Random(1), 100_000)));
+        Assert.assertTrue(jittered.getEncodedSize() < 100_000 * 4);
+    }
+
+    /**
+     * LocalDateTime、LocalDate编码及有序查找
+     */
+    @Test
+    public void testTypedAndSearch() {
+        LocalDateTime[] dateTimes = DateTimeRanges.dateTimes(LocalDateTime.of(2019, 11, 7, 0, 0),
+                LocalDateTime.of(2019, 11, 14, 0, 0), 5, ChronoUnit.MINUTES)
+                                                  .toArray(LocalDateTime[]::new);
+        TimestampColumn column = TimestampCodec.open(TimestampCodec.encode(dateTimes));
+        Assert.assertEquals(TimestampColumn.Kind.LOCAL_MILLIS, column.getKind());
+        Assert.assertEquals(dateTimes[1234], column.getLocalDateTime(1234));
+        long target = EpochTimeUtils.toLocalMillis(LocalDateTime.of(2019, 11, 10, 12, 2));
+        Assert.assertEquals(LocalDateTime.of(2019, 11, 10, 12, 5),
+                column.getLocalDateTime(column.lowerBound(target)));
+        Assert.assertEquals(0, column.lowerBound(Long.MIN_VALUE));
+        Assert.assertEquals(dateTimes.length, column.lowerBound(Long.MAX_VALUE));
+
+        LocalDate[] dates = DateTimeRanges.dates(LocalDate.of(2019, 1, 1), LocalDate.of(2020, 1, 1))
+                                          .toArray(LocalDate[]::new);
+        TimestampColumn dateColumn = TimestampCodec.open(TimestampCodec.encode(dates));
+        Assert.assertEquals(LocalDate.of(2019, 11, 7), dateColumn.getLocalDate(310));
+        try {
+            dateColumn.getLocalDateTime(0);
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            // 类型不符
+        }
+        try {
+            TimestampCodec.open(new byte[]{1, 2, 3});
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+            // 不是编码结果
+        }
+    }
+
+    private static long[] cadence(long start, long step, int count) {
+        long[] values = new long[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = start + i * step;
+        }
+        return values;
+    }
+
+    private static long[] jittered(Random random, int count) {
+        long[] values = new long[count];
+        long t = 1_573_084_800_000L;
+        for (int i = 0; i < count; i++) {
+            t += 60_000 + random.nextInt(2000) - 1000;
+            values[i] = t;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,91 @@
+package com.pci.mics.commons.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimestampIndexTest {
+
+    /**
+     * 区间与同一天查询与遍历结果一致，含夏令时时区
+     */
+    @Test
+    public void testQueries() {
+        Random random = new Random(18);
+        for (String id : new String[]{"Asia/Shanghai", "America/New_York", "UTC"}) {
+            ZoneId zone = ZoneId.of(id);
+            long base = 1_552_000_000_000L;
+            long[] values = new long[20_000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = base + (long) (random.nextDouble() * 400 * 86_400_000L);
+            }
+            values[7] = values[8];
+            TimestampIndex index = TimestampIndex.of(values, zone);
+            long[] sorted = values.clone();
+            Arrays.sort(sorted);
+            Assert.assertEquals(sorted.length, index.size());
+            Assert.assertEquals(sorted[123], index.get(123));
+
+            for (int i = 0; i < 500; i++) {
+                long from = base - 86_400_000L + (long) (random.nextDouble() * 402 * 86_400_000L);
+                long to = from + (long) (random.nextDouble() * 3 * 86_400_000L);
+                long expected = Arrays.stream(sorted).filter(v -> v >= from && v < to).count();
+                Assert.assertEquals(expected, index.countBetween(from, to));
+                Assert.assertEquals(expected, index.between(from, to).count());
+                Assert.assertEquals(0, index.countBetween(to, from));
+
+                long expectedSameDay = Arrays.stream(sorted)
+                                             .filter(v -> EpochTimeUtils.isSameDay(v, from, zone)).count();
+                Assert.assertEquals(expectedSameDay, index.countOnSameDay(from));
+                Assert.assertEquals(expectedSameDay, index.onSameDay(from).count());
+                Assert.assertEquals(expectedSameDay,
+                        index.countOnDay(EpochTimeUtils.toLocalDateTime(from, zone).toLocalDate()));
+            }
+            Assert.assertEquals(0, index.lowerBound(Long.MIN_VALUE));
+            Assert.assertEquals(sorted.length, index.lowerBound(Long.MAX_VALUE));
+        }
+    }
+
+    /**
+     * 写出后重新映射，查询结果不变；空索引与损坏文件
+     */
+    @Test
+    public void testPersist() throws IOException {
+        ZoneId zone = ZoneId.of("Asia/Shanghai");
+        long[] values = DateTimeRanges.epochMillis(1_573_084_800_000L, 1_573_084_800_000L + 10 * 86_400_000L, 60_000L)
+                                      .toArray();
+        TimestampIndex index = TimestampIndex.of(values, zone);
+        Path file = Files.createTempFile("timestamp-index", ".bin");
+        try {
+            index.writeTo(file);
+            TimestampIndex reopened = TimestampIndex.open(file);
+            Assert.assertEquals(zone, reopened.getZone());
+            Assert.assertEquals(values.length, reopened.size());
+            Assert.assertEquals(1440, reopened.countOnDay(LocalDate.of(2019, 11, 8)));
+            Assert.assertArrayEquals(index.between(values[100], values[5000]).toArray(),
+                    reopened.between(values[100], values[5000]).toArray());
+
+            Files.write(file, new byte[]{1, 2, 3});
+            try {
+                TimestampIndex.open(file);
+                Assert.fail();
+            } catch (IllegalArgumentException expected) {
+                // 格式不合法
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        TimestampIndex empty = TimestampIndex.of(new long[0], zone);
+        Assert.assertEquals(0, empty.size());
+        Assert.assertEquals(0, empty.countBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        Assert.assertEquals(0, empty.countOnDay(LocalDate.of(2019, 11, 7)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.pci.mics.commons.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.pci.mics.commons.contants.DateTimePattern;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimestampScannerTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+    private static final LocalDateTime START = LocalDateTime.of(2019, 11, 7, 0, 0);
+
+    /**
+     * 固定列扫描，跳过不合法的行
+     */
+    @Test
+    public void testScanColumn() {
+        String text = "2019-11-07 00:00:00.000 INFO a\n"
+                + "garbage\n"
+                + "2019-11-07 00:05:00.000 WARN b\r\n"
+                + "2019-11-07 00:10:00.000 INFO c";
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+        List<Long> offsets = new ArrayList<>();
+        List<Long> millis = new ArrayList<>();
+        TimestampScanner scanner = TimestampScanner.atColumn(DateTimeLayout.LONG_DATETIME, ZONE, 0);
+        Assert.assertEquals(3, scanner.scan(buffer, (offset, epochMillis) -> {
+            offsets.add(offset);
+            millis.add(epochMillis);
+        }));
+        Assert.assertEquals(Long.valueOf(39), offsets.get(1));
+        Assert.assertEquals(Long.valueOf(epochMillis(START.plusMinutes(10))), millis.get(2));
+
+        long from = epochMillis(START.plusMinutes(5));
+        Assert.assertEquals(1, scanner.scan(buffer, from, from + 1, (offset, epochMillis) -> {
+        }));
+        Assert.assertEquals(0, buffer.position());
+    }
+
+    /**
+     * 按分隔符字段并行扫描文件，结果与顺序扫描一致
+     */
+    @Test
+    public void testParallelFile() throws IOException {
+        Path file = Files.createTempFile("timestamp-scanner", ".csv");
+        try {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 10_000; i++) {
+                sb.append(i).append(',')
+                  .append(DateTimeUtils.toString(START.plusSeconds(i), DateTimePattern.SHORT_DATETIME_PATTERN))
+                  .append(",v").append(i % 7).append('\n');
+            }
+            Files.write(file, sb.toString().getBytes(StandardCharsets.US_ASCII));
+
+            TimestampScanner scanner = TimestampScanner.atField(DateTimeLayout.SHORT_DATETIME, ZONE, ',', 1);
+            long[] all = scanner.collectEpochMillis(file, 7, ForkJoinPool.commonPool());
+            Assert.assertEquals(10_000, all.length);
+            for (int i = 0; i < all.length; i++) {
+                Assert.assertEquals(epochMillis(START.plusSeconds(i)), all[i]);
+            }
+
+            long from = epochMillis(START.plusSeconds(100));
+            long to = epochMillis(START.plusSeconds(200));
+            long[] offsets = scanner.findLineOffsets(file, from, to, 5, ForkJoinPool.commonPool());
+            Assert.assertEquals(100, offsets.length);
+            Assert.assertEquals(sb.indexOf("100,"), offsets[0]);
+
+            long[] count = new long[1];
+            Assert.assertEquals(100, scanner.scan(file, from, to, (offset, epochMillis) -> count[0]++));
+            Assert.assertEquals(100, count[0]);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
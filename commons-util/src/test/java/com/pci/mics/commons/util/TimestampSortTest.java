@@ -0,0 +1,102 @@
+package com.pci.mics.commons.util;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TimestampSortTest {
+
+    /**
+     * 排序结果与Arrays.sort一致，置换稳定；覆盖负数、极值及并行路径
+     */
+    @Test
+    public void testSort() {
+        Random random = new Random(21);
+        for (int n : new int[]{0, 1, 2, 100, 5000, TimestampSort.PARALLEL_THRESHOLD * 2}) {
+            long[][] inputs = {
+                    random.longs(n).toArray(),
+                    random.longs(n, 1_573_084_800_000L, 1_573_084_800_000L + 86_400_000L).map(v -> v / 1000 * 1000)
+                          .toArray(),
+                    random.longs(n, -5, 5).toArray()
+            };
+            for (long[] values : inputs) {
+                long[] expected = values.clone();
+                Arrays.sort(expected);
+                long[] sorted = values.clone();
+                TimestampSort.sort(sorted);
+                Assert.assertArrayEquals(expected, sorted);
+                sorted = values.clone();
+                TimestampSort.parallelSort(sorted);
+                Assert.assertArrayEquals(expected, sorted);
+
+                int[] stable = IntStream.range(0, n).boxed()
+                                        .sorted(Comparator.comparingLong(i -> values[i]))
+                                        .mapToInt(Integer::intValue).toArray();
+                Assert.assertArrayEquals(stable, TimestampSort.sortedOrder(values));
+                Assert.assertArrayEquals(stable, TimestampSort.parallelSortedOrder(values));
+                Assert.assertArrayEquals(expected, TimestampSort.reorder(values, stable));
+            }
+            int[] ints = random.ints(n).toArray();
+            int[] expected = ints.clone();
+            Arrays.sort(expected);
+            int[] stable = IntStream.range(0, n).boxed().sorted(Comparator.comparingInt(i -> ints[i]))
+                                    .mapToInt(Integer::intValue).toArray();
+            Assert.assertArrayEquals(stable, TimestampSort.sortedOrder(ints));
+            TimestampSort.sort(ints);
+            Assert.assertArrayEquals(expected, ints);
+        }
+        long[] extremes = {Long.MAX_VALUE, 0, Long.MIN_VALUE, -1, 1};
+        TimestampSort.sort(extremes);
+        Assert.assertArrayEquals(new long[]{Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE}, extremes);
+    }
+
+    /**
+     * 定长字符串按时间排序，伴随列随之重排
+     */
+    @Test
+    public void testStrings() {
+        Random random = new Random(210);
+        String[] texts = new String[1000];
+        Integer[] rows = new Integer[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            LocalDateTime t = LocalDateTime.of(2019, 11, 7, 0, 0).plusSeconds(random.nextInt(86_400 * 3));
+            texts[i] = DateTimeWriter.format(t, DateTimeLayout.SHORT_DATETIME);
+            rows[i] = i;
+        }
+        int[] order = TimestampSort.sortedOrder(texts, DateTimeLayout.SHORT_DATETIME);
+        String[] sorted = TimestampSort.reorder(texts, order);
+        String[] expected = texts.clone();
+        Arrays.sort(expected);
+        Assert.assertArrayEquals(expected, sorted);
+        Integer[] reordered = TimestampSort.reorder(rows, order);
+        for (int i = 0; i < sorted.length; i++) {
+            Assert.assertEquals(sorted[i], texts[reordered[i]]);
+        }
+        try {
+            TimestampSort.sortedOrder(new String[]{"2019-11-07 00:00:00.000", "2019-13-07 00:00:00.000"},
+                                      DateTimeLayout.LONG_DATETIME);
+            Assert.fail();
+        } catch (DateTimeParseException expectedException) {
+            // 月份不合法
+        }
+    }
+
+    @Test
+    public void testDedup() {
+        long[] values = {1, 1, 1, 3, 5, 5, 9};
+        int[] counts = new int[values.length];
+        int runs = TimestampSort.dedup(values, counts);
+        Assert.assertEquals(4, runs);
+        Assert.assertArrayEquals(new long[]{1, 3, 5, 9}, Arrays.copyOf(values, runs));
+        Assert.assertArrayEquals(new int[]{3, 1, 2, 1}, Arrays.copyOf(counts, runs));
+        int[] dates = {20191107, 20191107, 20191108};
+        Assert.assertEquals(2, TimestampSort.dedup(dates, null));
+        Assert.assertEquals(0, TimestampSort.dedup(new long[0], null));
+    }
+}
@@ -0,0 +1,71 @@
+package com.pci.mics.commons.util;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ZoneOffsetTableTest {
+
+    private static final String[] ZONES = {"America/New_York", "Europe/London", "Asia/Shanghai", "Australia/Lord_Howe"};
+
+    /**
+     * 双向转换与java.time结果一致，含表范围外的值
+     */
+    @Test
+    public void testMatchesZoneRules() {
+        Random random = new Random(11);
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            ZoneOffsetTable table = ZoneOffsetTable.of(zone, 1950, 2050);
+            for (int i = 0; i < 20_000; i++) {
+                long epochMillis = (long) (random.nextDouble() * 6_000_000_000_000L) - 3_000_000_000_000L;
+                LocalDateTime expected = LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+                long localMillis = table.toLocalMillis(epochMillis);
+                Assert.assertEquals(expected, EpochTimeUtils.toLocalDateTime(localMillis));
+                Assert.assertEquals(expected.atZone(zone).toInstant().toEpochMilli(), table.toEpochMillis(localMillis));
+            }
+        }
+    }
+
+    /**
+     * 间隙与重叠的处理方式
+     */
+    @Test
+    public void testTransitionPolicy() {
+        ZoneOffsetTable table = ZoneOffsetTable.of(ZoneId.of("America/New_York"));
+        long gap = EpochTimeUtils.toLocalMillis(LocalDateTime.of(2019, 3, 10, 2, 30));
+        long overlap = EpochTimeUtils.toLocalMillis(LocalDateTime.of(2019, 11, 3, 1, 30));
+        long gapExpected = Instant.parse("2019-03-10T07:30:00Z").toEpochMilli();
+        Assert.assertEquals(gapExpected, table.toEpochMillis(gap, ZoneOffsetTable.TransitionPolicy.EARLIER));
+        Assert.assertEquals(gapExpected, table.toEpochMillis(gap, ZoneOffsetTable.TransitionPolicy.LATER));
+        Assert.assertEquals(Instant.parse("2019-11-03T05:30:00Z").toEpochMilli(),
+                            table.toEpochMillis(overlap, ZoneOffsetTable.TransitionPolicy.EARLIER));
+        Assert.assertEquals(Instant.parse("2019-11-03T06:30:00Z").toEpochMilli(),
+                            table.toEpochMillis(overlap, ZoneOffsetTable.TransitionPolicy.LATER));
+        try {
+            table.toEpochMillis(overlap, ZoneOffsetTable.TransitionPolicy.STRICT);
+            Assert.fail();
+        } catch (DateTimeException e) {
+            Assert.assertTrue(e.getMessage().contains("ambiguous"));
+        }
+    }
+
+    /**
+     * DateTimeUtils指定时区的Date转换
+     */
+    @Test
+    public void testDateConversion() {
+        LocalDateTime localDateTime = LocalDateTime.of(2019, 7, 1, 12, 0, 0, 123_000_000);
+        Date date = DateTimeUtils.localDateTimeToDate(localDateTime, ZoneId.of("Europe/London"));
+        Assert.assertEquals(Instant.parse("2019-07-01T11:00:00.123Z"), date.toInstant());
+        Assert.assertEquals(localDateTime.plusHours(1), DateTimeUtils.dateToLocalDateTime(date, ZoneOffset.ofHours(2)));
+        Assert.assertSame(ZoneOffsetTable.of(ZoneId.of("Asia/Shanghai")), ZoneOffsetTable.of(ZoneId.of("Asia/Shanghai")));
+    }
+}